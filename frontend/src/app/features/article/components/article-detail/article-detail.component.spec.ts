@@ -27,7 +27,9 @@ describe('ArticleDetailComponent', () => {
     theme: 'Test Theme',
     commentaires: [
       { id: 1, contenu: 'Test Comment', auteur: 'Test Commenter' }
-    ]
+    ],
+    nombreCommentaires: 1,
+    nextCursor: null
   };
 
   beforeEach(async () => {
@@ -40,6 +42,7 @@ describe('ArticleDetailComponent', () => {
 
     mockArticleService = {
       getById: jest.fn(),
+      getCommentaires: jest.fn(),
       ajouterCommentaire: jest.fn()
     } as unknown as jest.Mocked<ArticleService>;
 
@@ -96,6 +99,8 @@ describe('ArticleDetailComponent', () => {
       // Assert
       expect(mockArticleService.getById).toHaveBeenCalledWith(mockArticleId);
       expect(component.article).toEqual(mockArticle);
+      expect(component.commentaires).toEqual(mockArticle.commentaires);
+      expect(component.nextCursor).toBeNull();
     });
 
     it('should handle missing article id in route params', () => {
@@ -131,6 +136,56 @@ describe('ArticleDetailComponent', () => {
     });
   });
 
+  describe('Comment Paging', () => {
+    const firstComments = [{ id: 1, contenu: 'First', auteur: 'Author' }];
+
+    beforeEach(() => {
+      mockArticleService.getById.mockReturnValue(of({ ...mockArticle, commentaires: firstComments, nombreCommentaires: 2, nextCursor: 'next' }));
+      fixture.detectChanges();
+    });
+
+    it('should append the next page of comments', () => {
+      // Arrange
+      const nextComments = [{ id: 2, contenu: 'Second', auteur: 'Author' }];
+      mockArticleService.getCommentaires.mockReturnValue(of({ commentaires: nextComments, nextCursor: null }));
+
+      // Act
+      component.loadMoreComments();
+
+      // Assert
+      expect(mockArticleService.getCommentaires).toHaveBeenCalledWith(mockArticle.id, 'next');
+      expect(component.commentaires).toEqual([...firstComments, ...nextComments]);
+      expect(component.nextCursor).toBeNull();
+    });
+
+    it('should not load anything past the last page', () => {
+      // Arrange
+      component.nextCursor = null;
+
+      // Act
+      component.loadMoreComments();
+
+      // Assert
+      expect(mockArticleService.getCommentaires).not.toHaveBeenCalled();
+    });
+
+    it('should handle error when loading comments fails', () => {
+      // Arrange
+      mockArticleService.getCommentaires.mockReturnValue(throwError(() => new Error('Test error')));
+
+      // Act
+      component.loadMoreComments();
+
+      // Assert
+      expect(mockSnackBar.open).toHaveBeenCalledWith(
+        'Erreur lors du chargement des commentaires',
+        'Fermer',
+        { duration: 3000 }
+      );
+      expect(component.commentaires).toEqual(firstComments);
+    });
+  });
+
   describe('Comment Form', () => {
     beforeEach(() => {
       fixture.detectChanges();
@@ -190,7 +245,9 @@ describe('ArticleDetailComponent', () => {
 
     it('should handle successful comment submission', () => {
       // Arrange
+      const newComment = { id: 2, contenu: 'Test comment', auteur: 'Test User' };
       mockArticleService.ajouterCommentaire.mockReturnValue(of(1));
+      mockArticleService.getCommentaires.mockReturnValue(of({ commentaires: [...mockArticle.commentaires, newComment], nextCursor: null }));
       component.commentForm.patchValue({ contenu: 'Test comment' });
 
       // Act
@@ -203,7 +260,41 @@ describe('ArticleDetailComponent', () => {
         { duration: 3000 }
       );
       expect(component.commentForm.value).toEqual({ contenu: null });
-      expect(mockArticleService.getById).toHaveBeenCalledTimes(2); // Initial load + refresh
+      expect(mockArticleService.getCommentaires).toHaveBeenCalledWith(mockArticle.id, null); // Last page read again
+      expect(component.commentaires).toEqual([...mockArticle.commentaires, newComment]);
+      expect(component.article.nombreCommentaires).toBe(2);
+    });
+
+    it('should read every page after a full last page to show the new comment', () => {
+      // Arrange
+      const newComment = { id: 2, contenu: 'Test comment', auteur: 'Test User' };
+      mockArticleService.ajouterCommentaire.mockReturnValue(of(1));
+      mockArticleService.getCommentaires
+        .mockReturnValueOnce(of({ commentaires: mockArticle.commentaires, nextCursor: 'next' }))
+        .mockReturnValueOnce(of({ commentaires: [newComment], nextCursor: null }));
+      component.commentForm.patchValue({ contenu: 'Test comment' });
+
+      // Act
+      component.onSubmit();
+
+      // Assert
+      expect(mockArticleService.getCommentaires).toHaveBeenNthCalledWith(2, mockArticle.id, 'next');
+      expect(component.commentaires).toEqual([...mockArticle.commentaires, newComment]);
+      expect(component.nextCursor).toBeNull();
+    });
+
+    it('should leave the new comment to paging while older comments are not loaded', () => {
+      // Arrange
+      mockArticleService.ajouterCommentaire.mockReturnValue(of(1));
+      component.nextCursor = 'next';
+      component.commentForm.patchValue({ contenu: 'Test comment' });
+
+      // Act
+      component.onSubmit();
+
+      // Assert
+      expect(mockArticleService.getCommentaires).not.toHaveBeenCalled();
+      expect(component.nextCursor).toBe('next');
     });
 
     it('should handle error during comment submission', () => {
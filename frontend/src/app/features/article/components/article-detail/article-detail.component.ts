@@ -10,6 +10,7 @@ import {MatIconModule} from "@angular/material/icon";
 import {DatePipe} from "@angular/common";
 import {ArticleService} from "../../services/article.service";
 import {MatSnackBar} from "@angular/material/snack-bar";
+import {CommentPage} from "../../../../shared/interfaces/comment-page";
 
 @Component({
   selector: 'app-article-detail',
@@ -37,6 +38,11 @@ export class ArticleDetailComponent implements OnInit {
   });
 
   article: Article = {} as any;
+  commentaires: I_Comment[] = [];
+  nextCursor: string | null = null;
+  // Comments come oldest first: the last page read is read again to show a new comment
+  private lastPageCursor: string | null = null;
+  private lastPageStart = 0;
 
   ngOnInit(): void {
     const articleId = this.route.snapshot.paramMap.get('id');
@@ -51,6 +57,10 @@ export class ArticleDetailComponent implements OnInit {
     this.articleService.getById(articleId).subscribe({
       next: (article: Article) => {
         this.article = article;
+        this.commentaires = article.commentaires;
+        this.nextCursor = article.nextCursor;
+        this.lastPageCursor = null;
+        this.lastPageStart = 0;
       },
       error: () => {
         this.snackBar.open('Erreur lors de la récupération de l\'article', 'Close', {duration: 3000});
@@ -58,6 +68,29 @@ export class ArticleDetailComponent implements OnInit {
     })
   }
 
+  loadMoreComments(): void {
+    if (this.nextCursor) {
+      this.loadComments(this.nextCursor, this.commentaires.length, false);
+    }
+  }
+
+  private loadComments(cursor: string | null, start: number, untilLast: boolean): void {
+    this.articleService.getCommentaires(this.article.id, cursor).subscribe({
+      next: (page: CommentPage) => {
+        this.commentaires = [...this.commentaires.slice(0, start), ...page.commentaires];
+        this.nextCursor = page.nextCursor;
+        this.lastPageCursor = cursor;
+        this.lastPageStart = start;
+        if (untilLast && page.nextCursor) {
+          this.loadComments(page.nextCursor, this.commentaires.length, true);
+        }
+      },
+      error: () => {
+        this.snackBar.open('Erreur lors du chargement des commentaires', 'Fermer', {duration: 3000});
+      }
+    })
+  }
+
   onSubmit() {
     if (this.commentForm.valid) {
       console.log(this.commentForm.value);
@@ -65,7 +98,11 @@ export class ArticleDetailComponent implements OnInit {
         next: () => {
           this.snackBar.open('Commentaire ajouté !', 'OK', {duration: 3000});
           this.commentForm.reset();
-          this.initialiserArticle(this.article.id.toString());
+          this.article = {...this.article, nombreCommentaires: this.article.nombreCommentaires + 1};
+          // The new comment comes last: with every comment loaded, the last page is read again to show it
+          if (!this.nextCursor) {
+            this.loadComments(this.lastPageCursor, this.lastPageStart, true);
+          }
         },
         error: () => {
           this.snackBar.open('Erreur lors de l\'ajout du commentaire', 'Fermer', {duration: 3000});
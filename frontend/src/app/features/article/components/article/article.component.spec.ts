@@ -3,8 +3,8 @@ import { ArticleComponent } from './article.component';
 import { Router } from '@angular/router';
 import { ArticleService } from '../../services/article.service';
 import { MatSnackBar } from '@angular/material/snack-bar';
-import { Article } from '../../../../shared/interfaces/article.interface';
-import { Articles } from '../../../../shared/interfaces/articles';
+import { FeedItem } from '../../../../shared/interfaces/feed-item';
+import { FeedPage } from '../../../../shared/interfaces/feed-page';
 import { of, throwError } from 'rxjs';
 import { DatePipe } from '@angular/common';
 
@@ -16,24 +16,24 @@ describe('ArticleComponent', () => {
   let mockSnackBar: jest.Mocked<MatSnackBar>;
 
   // Mock data
-  const mockArticles: Article[] = [
-    {
-      id: 1,
-      titre: 'Article 1',
-      contenu: 'Content 1',
-      auteur: 'Author 1',
-      date: new Date('2024-03-24'),
-      theme: 'Theme 1',
-      commentaires: []
-    },
+  const mockArticles: FeedItem[] = [
     {
       id: 2,
       titre: 'Article 2',
-      contenu: 'Content 2',
+      extrait: 'Content 2',
       auteur: 'Author 2',
       date: new Date('2024-03-25'),
       theme: 'Theme 2',
-      commentaires: []
+      nombreCommentaires: 0
+    },
+    {
+      id: 1,
+      titre: 'Article 1',
+      extrait: 'Content 1',
+      auteur: 'Author 1',
+      date: new Date('2024-03-24'),
+      theme: 'Theme 1',
+      nombreCommentaires: 3
     }
   ];
 
@@ -44,7 +44,7 @@ describe('ArticleComponent', () => {
     } as unknown as jest.Mocked<Router>;
 
     mockArticleService = {
-      getArticles: jest.fn()
+      getFeed: jest.fn()
     } as unknown as jest.Mocked<ArticleService>;
 
     mockSnackBar = {
@@ -80,31 +80,29 @@ describe('ArticleComponent', () => {
   });
 
   describe('ngOnInit', () => {
-    it('should load and sort articles successfully', () => {
+    it('should load the first page of the feed', () => {
       // Arrange
-      const mockResponse: Articles = { articles: mockArticles };
-      mockArticleService.getArticles.mockReturnValue(of(mockResponse));
+      const mockResponse: FeedPage = { articles: mockArticles, nextCursor: 'next' };
+      mockArticleService.getFeed.mockReturnValue(of(mockResponse));
 
       // Act
       fixture.detectChanges(); // Triggers ngOnInit
 
       // Assert
-      expect(mockArticleService.getArticles).toHaveBeenCalled();
-      expect(component.articles).toHaveLength(2);
-      // Verify sorting (newest first)
-      expect(component.articles[0].id).toBe(2);
-      expect(component.articles[1].id).toBe(1);
+      expect(mockArticleService.getFeed).toHaveBeenCalledWith(null);
+      expect(component.articles).toEqual(mockArticles);
+      expect(component.nextCursor).toBe('next');
     });
 
     it('should handle error when loading articles fails', () => {
       // Arrange
-      mockArticleService.getArticles.mockReturnValue(throwError(() => new Error('Test error')));
+      mockArticleService.getFeed.mockReturnValue(throwError(() => new Error('Test error')));
 
       // Act
       fixture.detectChanges(); // Triggers ngOnInit
 
       // Assert
-      expect(mockArticleService.getArticles).toHaveBeenCalled();
+      expect(mockArticleService.getFeed).toHaveBeenCalled();
       expect(mockSnackBar.open).toHaveBeenCalledWith(
         'Erreur lors du chargement des articles',
         'Fermer',
@@ -114,34 +112,33 @@ describe('ArticleComponent', () => {
     });
   });
 
-  describe('sortArticles', () => {
-    it('should sort articles by date in descending order', () => {
+  describe('loadMore', () => {
+    it('should append the next page and stop on the last one', () => {
       // Arrange
-      const unsortedArticles = [...mockArticles].reverse();
+      mockArticleService.getFeed
+        .mockReturnValueOnce(of({ articles: [mockArticles[0]], nextCursor: 'next' }))
+        .mockReturnValueOnce(of({ articles: [mockArticles[1]], nextCursor: null }));
+      fixture.detectChanges();
 
       // Act
-      const sortedArticles = component['sortArticles'](unsortedArticles);
+      component.loadMore();
 
       // Assert
-      expect(sortedArticles[0].id).toBe(2); // Newest article
-      expect(sortedArticles[1].id).toBe(1); // Oldest article
+      expect(mockArticleService.getFeed).toHaveBeenLastCalledWith('next');
+      expect(component.articles).toEqual(mockArticles);
+      expect(component.nextCursor).toBeNull();
     });
 
-    it('should handle articles with same date', () => {
+    it('should not request anything after the last page', () => {
       // Arrange
-      const sameDate = new Date('2024-03-24');
-      const articlesWithSameDate = [
-        { ...mockArticles[0], date: sameDate },
-        { ...mockArticles[1], date: sameDate }
-      ];
+      mockArticleService.getFeed.mockReturnValue(of({ articles: mockArticles, nextCursor: null }));
+      fixture.detectChanges();
 
       // Act
-      const sortedArticles = component['sortArticles'](articlesWithSameDate);
+      component.loadMore();
 
       // Assert
-      expect(sortedArticles).toHaveLength(2);
-      expect(new Date(sortedArticles[0].date).getTime())
-        .toBe(new Date(sortedArticles[1].date).getTime());
+      expect(mockArticleService.getFeed).toHaveBeenCalledTimes(1);
     });
   });
 
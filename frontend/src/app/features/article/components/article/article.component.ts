@@ -5,10 +5,10 @@ import {MatButtonModule} from "@angular/material/button";
 import {MatCardModule} from "@angular/material/card";
 import {DatePipe} from "@angular/common";
 import {HeaderComponent} from "../../../../shared/components/header/header.component";
-import {Article} from "../../../../shared/interfaces/article.interface";
 import {Router} from "@angular/router";
 import {ArticleService} from "../../services/article.service";
-import {Articles} from "../../../../shared/interfaces/articles";
+import {FeedItem} from "../../../../shared/interfaces/feed-item";
+import {FeedPage} from "../../../../shared/interfaces/feed-page";
 import {MatSnackBar} from "@angular/material/snack-bar";
 
 @Component({
@@ -27,28 +27,32 @@ export class ArticleComponent implements OnInit {
   private articleService = inject(ArticleService);
   private snackBar = inject(MatSnackBar);
 
-  articles: Article[] = [];
+  articles: FeedItem[] = [];
+  nextCursor: string | null = null;
 
   ngOnInit(): void {
-    this.articleService.getArticles().subscribe({
-      next: (articles: Articles) => this.articles = this.sortArticles(articles.articles),
+    this.loadPage(null);
+  }
+
+  loadMore(): void {
+    if (this.nextCursor) {
+      this.loadPage(this.nextCursor);
+    }
+  }
+
+  // The feed comes newest first, one page at a time
+  private loadPage(cursor: string | null): void {
+    this.articleService.getFeed(cursor).subscribe({
+      next: (page: FeedPage) => {
+        this.articles = [...this.articles, ...page.articles];
+        this.nextCursor = page.nextCursor;
+      },
       error: () => {
         this.snackBar.open('Erreur lors du chargement des articles', 'Fermer', {duration: 3000});
       }
     })
   }
 
-  private sortArticles(articles: Article[]): Article[] {
-    return [...articles].sort((a, b) => {
-      // Convert to timestamps for reliable comparison
-      const dateA = new Date(a.date).getTime();
-      const dateB = new Date(b.date).getTime();
-
-      // Sort in descending order (newest first)
-      return dateB - dateA;
-    });
-  }
-
   navigateToCreerArticle(): void {
     this.router.navigate(['/articles/creer']);
   }
@@ -2,8 +2,11 @@ import { TestBed } from '@angular/core/testing';
 import { HttpClient } from '@angular/common/http';
 import { ArticleService } from './article.service';
 import { Article } from '../../../shared/interfaces/article.interface';
-import { Articles } from '../../../shared/interfaces/articles';
+import { FeedPage } from '../../../shared/interfaces/feed-page';
+import { ArticleBatch } from '../../../shared/interfaces/article-batch';
+import { ArticleSummary } from '../../../shared/interfaces/article-summary';
 import { I_Comment } from '../../../shared/interfaces/comment.interface';
+import { CommentPage } from '../../../shared/interfaces/comment-page';
 import { of, throwError } from 'rxjs';
 
 describe('ArticleService', () => {
@@ -11,11 +14,12 @@ describe('ArticleService', () => {
   let httpClientMock: jest.Mocked<HttpClient>;
 
   // Mock data
-  const mockArticles: Articles = {
+  const mockFeed: FeedPage = {
     articles: [
-      { id: 1, titre: 'Test Article 1', contenu: 'Content 1' } as any,
-      { id: 2, titre: 'Test Article 2', contenu: 'Content 2' } as any
-    ]
+      { id: 2, titre: 'Test Article 2', extrait: 'Content 2' } as any,
+      { id: 1, titre: 'Test Article 1', extrait: 'Content 1' } as any
+    ],
+    nextCursor: 'next'
   };
 
   const mockArticle: Article = {
@@ -49,33 +53,51 @@ describe('ArticleService', () => {
     expect(service).toBeTruthy();
   });
 
-  describe('getArticles', () => {
-    it('should return all articles', (done) => {
+  describe('getFeed', () => {
+    it('should return the first page of the feed', (done) => {
       // Arrange
-      httpClientMock.get.mockReturnValue(of(mockArticles));
+      httpClientMock.get.mockReturnValue(of(mockFeed));
 
       // Act
-      service.getArticles().subscribe({
-        next: (articles) => {
+      service.getFeed().subscribe({
+        next: (page) => {
           // Assert
-          expect(articles).toEqual(mockArticles);
-          expect(httpClientMock.get).toHaveBeenCalledWith('api/articles');
+          expect(page).toEqual(mockFeed);
+          const [url, options] = httpClientMock.get.mock.calls[0] as [string, any];
+          expect(url).toBe('api/articles/feed');
+          expect(options.params.get('limit')).toBe('20');
+          expect(options.params.has('cursor')).toBe(false);
           done();
         }
       });
     });
 
-    it('should handle error when fetching articles fails', (done) => {
+    it('should pass the cursor of the previous page', (done) => {
+      // Arrange
+      httpClientMock.get.mockReturnValue(of(mockFeed));
+
+      // Act
+      service.getFeed('next', 10).subscribe({
+        next: () => {
+          // Assert
+          const [, options] = httpClientMock.get.mock.calls[0] as [string, any];
+          expect(options.params.get('cursor')).toBe('next');
+          expect(options.params.get('limit')).toBe('10');
+          done();
+        }
+      });
+    });
+
+    it('should handle error when fetching the feed fails', (done) => {
       // Arrange
       const errorMessage = 'Failed to fetch articles';
       httpClientMock.get.mockReturnValue(throwError(() => new Error(errorMessage)));
 
       // Act
-      service.getArticles().subscribe({
+      service.getFeed().subscribe({
         error: (error) => {
           // Assert
           expect(error.message).toBe(errorMessage);
-          expect(httpClientMock.get).toHaveBeenCalledWith('api/articles');
           done();
         }
       });
@@ -151,6 +173,68 @@ describe('ArticleService', () => {
     });
   });
 
+  describe('getCommentaires', () => {
+    it('should return the first page of the comments', (done) => {
+      // Arrange
+      const page: CommentPage = { commentaires: [{ id: 1, contenu: 'Test Comment', auteur: 'Test Author' }], nextCursor: 'next' };
+      httpClientMock.get.mockReturnValue(of(page));
+
+      // Act
+      service.getCommentaires(1).subscribe({
+        next: (result) => {
+          // Assert
+          expect(result).toEqual(page);
+          const [url, options] = httpClientMock.get.mock.calls[0] as [string, any];
+          expect(url).toBe('api/articles/1/comments');
+          expect(options.params.get('limit')).toBe('20');
+          expect(options.params.has('cursor')).toBe(false);
+          done();
+        }
+      });
+    });
+
+    it('should pass the cursor of the previous page', (done) => {
+      // Arrange
+      httpClientMock.get.mockReturnValue(of({ commentaires: [], nextCursor: null }));
+
+      // Act
+      service.getCommentaires(1, 'next').subscribe({
+        next: () => {
+          // Assert
+          const [, options] = httpClientMock.get.mock.calls[0] as [string, any];
+          expect(options.params.get('cursor')).toBe('next');
+          done();
+        }
+      });
+    });
+  });
+
+  describe('getByIds', () => {
+    it('should return the articles of several ids in one request', (done) => {
+      // Arrange
+      const summary: ArticleSummary = {
+        id: 1,
+        titre: 'Test Article',
+        theme: 'Test Theme',
+        auteur: 'Test Author',
+        date: new Date('2024-03-24'),
+        extrait: 'Test Extrait'
+      };
+      const batch: ArticleBatch = { articles: [summary], missing: [2] };
+      httpClientMock.get.mockReturnValue(of(batch));
+
+      // Act
+      service.getByIds([1, 2]).subscribe({
+        next: (result) => {
+          // Assert
+          expect(result).toEqual(batch);
+          expect(httpClientMock.get).toHaveBeenCalledWith('api/articles', { params: { ids: '1,2' } });
+          done();
+        }
+      });
+    });
+  });
+
   describe('ajouterCommentaire', () => {
     it('should add comment to article', (done) => {
       // Arrange
@@ -1,10 +1,11 @@
 import {inject, Injectable} from '@angular/core';
-import {HttpClient} from "@angular/common/http";
+import {HttpClient, HttpParams} from "@angular/common/http";
 import {Observable} from "rxjs";
-import {Articles} from "../../../shared/interfaces/articles";
 import {Article} from "../../../shared/interfaces/article.interface";
+import {ArticleBatch} from "../../../shared/interfaces/article-batch";
 import {I_Comment} from "../../../shared/interfaces/comment.interface";
-import {SessionService} from "../../../shared/services/session.service";
+import {FeedPage} from "../../../shared/interfaces/feed-page";
+import {CommentPage} from "../../../shared/interfaces/comment-page";
 
 @Injectable({
   providedIn: 'root'
@@ -12,10 +13,13 @@ import {SessionService} from "../../../shared/services/session.service";
 export class ArticleService {
   private pathService = 'api/articles';
   private httpClient: HttpClient = inject(HttpClient);
-  private userId = inject(SessionService).sessionInformation?.id;
 
-  public getArticles(): Observable<Articles> {
-    return this.httpClient.get<Articles>(`${this.pathService}/user/${this.userId}`);
+  public getFeed(cursor: string | null = null, limit = 20): Observable<FeedPage> {
+    let params = new HttpParams().set('limit', limit);
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    return this.httpClient.get<FeedPage>(`${this.pathService}/feed`, {params});
   }
 
   creerArticle(article: Article): Observable<number>{
@@ -26,6 +30,18 @@ export class ArticleService {
     return this.httpClient.get<Article>(`${this.pathService}/${articleId}`);
   }
 
+  getByIds(articleIds: number[]): Observable<ArticleBatch> {
+    return this.httpClient.get<ArticleBatch>(`${this.pathService}`, {params: {ids: articleIds.join(',')}});
+  }
+
+  getCommentaires(articleId: number, cursor: string | null = null, limit = 20): Observable<CommentPage> {
+    let params = new HttpParams().set('limit', limit);
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    return this.httpClient.get<CommentPage>(`${this.pathService}/${articleId}/comments`, {params});
+  }
+
   ajouterCommentaire(articleId: number, commentaire: I_Comment): Observable<number> {
     return this.httpClient.post<number>(`${this.pathService}/${articleId}`, commentaire);
   }
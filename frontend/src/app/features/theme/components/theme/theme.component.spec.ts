@@ -22,14 +22,16 @@ describe('ThemeComponent', () => {
       titre: 'Angular',
       description: 'Angular framework',
       articles: [],
-      abonnes: [1, 2]
+      nombreAbonnes: 2,
+      abonne: true
     },
     {
       id: 2,
       titre: 'TypeScript',
       description: 'TypeScript programming',
       articles: [],
-      abonnes: [2, 3]
+      nombreAbonnes: 2,
+      abonne: false
     }
   ];
 
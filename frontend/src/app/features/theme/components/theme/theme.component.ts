@@ -15,7 +15,6 @@ import {Router} from "@angular/router";
 import {ThemeService} from "../../services/theme.service";
 import {Theme} from "../../../../shared/interfaces/theme";
 import {MatSnackBar} from "@angular/material/snack-bar";
-import {SessionService} from "../../../../shared/services/session.service";
 import {Themes} from "../../../../shared/interfaces/themes";
 
 @Component({
@@ -41,7 +40,6 @@ export class ThemeComponent implements OnInit {
   private router = inject(Router);
   private themeService = inject(ThemeService);
   private snackBar = inject(MatSnackBar);
-  private idUtilisateur = inject(SessionService).sessionInformation!.id;
 
   themes: Theme[] = [];
   url = this.router.url;
@@ -59,7 +57,7 @@ export class ThemeComponent implements OnInit {
       })
     } else if (this.url === '/auth/profil') {
       this.themeService.getThemes().subscribe({
-        next: (themes: Themes) => this.themes = themes.themes.filter(theme => theme.abonnes.includes(this.idUtilisateur)),
+        next: (themes: Themes) => this.themes = themes.themes.filter(theme => theme.abonne),
         error: () => this.snackBar.open('Erreur lors du chargement des thèmes', 'Fermer', {duration: 3000})
       })
     }
@@ -69,6 +67,9 @@ export class ThemeComponent implements OnInit {
     this.themeService.subscribeTheme(id).subscribe({
       next: () => {
         this.snackBar.open('Vous êtes abonné à ce thème', 'Fermer', {duration: 3000});
+        this.themes = this.themes.map(theme => theme.id === id && !theme.abonne
+          ? {...theme, abonne: true, nombreAbonnes: theme.nombreAbonnes + 1}
+          : theme);
       },
       error: () => this.snackBar.open('Erreur lors de l\'abonnement au thème', 'Fermer', {duration: 3000})
     })
@@ -16,14 +16,16 @@ describe('ThemeService', () => {
         titre: 'Angular',
         description: 'All about Angular framework',
         articles: [],
-        abonnes: [1, 2, 3]
+        nombreAbonnes: 3,
+        abonne: true
       },
       {
         id: 2,
         titre: 'TypeScript',
         description: 'TypeScript programming',
         articles: [],
-        abonnes: [1]
+        nombreAbonnes: 1,
+        abonne: true
       }
     ]
   };
@@ -32,7 +34,8 @@ describe('ThemeService', () => {
     // Create HttpClient mock
     httpClientMock = {
       get: jest.fn(),
-      post: jest.fn()
+      post: jest.fn(),
+      put: jest.fn()
     } as unknown as jest.Mocked<HttpClient>;
 
     TestBed.configureTestingModule({
@@ -165,4 +168,22 @@ describe('ThemeService', () => {
       });
     });
   });
+
+  describe('updateSubscriptions', () => {
+    it('should send the subscriptions and return the resulting set', (done) => {
+      // Arrange
+      const update = {themeIds: [1, 2]};
+      httpClientMock.put.mockReturnValue(of({themeIds: [1, 2]}));
+
+      // Act
+      service.updateSubscriptions(update).subscribe({
+        next: (subscriptions) => {
+          // Assert
+          expect(subscriptions.themeIds).toEqual([1, 2]);
+          expect(httpClientMock.put).toHaveBeenCalledWith('api/themes/subscriptions', update);
+          done();
+        }
+      });
+    });
+  });
 });
@@ -2,6 +2,7 @@ import {inject, Injectable} from '@angular/core';
 import {HttpClient} from "@angular/common/http";
 import {Observable} from "rxjs";
 import {Themes} from "../../../shared/interfaces/themes";
+import {SubscriptionSet, SubscriptionsUpdate} from "../../../shared/interfaces/subscriptions";
 
 @Injectable({
   providedIn: 'root'
@@ -21,4 +22,8 @@ export class ThemeService {
   public unsubscribeTheme(themeId: number) {
     return this.httpClient.post(`${this.pathService}/unsubscribe/${themeId}`, null);
   }
+
+  public updateSubscriptions(update: SubscriptionsUpdate): Observable<SubscriptionSet> {
+    return this.httpClient.put<SubscriptionSet>(`${this.pathService}/subscriptions`, update);
+  }
 }
@@ -46,7 +46,9 @@ describe('Integration Tests', () => {
     theme: 'Angular',
     auteur: mockUser.username,
     date: new Date(),
-    commentaires: []
+    commentaires: [],
+    nombreCommentaires: 0,
+    nextCursor: null
   };
 
   const mockTheme = {
@@ -54,7 +56,8 @@ describe('Integration Tests', () => {
     titre: 'Angular',
     description: 'Angular Framework',
     articles: [],
-    abonnes: []
+    nombreAbonnes: 0,
+    abonne: false
   };
 
   describe('Authentication Flow', () => {
@@ -186,13 +189,16 @@ describe('Integration Tests', () => {
       expect(articleService.creerArticle).toHaveBeenCalled();
 
       // 2. View Articles
-      jest.spyOn(articleService, 'getArticles').mockReturnValue(of({ articles: [mockArticle] }));
+      jest.spyOn(articleService, 'getFeed').mockReturnValue(of({
+        articles: [{...mockArticle, extrait: mockArticle.contenu, nombreCommentaires: 0}],
+        nextCursor: null
+      }));
       articleComponent = TestBed.createComponent(ArticleComponent);
       articleComponent.detectChanges();
       tick();
 
       const articleInstance = articleComponent.componentInstance;
-      expect(articleService.getArticles).toHaveBeenCalled();
+      expect(articleService.getFeed).toHaveBeenCalled();
       expect(articleInstance.articles.length).toBe(1);
     }));
   });
@@ -220,7 +226,8 @@ describe('Integration Tests', () => {
     titre: 'Angular',
     description: 'Angular Framework',
     articles: [],
-    abonnes: []
+    nombreAbonnes: 0,
+    abonne: false
   };
 
   const mockThemes = {
@@ -302,7 +309,8 @@ describe('Integration Tests', () => {
     const themesWithSubscriber = {
       themes: [{
         ...mockTheme,
-        abonnes: [mockSessionInfo.id]
+        nombreAbonnes: 1,
+        abonne: true
       }]
     };
     themeService.getThemes.mockReturnValue(of(themesWithSubscriber));
@@ -316,7 +324,7 @@ describe('Integration Tests', () => {
 
     // Verify only subscribed themes are shown
     expect(component.themes.length).toBe(1);
-    expect(component.themes[0].abonnes).toContain(mockSessionInfo.id);
+    expect(component.themes[0].abonne).toBe(true);
   }));
 
   it('should handle theme loading error', fakeAsync(() => {
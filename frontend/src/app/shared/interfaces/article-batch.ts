@@ -0,0 +1,6 @@
+import {ArticleSummary} from "./article-summary";
+
+export interface ArticleBatch {
+  articles: ArticleSummary[];
+  missing: number[];
+}
@@ -0,0 +1,8 @@
+export interface ArticleSummary {
+  id: number;
+  titre: string;
+  theme: string;
+  auteur: string;
+  date: Date;
+  extrait: string;
+}
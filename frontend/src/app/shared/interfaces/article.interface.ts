@@ -8,5 +8,7 @@ export interface Article {
   date: Date;
   contenu: string;
   commentaires: I_Comment[];
+  nombreCommentaires: number;
+  nextCursor: string | null;
 }
 
@@ -1,5 +0,0 @@
-import {Article} from "./article.interface";
-
-export interface Articles {
-  articles: Article[];
-}
@@ -0,0 +1,6 @@
+import {I_Comment} from "./comment.interface";
+
+export interface CommentPage {
+  commentaires: I_Comment[];
+  nextCursor: string | null;
+}
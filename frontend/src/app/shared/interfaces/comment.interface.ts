@@ -2,4 +2,5 @@ export interface I_Comment {
   id: number;
   contenu: string;
   auteur: string;
+  date?: Date;
 }
@@ -0,0 +1,9 @@
+export interface FeedItem {
+  id: number;
+  titre: string;
+  extrait: string;
+  theme: string;
+  auteur: string;
+  date: Date;
+  nombreCommentaires: number;
+}
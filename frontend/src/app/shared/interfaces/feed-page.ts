@@ -0,0 +1,6 @@
+import {FeedItem} from "./feed-item";
+
+export interface FeedPage {
+  articles: FeedItem[];
+  nextCursor: string | null;
+}
@@ -0,0 +1,9 @@
+export interface SubscriptionsUpdate {
+  themeIds?: number[];
+  add?: number[];
+  remove?: number[];
+}
+
+export interface SubscriptionSet {
+  themeIds: number[];
+}
@@ -5,5 +5,6 @@ export interface Theme {
     titre: string;
     description: string;
     articles: Article[];
-    abonnes: number[]
+    nombreAbonnes: number;
+    abonne: boolean;
 }
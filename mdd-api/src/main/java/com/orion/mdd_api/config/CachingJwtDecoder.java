@@ -0,0 +1,119 @@
+package com.orion.mdd_api.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoder keeping the tokens it already verified, so that a token presented again skips the signature check
+ * and the parsing of its claims. Entries are keyed by a SHA-256 digest of the token, never by the token itself,
+ * and expire with the token, or after {@code maxTtl} if that comes first. Tokens that fail to decode are not kept.
+ * Hits, misses and evictions are exported as the {@code cache.*} metrics of the {@value #CACHE_NAME} cache, the time
+ * spent verifying tokens as {@code jwt.decode} and the time hits saved, estimated from the mean verification time,
+ * as {@code jwt.decode.saved}.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+    static final String CACHE_NAME = "jwt.verified";
+
+    private final JwtDecoder delegate;
+    private final Clock clock;
+    private final Cache<String, Jwt> verified;
+    private final Timer decodeTime;
+    private final Counter savedTime;
+
+    public CachingJwtDecoder(JwtDecoder delegate, MeterRegistry meterRegistry, int capacity, Duration maxTtl) {
+        this(delegate, meterRegistry, capacity, maxTtl, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, MeterRegistry meterRegistry, int capacity, Duration maxTtl, Clock clock) {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(capacity)
+                .expireAfter(new Expiry<String, Jwt>() {
+                    @Override
+                    public long expireAfterCreate(String digest, Jwt jwt, long currentTime) {
+                        return remainingLifetime(jwt, maxTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, Jwt jwt, long currentTime, long currentDuration) {
+                        return remainingLifetime(jwt, maxTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, Jwt jwt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, CACHE_NAME);
+        this.decodeTime = Timer.builder("jwt.decode")
+                .description("Time to verify and parse a token missing from the cache")
+                .register(meterRegistry);
+        this.savedTime = Counter.builder("jwt.decode.saved")
+                .description("Verification time saved by cache hits, estimated from the mean verification time")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String digest = digest(token);
+        Jwt cached = verified.getIfPresent(digest);
+        if (cached != null && isUnexpired(cached)) {
+            savedTime.increment(decodeTime.mean(TimeUnit.SECONDS));
+            return cached;
+        }
+        Jwt jwt = decodeTime.record(() -> delegate.decode(token));
+        verified.put(digest, jwt);
+        return jwt;
+    }
+
+    public long size() {
+        verified.cleanUp();
+        return verified.estimatedSize();
+    }
+
+    private boolean isUnexpired(Jwt jwt) {
+        return jwt.getExpiresAt() == null || clock.instant().isBefore(jwt.getExpiresAt());
+    }
+
+    private Duration remainingLifetime(Jwt jwt, Duration maxTtl) {
+        Instant expiresAt = jwt.getExpiresAt();
+        if (expiresAt == null) {
+            return maxTtl;
+        }
+        Duration remaining = Duration.between(clock.instant(), expiresAt);
+        if (remaining.isNegative()) {
+            return Duration.ZERO;
+        }
+        return remaining.compareTo(maxTtl) < 0 ? remaining : maxTtl;
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
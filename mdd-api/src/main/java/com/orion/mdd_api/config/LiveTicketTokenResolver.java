@@ -0,0 +1,29 @@
+package com.orion.mdd_api.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+/**
+ * Resolves the token of the live feed from its {@value #TICKET_PARAMETER} query parameter, since EventSource cannot
+ * send an Authorization header. The parameter is only read on the live feed, every other request keeps
+ * reading its token from the Authorization header.
+ */
+public class LiveTicketTokenResolver implements BearerTokenResolver {
+    static final String TICKET_PARAMETER = "ticket";
+
+    private final BearerTokenResolver delegate = new DefaultBearerTokenResolver();
+    private final RequestMatcher liveFeed = new AntPathRequestMatcher(SecurityConfig.LIVE_FEED_PATH, HttpMethod.GET.name());
+
+    @Override
+    public String resolve(HttpServletRequest request) {
+        String ticket = request.getParameter(TICKET_PARAMETER);
+        if (ticket == null || !liveFeed.matches(request)) {
+            return delegate.resolve(request);
+        }
+        return ticket;
+    }
+}
@@ -6,6 +6,7 @@ import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -24,6 +25,7 @@ import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
 
 @Configuration
 public class SecurityBeansConfig {
@@ -34,6 +36,15 @@ public class SecurityBeansConfig {
     @Value("${jwt.private.key}")
     RSAPrivateKey priv;
 
+    @Value("${jwt.decoder-cache.enabled}")
+    boolean decoderCacheEnabled;
+
+    @Value("${jwt.decoder-cache.capacity}")
+    int decoderCacheCapacity;
+
+    @Value("${jwt.decoder-cache.max-ttl}")
+    Duration decoderCacheMaxTtl;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -52,8 +63,12 @@ public class SecurityBeansConfig {
     }
 
     @Bean
-    JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withPublicKey(this.key).build();
+    JwtDecoder jwtDecoder(MeterRegistry meterRegistry) {
+        JwtDecoder decoder = NimbusJwtDecoder.withPublicKey(this.key).build();
+        if (!decoderCacheEnabled) {
+            return decoder;
+        }
+        return new CachingJwtDecoder(decoder, meterRegistry, decoderCacheCapacity, decoderCacheMaxTtl);
     }
 
     @Bean
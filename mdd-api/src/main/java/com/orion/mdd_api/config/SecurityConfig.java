@@ -2,6 +2,7 @@ package com.orion.mdd_api.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -10,6 +11,11 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 
+import static org.springframework.security.authorization.AuthenticatedAuthorizationManager.authenticated;
+import static org.springframework.security.authorization.AuthorityAuthorizationManager.hasAuthority;
+import static org.springframework.security.authorization.AuthorizationManagers.allOf;
+import static org.springframework.security.authorization.AuthorizationManagers.not;
+
 /**
  * Configuration class for setting up security in the application.
  * This class configures web security, authentication, and JWT handling.
@@ -17,6 +23,8 @@ import org.springframework.security.web.SecurityFilterChain;
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
+    static final String LIVE_FEED_PATH = "/api/articles/live";
+    static final String LIVE_TICKET_AUTHORITY = "SCOPE_live";
 
     private final AuthenticationProvider authenticationProvider;
 
@@ -38,9 +46,14 @@ public class SecurityConfig {
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
                                 "/webjars/**").permitAll()
-                        .anyRequest().authenticated()
+                        .requestMatchers(HttpMethod.GET, LIVE_FEED_PATH).authenticated()
+                        // Live feed tickets open the live feed and nothing else
+                        .anyRequest().access(allOf(authenticated(),
+                                not(hasAuthority(LIVE_TICKET_AUTHORITY))))
                 )
-                .oauth2ResourceServer(oauth2 -> oauth2.jwt(Customizer.withDefaults()))
+                .oauth2ResourceServer(oauth2 -> oauth2
+                        .bearerTokenResolver(new LiveTicketTokenResolver())
+                        .jwt(Customizer.withDefaults()))
                 .build();
     }
 }
\ No newline at end of file
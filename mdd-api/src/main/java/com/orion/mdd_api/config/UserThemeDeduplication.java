@@ -0,0 +1,81 @@
+package com.orion.mdd_api.config;
+
+import com.orion.mdd_api.dtos.Subscription;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Removes the duplicate subscriptions left by the releases that did not enforce {@code uk_user_theme_user_theme},
+ * before Hibernate updates the schema: with duplicates in place, adding the constraint fails.
+ * Every duplicated pair is deleted and inserted back once, all pairs in a single transaction.
+ * The check is a single grouped read of USER_THEME once the table is clean.
+ */
+@Component
+public class UserThemeDeduplication {
+    private static final Logger logger = LoggerFactory.getLogger(UserThemeDeduplication.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+
+    @Autowired
+    public UserThemeDeduplication(JdbcTemplate jdbcTemplate) {
+        // The JPA transaction manager needs the entity manager factory, which waits for this bean
+        this(jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource())));
+    }
+
+    UserThemeDeduplication(JdbcTemplate jdbcTemplate, TransactionTemplate transaction) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = transaction;
+    }
+
+    @PostConstruct
+    public void deduplicate() {
+        Boolean tableExists = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (ResultSet tables = connection.getMetaData()
+                    .getTables(connection.getCatalog(), null, "user_theme", new String[]{"TABLE"})) {
+                return tables.next();
+            }
+        });
+        if (!Boolean.TRUE.equals(tableExists)) {
+            return;
+        }
+        List<Subscription> duplicates = jdbcTemplate.query("""
+                        select user_id, theme_id from user_theme
+                        group by user_id, theme_id
+                        having count(*) > 1""",
+                (row, rowNum) -> new Subscription(row.getLong("theme_id"), row.getLong("user_id")));
+        if (duplicates.isEmpty()) {
+            return;
+        }
+        transaction.executeWithoutResult(status -> {
+            for (Subscription duplicate : duplicates) {
+                jdbcTemplate.update("delete from user_theme where user_id = ? and theme_id = ?",
+                        duplicate.userId(), duplicate.themeId());
+                jdbcTemplate.update("insert into user_theme (user_id, theme_id) values (?, ?)",
+                        duplicate.userId(), duplicate.themeId());
+            }
+        });
+        logger.info("Removed the duplicates of {} subscriptions", duplicates.size());
+    }
+
+    /**
+     * Makes the entity manager factory, and the schema update it runs, wait for the deduplication.
+     */
+    @Component
+    static class EntityManagerFactoryDependsOn extends EntityManagerFactoryDependsOnPostProcessor {
+        EntityManagerFactoryDependsOn() {
+            super(UserThemeDeduplication.class);
+        }
+    }
+}
@@ -1,9 +1,17 @@
 package com.orion.mdd_api.controllers;
 
+import com.orion.mdd_api.dtos.ArticleBatch;
+import com.orion.mdd_api.dtos.ArticleDetail;
+import com.orion.mdd_api.dtos.ArticleExport;
 import com.orion.mdd_api.dtos.ArticleRecord;
+import com.orion.mdd_api.dtos.CommentairePage;
 import com.orion.mdd_api.dtos.CommentaireRecord;
-import com.orion.mdd_api.entities.Article;
+import com.orion.mdd_api.dtos.FeedPage;
+import com.orion.mdd_api.dtos.LiveTicket;
+import com.orion.mdd_api.dtos.SearchPage;
+import com.orion.mdd_api.services.ArticleJsonCache;
 import com.orion.mdd_api.services.ArticleService;
+import com.orion.mdd_api.services.ContentVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,11 +22,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -34,31 +47,183 @@ import java.util.List;
 public class ArticleController {
 
     private static final Logger logger = LoggerFactory.getLogger(ArticleController.class);
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    private static final String SORT_RECENT = "recent";
+    private static final String SORT_TRENDING = "trending";
     private final ArticleService articleService;
+    private final ContentVersionService contentVersions;
+    private final ArticleJsonCache articleJsonCache;
 
-    public ArticleController(ArticleService articleService) {
+    public ArticleController(ArticleService articleService, ContentVersionService contentVersions,
+                             ArticleJsonCache articleJsonCache) {
         this.articleService = articleService;
+        this.contentVersions = contentVersions;
+        this.articleJsonCache = articleJsonCache;
     }
 
-    @Operation(summary = "Get all articles", description = "Retrieves a list of all available articles")
+    @Operation(summary = "Get several articles", description = "Retrieves the articles of a comma-separated list of IDs, "
+            + "in the requested order, and lists the IDs that were not found")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of articles",
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the articles",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(type = "array", implementation = ArticlesRecord.class))),
+                            schema = @Schema(implementation = ArticleBatch.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    @GetMapping("/user/{userId}")
-    public ResponseEntity<ArticlesRecord> getAllArticlesByUserId(@Valid @PathVariable Long userId) {
+    @GetMapping(params = "ids")
+    public ResponseEntity<ArticleBatch> getArticlesByIds(@RequestParam List<Long> ids) {
         try {
-            List<Article> articles = articleService.getAllArticles();
-            logger.info("Retrieved {} articles", articles.size());
-            return ResponseEntity.ok(new ArticlesRecord(articles));
+            ArticleBatch batch = articleService.getArticlesByIds(ids);
+            logger.info("Retrieved {} articles, {} missing", batch.articles().size(), batch.missing().size());
+            return ResponseEntity.ok(batch);
         } catch (Exception e) {
-            logger.error("Error retrieving all articles", e);
+            logger.error("Error retrieving articles with ids: {}", ids, e);
             throw new RuntimeException("An unexpected error occurred while retrieving articles", e);
         }
     }
 
+    @Operation(summary = "Get the feed", description = "Retrieves one page of the articles of the subscribed themes, "
+            + "newest first, or liveliest first with sort=trending")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the feed page",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = FeedPage.class))),
+            @ApiResponse(responseCode = "304", description = "The feed page did not change"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/feed")
+    public ResponseEntity<FeedPage> getFeed(@RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "20") int limit,
+                                            @RequestParam(defaultValue = SORT_RECENT) String sort,
+                                            WebRequest request) {
+        try {
+            if (!SORT_RECENT.equals(sort) && !SORT_TRENDING.equals(sort)) {
+                throw new IllegalArgumentException("Unknown feed order: " + sort);
+            }
+            ContentVersionService.Validator validator = contentVersions.feedValidator(request.getRemoteUser(), sort, cursor, limit);
+            if (request.checkNotModified(validator.eTag(), validator.lastModified())) {
+                logger.debug("Feed page not modified: {}", validator.eTag());
+                return null;
+            }
+            FeedPage page = SORT_TRENDING.equals(sort)
+                    ? articleService.getTrendingFeed(cursor, limit)
+                    : articleService.getFeed(cursor, limit);
+            logger.info("Retrieved feed page of {} articles", page.articles().size());
+            return ResponseEntity.ok()
+                    .cacheControl(REVALIDATE)
+                    .varyBy(HttpHeaders.AUTHORIZATION)
+                    .eTag(validator.eTag())
+                    .lastModified(validator.lastModified())
+                    .body(page);
+        } catch (Exception e) {
+            logger.error("Error retrieving feed page with cursor: {}", cursor, e);
+            throw new RuntimeException("An unexpected error occurred while retrieving the feed", e);
+        }
+    }
+
+    @Operation(summary = "Search articles", description = "Retrieves one page of the articles whose title or content match the text, best matches first. "
+            + "Quoted phrases, '-' to exclude a word and '*' as a suffix wildcard are supported")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the search results",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = SearchPage.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<SearchPage> searchArticles(@RequestParam String q,
+                                                     @RequestParam(name = "theme", required = false) List<Long> themeIds,
+                                                     @RequestParam(defaultValue = "0") int page,
+                                                     @RequestParam(defaultValue = "20") int size) {
+        try {
+            SearchPage results = articleService.searchArticles(q, themeIds == null ? List.of() : themeIds, page, size);
+            logger.info("Found {} articles matching: {}", results.total(), q);
+            return ResponseEntity.ok(results);
+        } catch (Exception e) {
+            logger.error("Error searching articles matching: {}", q, e);
+            throw new RuntimeException("An unexpected error occurred while searching articles", e);
+        }
+    }
+
+    @Operation(summary = "Get the comments of an article", description = "Retrieves one page of the comments of an article, oldest first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the comments page",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = CommentairePage.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Article not found")
+    })
+    @GetMapping("/{id}/comments")
+    public ResponseEntity<CommentairePage> getCommentaires(@PathVariable Long id,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "20") int limit) {
+        try {
+            CommentairePage page = articleService.getCommentaires(id, cursor, limit);
+            logger.info("Retrieved {} commentaires of article id: {}", page.commentaires().size(), id);
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            logger.error("Error retrieving commentaires of article id: {} with cursor: {}", id, cursor, e);
+            throw new RuntimeException("An unexpected error occurred while retrieving the commentaires", e);
+        }
+    }
+
+    @Operation(summary = "Get a live feed ticket", description = "Issues a short-lived ticket opening the live feed, "
+            + "for clients such as EventSource that cannot send an Authorization header")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ticket issued",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = LiveTicket.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping("/live/ticket")
+    public ResponseEntity<LiveTicket> getLiveTicket() {
+        try {
+            return ResponseEntity.ok(articleService.issueLiveTicket());
+        } catch (Exception e) {
+            logger.error("Error issuing live feed ticket", e);
+            throw new RuntimeException("An unexpected error occurred while issuing the live feed ticket", e);
+        }
+    }
+
+    @Operation(summary = "Follow the feed live", description = "Pushes an 'article' event for every article published in the subscribed themes, "
+            + "and a 'resync' event when events had to be dropped and the feed should be reloaded. "
+            + "Clients that cannot send an Authorization header pass a ticket from /live/ticket as the ticket query parameter "
+            + "and ask for a new one before reconnecting")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened",
+                    content = @Content(mediaType = "text/event-stream")),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "503", description = "Too many open connections, retry later")
+    })
+    @GetMapping(value = "/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> getLiveFeed() {
+        try {
+            return articleService.openLiveFeed()
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+        } catch (Exception e) {
+            logger.error("Error opening live feed", e);
+            throw new RuntimeException("An unexpected error occurred while opening the live feed", e);
+        }
+    }
+
+    @Operation(summary = "Export the articles", description = "Streams every article of the subscribed themes, newest first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Articles streamed as {\"articles\": [...]}",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "array", implementation = ArticleExport.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportArticles() {
+        try {
+            StreamingResponseBody body = articleService.exportArticles();
+            logger.info("Streaming article export");
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        } catch (Exception e) {
+            logger.error("Error exporting articles", e);
+            throw new RuntimeException("An unexpected error occurred while exporting articles", e);
+        }
+    }
+
     @Operation(summary = "Create a new article", description = "Creates a new article")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Article created successfully",
@@ -83,16 +248,36 @@ public class ArticleController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved the article",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = Article.class))),
+                            schema = @Schema(implementation = ArticleDetail.class))),
+            @ApiResponse(responseCode = "304", description = "The article did not change"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "404", description = "Article not found")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Article> getArticleById(@PathVariable Long id) {
+    public ResponseEntity<byte[]> getArticleById(@PathVariable Long id, WebRequest request) {
         try {
-            Article article = articleService.getArticleById(id);
+            ContentVersionService.Validator validator = contentVersions.articleValidator(id);
+            boolean acceptsGzip = acceptsGzip(request);
+            // The compressed representation gets a weak tag, which still matches the plain one on revalidation
+            String eTag = acceptsGzip ? "W/" + validator.eTag() : validator.eTag();
+            if (request.checkNotModified(eTag, validator.lastModified())) {
+                logger.debug("Article with id: {} not modified", id);
+                return null;
+            }
+            // The Last-Modified date of an article is its content version
+            ArticleJsonCache.ArticleJson article = articleJsonCache.get(id, validator.lastModified(),
+                    () -> articleService.getArticleDetail(id));
             logger.info("Retrieved article with id: {}", id);
-            return ResponseEntity.ok(article);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .cacheControl(REVALIDATE)
+                    .varyBy(HttpHeaders.AUTHORIZATION, HttpHeaders.ACCEPT_ENCODING)
+                    .eTag(eTag)
+                    .lastModified(validator.lastModified());
+            if (acceptsGzip && article.gzip() != null) {
+                return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(article.gzip());
+            }
+            return response.body(article.json());
         } catch (Exception e) {
             logger.error("Error retrieving article with id: {}", id, e);
             throw new RuntimeException("An unexpected error occurred while retrieving the article", e);
@@ -119,8 +304,11 @@ public class ArticleController {
         }
     }
 
-    public record ArticlesRecord(List<Article> articles) {
+    private static boolean acceptsGzip(WebRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
     }
+
     public record IdRecord(Long id) {
     }
 }
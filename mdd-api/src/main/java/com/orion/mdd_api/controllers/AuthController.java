@@ -3,6 +3,7 @@ package com.orion.mdd_api.controllers;
 import com.orion.mdd_api.dtos.*;
 import com.orion.mdd_api.entities.User;
 import com.orion.mdd_api.services.JwtService;
+import com.orion.mdd_api.services.UserInfoDetails;
 import com.orion.mdd_api.services.UserInfoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -116,9 +117,9 @@ public class AuthController {
     @SecurityRequirement(name = "Bearer Authentication")
     public ResponseEntity<Credential> getCurrentUser() {
         try {
-            User currentUser = jwtService.getCurrentUser();
-            Credential credential = new Credential(currentUser.getName(), currentUser.getEmail());
-            logger.info("Retrieved current user: {}", currentUser.getEmail());
+            AuthenticatedUser currentUser = jwtService.getAuthenticatedUser();
+            Credential credential = new Credential(currentUser.name(), currentUser.email());
+            logger.info("Retrieved current user: {}", currentUser.email());
             return ResponseEntity.ok(credential);
         } catch (Exception e) {
             logger.error("Error retrieving current user: {}", e.getMessage());
@@ -143,8 +144,8 @@ public class AuthController {
             userInfoService.updateUser(currentUser, credential);
             logger.info("Updated current user: {}", currentUser.getEmail());
 
-            // Load updated user details
-            UserDetails userDetails = userInfoService.loadUserByUsername(credential.email());
+            // The entity holds the updated details, no need to read it again
+            UserDetails userDetails = new UserInfoDetails(currentUser);
 
             // Create new authentication with proper user details
             Authentication newAuth = new UsernamePasswordAuthenticationToken(
@@ -1,7 +1,10 @@
 package com.orion.mdd_api.controllers;
 
-import com.orion.mdd_api.entities.Theme;
-import com.orion.mdd_api.entities.User;
+import com.orion.mdd_api.dtos.AuthenticatedUser;
+import com.orion.mdd_api.dtos.SubscriptionSet;
+import com.orion.mdd_api.dtos.SubscriptionsUpdate;
+import com.orion.mdd_api.dtos.ThemeItem;
+import com.orion.mdd_api.services.ContentVersionService;
 import com.orion.mdd_api.services.JwtService;
 import com.orion.mdd_api.services.ThemeService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,9 +17,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -33,25 +39,38 @@ public class ThemeController {
     private static final Logger logger = LoggerFactory.getLogger(ThemeController.class);
     private final ThemeService themeService;
     private final JwtService jwtService;
+    private final ContentVersionService contentVersions;
 
-    public ThemeController(ThemeService themeService, JwtService jwtService) {
+    public ThemeController(ThemeService themeService, JwtService jwtService, ContentVersionService contentVersions) {
         this.themeService = themeService;
         this.jwtService = jwtService;
+        this.contentVersions = contentVersions;
     }
 
-    @Operation(summary = "Get all themes", description = "Retrieves a list of all available themes")
+    @Operation(summary = "Get all themes", description = "Retrieves a list of all available themes, with their number of subscribers and whether the current user follows them")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved list of themes",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(type = "array", implementation = ThemesRecord.class))),
+            @ApiResponse(responseCode = "304", description = "The themes did not change"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping
-    public ResponseEntity<ThemesRecord> getAllThemes() {
+    public ResponseEntity<ThemesRecord> getAllThemes(WebRequest request) {
         try {
-            List<Theme> themes = themeService.getAllThemes();
+            ContentVersionService.Validator validator = contentVersions.catalogValidator(request.getRemoteUser());
+            if (request.checkNotModified(validator.eTag(), validator.lastModified())) {
+                logger.debug("Themes not modified");
+                return null;
+            }
+            List<ThemeItem> themes = themeService.getAllThemes(jwtService.getAuthenticatedUser().id());
             logger.info("Retrieved {} themes", themes.size());
-            return ResponseEntity.ok(new ThemesRecord(themes));
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .varyBy(HttpHeaders.AUTHORIZATION)
+                    .eTag(validator.eTag())
+                    .lastModified(validator.lastModified())
+                    .body(new ThemesRecord(themes));
         } catch (Exception e) {
             logger.error("Error retrieving all themes", e);
             throw new RuntimeException("An unexpected error occurred while retrieving themes", e);
@@ -66,7 +85,7 @@ public class ThemeController {
     @PostMapping("/subscribe/{themeId}")
     public ResponseEntity subscribe(@Valid @PathVariable Long themeId) {
         try {
-            User currentUser = jwtService.getCurrentUser();
+            AuthenticatedUser currentUser = jwtService.getAuthenticatedUser();
             themeService.subscribe(themeId, currentUser);
             logger.info("Subscribed successfully");
             return ResponseEntity.ok().build();
@@ -84,7 +103,7 @@ public class ThemeController {
     @PostMapping("/unsubscribe/{themeId}")
     public ResponseEntity unsubscribe(@Valid @PathVariable Long themeId) {
         try {
-            User currentUser = jwtService.getCurrentUser();
+            AuthenticatedUser currentUser = jwtService.getAuthenticatedUser();
             themeService.unsubscribe(themeId, currentUser);
             logger.info("Unsubscribed successfully");
             return ResponseEntity.ok().build();
@@ -94,6 +113,26 @@ public class ThemeController {
         }
     }
 
-    public record ThemesRecord(List<Theme> themes) {}
+    @Operation(summary = "Updates the subscriptions", description = "Replaces the subscriptions of the current user with the given themes, or adds and removes some of them, in a single transaction")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully updated the subscriptions",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = SubscriptionSet.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PutMapping("/subscriptions")
+    public ResponseEntity<SubscriptionSet> updateSubscriptions(@Valid @RequestBody SubscriptionsUpdate update) {
+        try {
+            AuthenticatedUser currentUser = jwtService.getAuthenticatedUser();
+            List<Long> themeIds = themeService.updateSubscriptions(update, currentUser);
+            logger.info("Updated subscriptions, now following {} themes", themeIds.size());
+            return ResponseEntity.ok(new SubscriptionSet(themeIds));
+        } catch (Exception e) {
+            logger.error("Error updating subscriptions", e);
+            throw new RuntimeException("An unexpected error occurred while updating subscriptions", e);
+        }
+    }
+
+    public record ThemesRecord(List<ThemeItem> themes) {}
 }
 
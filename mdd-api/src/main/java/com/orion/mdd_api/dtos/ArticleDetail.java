@@ -0,0 +1,8 @@
+package com.orion.mdd_api.dtos;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record ArticleDetail(Long id, String titre, String theme, String auteur, LocalDateTime date, String contenu,
+                            List<CommentaireItem> commentaires, long nombreCommentaires, String nextCursor) {
+}
@@ -0,0 +1,6 @@
+package com.orion.mdd_api.dtos;
+
+import java.time.LocalDateTime;
+
+public record ArticleExport(Long id, String titre, String theme, String auteur, LocalDateTime date, String contenu) {
+}
@@ -0,0 +1,9 @@
+package com.orion.mdd_api.dtos;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when an article is added, and pushed as is to the live feed of the subscribers of its theme.
+ */
+public record ArticleNotification(Long id, Long themeId, String titre, String theme, String auteur, LocalDateTime date) {
+}
@@ -0,0 +1,7 @@
+package com.orion.mdd_api.dtos;
+
+/**
+ * Identity of the authenticated user, read from the claims of their token without reaching the database.
+ */
+public record AuthenticatedUser(Long id, String name, String email) {
+}
@@ -0,0 +1,6 @@
+package com.orion.mdd_api.dtos;
+
+import java.time.LocalDateTime;
+
+public record CommentaireItem(Long id, String contenu, String auteur, LocalDateTime date) {
+}
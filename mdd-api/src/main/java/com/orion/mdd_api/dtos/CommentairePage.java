@@ -0,0 +1,6 @@
+package com.orion.mdd_api.dtos;
+
+import java.util.List;
+
+public record CommentairePage(List<CommentaireItem> commentaires, String nextCursor) {
+}
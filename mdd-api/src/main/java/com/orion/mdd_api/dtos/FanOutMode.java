@@ -0,0 +1,10 @@
+package com.orion.mdd_api.dtos;
+
+import java.time.LocalDateTime;
+
+/**
+ * How the articles of a theme reach its subscribers: pushed to their timelines, or pulled from the theme index
+ * at read time. {@code pushedSince} is set when a pulled theme is pushed again, older articles are still pulled.
+ */
+public record FanOutMode(Long themeId, boolean pulled, LocalDateTime pushedSince) {
+}
@@ -0,0 +1,6 @@
+package com.orion.mdd_api.dtos;
+
+import java.time.LocalDateTime;
+
+public record FeedEntry(Long articleId, Long themeId, LocalDateTime date) {
+}
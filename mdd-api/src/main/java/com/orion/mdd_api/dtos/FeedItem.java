@@ -0,0 +1,7 @@
+package com.orion.mdd_api.dtos;
+
+import java.time.LocalDateTime;
+
+public record FeedItem(Long id, String titre, String extrait, String theme, String auteur, LocalDateTime date,
+                       int nombreCommentaires) {
+}
@@ -0,0 +1,6 @@
+package com.orion.mdd_api.dtos;
+
+import java.util.List;
+
+public record FeedPage(List<FeedItem> articles, String nextCursor) {
+}
@@ -0,0 +1,8 @@
+package com.orion.mdd_api.dtos;
+
+/**
+ * Short-lived ticket opening the live feed, passed as the {@code ticket} query parameter by clients that cannot
+ * send an Authorization header.
+ */
+public record LiveTicket(String ticket) {
+}
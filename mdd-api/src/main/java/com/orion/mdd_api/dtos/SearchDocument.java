@@ -0,0 +1,6 @@
+package com.orion.mdd_api.dtos;
+
+import java.time.LocalDateTime;
+
+public record SearchDocument(Long id, Long themeId, String titre, String contenu, LocalDateTime date) {
+}
@@ -0,0 +1,6 @@
+package com.orion.mdd_api.dtos;
+
+import java.util.List;
+
+public record SearchPage(List<FeedItem> articles, long total, int page, int size) {
+}
@@ -0,0 +1,4 @@
+package com.orion.mdd_api.dtos;
+
+public record Subscription(Long themeId, Long userId) {
+}
@@ -0,0 +1,10 @@
+package com.orion.mdd_api.dtos;
+
+import java.util.Set;
+
+/**
+ * Change of the subscriptions of a user: either the full set of theme ids to follow,
+ * or the theme ids to add and to remove.
+ */
+public record SubscriptionsUpdate(Set<Long> themeIds, Set<Long> add, Set<Long> remove) {
+}
@@ -0,0 +1,4 @@
+package com.orion.mdd_api.dtos;
+
+public record ThemeSummary(Long id, String titre, String description) {
+}
@@ -0,0 +1,10 @@
+package com.orion.mdd_api.dtos;
+
+import java.time.LocalDateTime;
+
+/**
+ * Oldest row of one theme in a user's timeline. Articles of the theme published before it were not copied
+ * to the timeline and are pulled from the theme index instead.
+ */
+public record TimelineHorizon(Long themeId, LocalDateTime date) {
+}
@@ -11,8 +11,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "ARTICLES")
+@Table(name = "ARTICLES", indexes = {
+        @Index(name = "idx_articles_theme_updated_id", columnList = "theme_id, updated_at, id")
+})
 public class Article {
+    public static final int EXTRAIT_LENGTH = 200;
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,8 +34,13 @@ public class Article {
     private User auteur;
 
     @Lob
+    @Basic(fetch = FetchType.LAZY)
     private String contenu;
 
+    @JsonIgnore
+    @Column(length = EXTRAIT_LENGTH + 1)
+    private String extrait;
+
     @OneToMany(mappedBy = "article", cascade = CascadeType.ALL)
     private List<Commentaire> commentaires;
 
@@ -53,10 +61,25 @@ public class Article {
         this.commentaires = new ArrayList<>();
         this.titre = titre;
         this.contenu = contenu;
+        this.extrait = extraitOf(contenu);
         this.auteur = user;
         this.theme = theme;
     }
 
+    /**
+     * Builds the snippet shown in feeds: the start of the content, cut on a word boundary.
+     *
+     * @param contenu The full content of the article.
+     * @return At most {@value #EXTRAIT_LENGTH} characters of the content, followed by an ellipsis when it was cut.
+     */
+    public static String extraitOf(String contenu) {
+        if (contenu == null || contenu.length() <= EXTRAIT_LENGTH) {
+            return contenu;
+        }
+        int end = contenu.lastIndexOf(' ', EXTRAIT_LENGTH);
+        return contenu.substring(0, end > 0 ? end : EXTRAIT_LENGTH).stripTrailing() + "…";
+    }
+
     @JsonProperty("theme")
     public String getThemeTitle() {
         return theme.getTitre();
@@ -109,6 +132,15 @@ public class Article {
 
     public void setContenu(String contenu) {
         this.contenu = contenu;
+        this.extrait = extraitOf(contenu);
+    }
+
+    public String getExtrait() {
+        return extrait;
+    }
+
+    public void setExtrait(String extrait) {
+        this.extrait = extrait;
     }
 
     public List<Commentaire> getCommentaires() {
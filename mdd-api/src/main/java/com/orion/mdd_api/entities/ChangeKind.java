@@ -0,0 +1,17 @@
+package com.orion.mdd_api.entities;
+
+/**
+ * What a {@link ChangeLogEntry} records, and what its entity id refers to.
+ */
+public enum ChangeKind {
+    /** An article was published; the entity is the article. */
+    ARTICLE_PUBLISHED,
+    /** An article was commented; the entity is the article. */
+    ARTICLE_COMMENTED,
+    /** A user subscribed to a theme; the entity is the user. */
+    THEME_SUBSCRIBED,
+    /** A user unsubscribed from a theme; the entity is the user. */
+    THEME_UNSUBSCRIBED,
+    /** A user changed their name or email; the entity is the user. */
+    USER_UPDATED
+}
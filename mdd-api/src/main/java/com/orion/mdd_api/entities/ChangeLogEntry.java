@@ -0,0 +1,95 @@
+package com.orion.mdd_api.entities;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change committed by one node, written in the transaction of the change itself, so that the other nodes
+ * can drop what it makes stale from their in-memory caches. Rows are read in id order and only hold ids.
+ */
+@Entity
+@Table(name = "CHANGE_LOG", indexes = {
+        @Index(name = "idx_change_log_occurred", columnList = "occurred_at")
+})
+public class ChangeLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private ChangeKind kind;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "theme_id")
+    private Long themeId;
+
+    @Column(nullable = false, length = 36)
+    private String origin;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    public ChangeLogEntry() {
+    }
+
+    public ChangeLogEntry(ChangeKind kind, Long entityId, Long themeId, String origin, LocalDateTime occurredAt) {
+        this.kind = kind;
+        this.entityId = entityId;
+        this.themeId = themeId;
+        this.origin = origin;
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public ChangeKind getKind() {
+        return kind;
+    }
+
+    public void setKind(ChangeKind kind) {
+        this.kind = kind;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public Long getThemeId() {
+        return themeId;
+    }
+
+    public void setThemeId(Long themeId) {
+        this.themeId = themeId;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
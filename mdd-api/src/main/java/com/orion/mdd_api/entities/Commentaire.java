@@ -9,7 +9,9 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "COMMENTAIRES")
+@Table(name = "COMMENTAIRES", indexes = {
+        @Index(name = "idx_commentaires_article_created_id", columnList = "article_id, created_at, id")
+})
 public class Commentaire {
 
     @Id
@@ -0,0 +1,70 @@
+package com.orion.mdd_api.entities;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "COUNTERS", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_counters_kind_entity", columnNames = {"kind", "entity_id"})
+})
+public class Counter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private CounterKind kind;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(nullable = false)
+    private long total;
+
+    public Counter(CounterKind kind, Long entityId, long total) {
+        this.kind = kind;
+        this.entityId = entityId;
+        this.total = total;
+    }
+
+    public Counter() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public CounterKind getKind() {
+        return kind;
+    }
+
+    public void setKind(CounterKind kind) {
+        this.kind = kind;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    /**
+     * Identifies a counter: what it counts and for which entity.
+     */
+    public record Key(CounterKind kind, Long entityId) {
+    }
+}
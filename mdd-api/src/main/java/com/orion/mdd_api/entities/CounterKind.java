@@ -0,0 +1,13 @@
+package com.orion.mdd_api.entities;
+
+/**
+ * What a {@link Counter} counts, and for which kind of entity.
+ */
+public enum CounterKind {
+    /** Comments of an article. */
+    ARTICLE_COMMENTS,
+    /** Articles published in a theme. */
+    THEME_ARTICLES,
+    /** Users subscribed to a theme. */
+    THEME_SUBSCRIBERS
+}
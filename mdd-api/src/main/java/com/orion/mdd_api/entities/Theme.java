@@ -1,7 +1,6 @@
 package com.orion.mdd_api.entities;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -29,6 +28,16 @@ public class Theme {
     @OneToMany(mappedBy = "theme", cascade = CascadeType.PERSIST)
     private List<Article> articles;
 
+    // Whether new articles are left in the theme index instead of being pushed to the subscribers' timelines
+    @JsonIgnore
+    @Column(name = "fanout_pulled")
+    private Boolean fanOutPulled = false;
+
+    // When the theme was last switched back to push, articles published before are not all in the timelines
+    @JsonIgnore
+    @Column(name = "pushed_since")
+    private LocalDateTime pushedSince;
+
     @JsonIgnore
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
@@ -44,11 +53,6 @@ public class Theme {
         this.articles = new ArrayList<>();
     }
 
-    @JsonProperty("abonnes")
-    public List<Long> getAbonnesIds() {
-        return abonnes.stream().map(User::getId).toList();
-    }
-
     public void addArticle(Article article) {
         articles.add(article);
     }
@@ -93,6 +97,22 @@ public class Theme {
         this.articles = articles;
     }
 
+    public Boolean getFanOutPulled() {
+        return fanOutPulled;
+    }
+
+    public void setFanOutPulled(Boolean fanOutPulled) {
+        this.fanOutPulled = fanOutPulled;
+    }
+
+    public LocalDateTime getPushedSince() {
+        return pushedSince;
+    }
+
+    public void setPushedSince(LocalDateTime pushedSince) {
+        this.pushedSince = pushedSince;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -108,12 +128,4 @@ public class Theme {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-
-    public void addSubscriber(User currentUser) {
-        abonnes.add(currentUser);
-    }
-
-    public void removeSubscriber(User currentUser) {
-        abonnes.remove(currentUser);
-    }
 }
@@ -0,0 +1,87 @@
+package com.orion.mdd_api.entities;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Materialized feed row: one article pushed to the timeline of one subscriber.
+ * Rows only hold ids so that writing and reading a timeline never loads users, themes or articles.
+ */
+@Entity
+@Table(name = "TIMELINE",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_timeline_user_article", columnNames = {"user_id", "article_id"})
+        },
+        indexes = {
+                @Index(name = "idx_timeline_user_published", columnList = "user_id, published_at, article_id"),
+                @Index(name = "idx_timeline_user_theme_published", columnList = "user_id, theme_id, published_at")
+        })
+public class TimelineEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "article_id", nullable = false)
+    private Long articleId;
+
+    @Column(name = "theme_id", nullable = false)
+    private Long themeId;
+
+    @Column(name = "published_at", nullable = false)
+    private LocalDateTime publishedAt;
+
+    public TimelineEntry() {
+    }
+
+    public TimelineEntry(Long userId, Long articleId, Long themeId, LocalDateTime publishedAt) {
+        this.userId = userId;
+        this.articleId = articleId;
+        this.themeId = themeId;
+        this.publishedAt = publishedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getArticleId() {
+        return articleId;
+    }
+
+    public void setArticleId(Long articleId) {
+        this.articleId = articleId;
+    }
+
+    public Long getThemeId() {
+        return themeId;
+    }
+
+    public void setThemeId(Long themeId) {
+        this.themeId = themeId;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    public void setPublishedAt(LocalDateTime publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+}
@@ -36,7 +36,8 @@ public class User {
     @JoinTable(
             name = "user_theme",
             joinColumns = @JoinColumn(name = "user_id"),
-            inverseJoinColumns = @JoinColumn(name = "theme_id"))
+            inverseJoinColumns = @JoinColumn(name = "theme_id"),
+            uniqueConstraints = @UniqueConstraint(name = "uk_user_theme_user_theme", columnNames = {"user_id", "theme_id"}))
     private List<Theme> abonnements;
 
     @CreationTimestamp
@@ -141,12 +142,4 @@ public class User {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-
-    public void addTheme(Theme theme) {
-        abonnements.add(theme);
-    }
-
-    public void removeTheme(Theme theme) {
-        abonnements.remove(theme);
-    }
 }
\ No newline at end of file
@@ -1,13 +1,99 @@
 package com.orion.mdd_api.repositories;
 
+import com.orion.mdd_api.dtos.ArticleExport;
+import com.orion.mdd_api.dtos.ArticleNotification;
+import com.orion.mdd_api.dtos.ArticleSummary;
+import com.orion.mdd_api.dtos.FeedEntry;
+import com.orion.mdd_api.dtos.FeedItem;
+import com.orion.mdd_api.dtos.SearchDocument;
 import com.orion.mdd_api.entities.Article;
-import com.orion.mdd_api.entities.Theme;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ArticleRepository extends JpaRepository<Article, Long> {
-    public List<Article> findByThemeIn(List<Theme> themes);
+    @Query("""
+            select new com.orion.mdd_api.dtos.FeedItem(a.id, a.titre,
+                                                        coalesce(a.extrait, substring(cast(a.contenu as String), 1, 200)),
+                                                        t.titre, u.name, a.updatedAt, size(a.commentaires))
+            from Article a join a.theme t join a.auteur u
+            where a.id in :ids""")
+    public List<FeedItem> findFeedItems(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select new com.orion.mdd_api.dtos.ArticleSummary(a.id, a.titre, t.titre, u.name, a.updatedAt,
+                                                              coalesce(a.extrait, substring(cast(a.contenu as String), 1, 200)))
+            from Article a join a.theme t join a.auteur u
+            where a.id in :ids""")
+    public List<ArticleSummary> findSummaries(@Param("ids") Collection<Long> ids);
+
+    // One theme per query on purpose: with an equality on theme_id, EXPLAIN shows a backward range scan of
+    // idx_articles_theme_updated_id that stops after the limit. With "theme_id in (...)" over several themes,
+    // MySQL reads every matching row and adds "Using filesort", so feeds read one page per theme and merge them.
+    @Query("""
+            select new com.orion.mdd_api.dtos.FeedEntry(a.id, a.theme.id, a.updatedAt) from Article a
+            where a.theme.id = :themeId
+            order by a.updatedAt desc, a.id desc""")
+    public List<FeedEntry> findRecentByTheme(@Param("themeId") Long themeId, Limit limit);
+
+    @Query("""
+            select new com.orion.mdd_api.dtos.FeedEntry(a.id, a.theme.id, a.updatedAt) from Article a
+            where a.theme.id = :themeId
+              and (a.updatedAt < :date or (a.updatedAt = :date and a.id < :id))
+            order by a.updatedAt desc, a.id desc""")
+    public List<FeedEntry> findRecentByThemeAfter(@Param("themeId") Long themeId,
+                                                  @Param("date") LocalDateTime date,
+                                                  @Param("id") Long id,
+                                                  Limit limit);
+
+    @Query("""
+            select new com.orion.mdd_api.dtos.FeedEntry(a.id, a.theme.id, a.createdAt) from Article a
+            where a.createdAt >= :since""")
+    public List<FeedEntry> findPublishedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Streams every article of the themes a user is subscribed to, newest first.
+     * Rows are fetched from a server-side cursor in chunks of the fetch size; the stream must be consumed
+     * and closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new com.orion.mdd_api.dtos.ArticleExport(a.id, a.titre, t.titre, u.name, a.updatedAt, a.contenu)
+            from Article a join a.theme t join a.auteur u
+            where t.id in (select s.id from Theme s join s.abonnes abonne where abonne.id = :userId)
+            order by a.updatedAt desc, a.id desc""")
+    public Stream<ArticleExport> streamExportBySubscriber(@Param("userId") Long userId);
+
+    /**
+     * Streams every article as a search index document, in id order, from a server-side cursor.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new com.orion.mdd_api.dtos.SearchDocument(a.id, a.theme.id, a.titre, a.contenu, a.updatedAt)
+            from Article a
+            order by a.id""")
+    public Stream<SearchDocument> streamSearchDocuments();
+
+    @Query("""
+            select new com.orion.mdd_api.dtos.SearchDocument(a.id, a.theme.id, a.titre, a.contenu, a.updatedAt)
+            from Article a
+            where a.id in :ids""")
+    public List<SearchDocument> findSearchDocuments(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select new com.orion.mdd_api.dtos.ArticleNotification(a.id, t.id, a.titre, t.titre, u.name, a.updatedAt)
+            from Article a join a.theme t join a.auteur u
+            where a.id in :ids""")
+    public List<ArticleNotification> findNotifications(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,36 @@
+package com.orion.mdd_api.repositories;
+
+import com.orion.mdd_api.entities.ChangeLogEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    @Query("select max(c.id) from ChangeLogEntry c")
+    public Optional<Long> findLastId();
+
+    @Query("select c.id from ChangeLogEntry c where c.id > :after")
+    public List<Long> findIdsAfter(@Param("after") Long after);
+
+    @Query("select c from ChangeLogEntry c where c.id > :after order by c.id")
+    public List<ChangeLogEntry> findAfter(@Param("after") Long after, Limit limit);
+
+    @Query("select c from ChangeLogEntry c where c.id > :after or c.id in :ids order by c.id")
+    public List<ChangeLogEntry> findAfterOrIn(@Param("after") Long after, @Param("ids") Collection<Long> ids, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("delete from ChangeLogEntry c where c.occurredAt < :before")
+    public int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -1,9 +1,39 @@
 package com.orion.mdd_api.repositories;
 
+import com.orion.mdd_api.dtos.CommentaireItem;
+import com.orion.mdd_api.dtos.FeedEntry;
 import com.orion.mdd_api.entities.Commentaire;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface CommentaireRepository extends JpaRepository<Commentaire, Long> {
-}
\ No newline at end of file
+
+    @Query("""
+            select new com.orion.mdd_api.dtos.CommentaireItem(c.id, c.contenu, u.name, c.createdAt)
+            from Commentaire c join c.auteur u
+            where c.article.id = :articleId
+            order by c.createdAt, c.id""")
+    public List<CommentaireItem> findPage(@Param("articleId") Long articleId, Limit limit);
+
+    @Query("""
+            select new com.orion.mdd_api.dtos.CommentaireItem(c.id, c.contenu, u.name, c.createdAt)
+            from Commentaire c join c.auteur u
+            where c.article.id = :articleId
+              and (c.createdAt > :date or (c.createdAt = :date and c.id > :id))
+            order by c.createdAt, c.id""")
+    public List<CommentaireItem> findPageAfter(@Param("articleId") Long articleId, @Param("date") LocalDateTime date,
+                                               @Param("id") Long id, Limit limit);
+
+    @Query("""
+            select new com.orion.mdd_api.dtos.FeedEntry(a.id, a.theme.id, c.createdAt)
+            from Commentaire c join c.article a
+            where c.createdAt >= :since""")
+    public List<FeedEntry> findPostedSince(@Param("since") LocalDateTime since);
+}
@@ -0,0 +1,47 @@
+package com.orion.mdd_api.repositories;
+
+import com.orion.mdd_api.entities.Counter;
+import com.orion.mdd_api.entities.CounterKind;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CounterRepository extends JpaRepository<Counter, Long>, CounterRepositoryCustom {
+
+    @Query("select c.total from Counter c where c.kind = :kind and c.entityId = :entityId")
+    public Optional<Long> findTotal(@Param("kind") CounterKind kind, @Param("entityId") Long entityId);
+
+    public List<Counter> findByKindAndEntityIdIn(CounterKind kind, Collection<Long> entityIds);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert ignore into counters (kind, entity_id, total)
+            select 'ARTICLE_COMMENTS', c.article_id, count(*) from commentaires c group by c.article_id""",
+            nativeQuery = true)
+    public int seedArticleComments();
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert ignore into counters (kind, entity_id, total)
+            select 'THEME_ARTICLES', a.theme_id, count(*) from articles a group by a.theme_id""",
+            nativeQuery = true)
+    public int seedThemeArticles();
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert ignore into counters (kind, entity_id, total)
+            select 'THEME_SUBSCRIBERS', ut.theme_id, count(*) from user_theme ut group by ut.theme_id""",
+            nativeQuery = true)
+    public int seedThemeSubscribers();
+}
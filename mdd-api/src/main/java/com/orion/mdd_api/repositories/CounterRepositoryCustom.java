@@ -0,0 +1,15 @@
+package com.orion.mdd_api.repositories;
+
+import com.orion.mdd_api.entities.Counter;
+
+import java.util.Map;
+
+public interface CounterRepositoryCustom {
+
+    /**
+     * Adds deltas to their counters in JDBC batches, creating the counters that do not exist yet.
+     *
+     * @param deltas The amount to add to each counter, negative to subtract.
+     */
+    void addAll(Map<Counter.Key, Long> deltas);
+}
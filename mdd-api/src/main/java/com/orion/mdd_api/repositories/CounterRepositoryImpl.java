@@ -0,0 +1,33 @@
+package com.orion.mdd_api.repositories;
+
+import com.orion.mdd_api.entities.Counter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+public class CounterRepositoryImpl implements CounterRepositoryCustom {
+    private static final String UPSERT = """
+            insert into counters (kind, entity_id, total) values (?, ?, ?)
+            on duplicate key update total = total + ?""";
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CounterRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void addAll(Map<Counter.Key, Long> deltas) {
+        List<Map.Entry<Counter.Key, Long>> entries = List.copyOf(deltas.entrySet());
+        jdbcTemplate.batchUpdate(UPSERT, entries, BATCH_SIZE, (statement, entry) -> {
+            statement.setString(1, entry.getKey().kind().name());
+            statement.setLong(2, entry.getKey().entityId());
+            statement.setLong(3, entry.getValue());
+            statement.setLong(4, entry.getValue());
+        });
+    }
+}
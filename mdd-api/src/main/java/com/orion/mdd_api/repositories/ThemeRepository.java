@@ -1,15 +1,67 @@
 package com.orion.mdd_api.repositories;
 
+import com.orion.mdd_api.dtos.FanOutMode;
+import com.orion.mdd_api.dtos.Subscription;
+import com.orion.mdd_api.dtos.ThemeSummary;
 import com.orion.mdd_api.entities.Theme;
-import com.orion.mdd_api.entities.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public interface ThemeRepository extends JpaRepository<Theme, Long> {
-    public Optional<Theme> findByTitre(String titre);
-    public List<Theme> findByAbonnesContains(User user);
+    @Query("select t.id from Theme t")
+    public List<Long> findAllIds();
+
+    @Query("select new com.orion.mdd_api.dtos.ThemeSummary(t.id, t.titre, t.description) from Theme t order by t.id")
+    public List<ThemeSummary> findSummaries();
+
+    @Query("select new com.orion.mdd_api.dtos.Subscription(t.id, u.id) from Theme t join t.abonnes u")
+    public List<Subscription> findAllSubscriptions();
+
+    @Query("""
+            select new com.orion.mdd_api.dtos.FanOutMode(t.id, coalesce(t.fanOutPulled, false), t.pushedSince) from Theme t
+            where t.id in :themeIds""")
+    public List<FanOutMode> findFanOutModes(@Param("themeIds") Collection<Long> themeIds);
+
+    @Query("select t.id from Theme t where t.fanOutPulled is null")
+    public List<Long> findIdsWithoutFanOutMode();
+
+    // Conditional, so that when several writers switch the same theme only the first one changes it
+    @Transactional
+    @Modifying
+    @Query("""
+            update Theme t set t.fanOutPulled = :pulled, t.pushedSince = :pushedSince
+            where t.id = :themeId and (t.fanOutPulled is null or t.fanOutPulled <> :pulled)""")
+    public int switchFanOut(@Param("themeId") Long themeId,
+                            @Param("pulled") boolean pulled,
+                            @Param("pushedSince") LocalDateTime pushedSince);
+
+    @Modifying
+    @Query(value = "insert ignore into user_theme (user_id, theme_id) values (:userId, :themeId)", nativeQuery = true)
+    public int insertSubscription(@Param("userId") Long userId, @Param("themeId") Long themeId);
+
+    @Modifying
+    @Query(value = "delete from user_theme where user_id = :userId and theme_id = :themeId", nativeQuery = true)
+    public int deleteSubscription(@Param("userId") Long userId, @Param("themeId") Long themeId);
+
+    @Query(value = "select theme_id from user_theme where user_id = :userId for update", nativeQuery = true)
+    public List<Long> lockSubscriptions(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = """
+            insert ignore into user_theme (user_id, theme_id)
+            select :userId, t.id from themes t where t.id in :themeIds""", nativeQuery = true)
+    public int insertSubscriptions(@Param("userId") Long userId, @Param("themeIds") Collection<Long> themeIds);
+
+    @Modifying
+    @Query(value = "delete from user_theme where user_id = :userId and theme_id in :themeIds", nativeQuery = true)
+    public int deleteSubscriptions(@Param("userId") Long userId, @Param("themeIds") Collection<Long> themeIds);
 }
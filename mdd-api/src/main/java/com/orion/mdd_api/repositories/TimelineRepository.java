@@ -0,0 +1,88 @@
+package com.orion.mdd_api.repositories;
+
+import com.orion.mdd_api.dtos.FeedEntry;
+import com.orion.mdd_api.dtos.TimelineHorizon;
+import com.orion.mdd_api.entities.TimelineEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TimelineRepository extends JpaRepository<TimelineEntry, Long> {
+
+    @Modifying
+    @Query(value = """
+            insert ignore into timeline (user_id, article_id, theme_id, published_at)
+            select ut.user_id, :articleId, :themeId, :publishedAt
+            from user_theme ut
+            where ut.theme_id = :themeId""", nativeQuery = true)
+    public int fanOut(@Param("articleId") Long articleId,
+                      @Param("themeId") Long themeId,
+                      @Param("publishedAt") LocalDateTime publishedAt);
+
+    // Only the newest articles of the theme are copied, older ones are pulled below the horizon at read time
+    @Modifying
+    @Query(value = """
+            insert ignore into timeline (user_id, article_id, theme_id, published_at)
+            select :userId, a.id, a.theme_id, a.updated_at
+            from articles a
+            where a.theme_id = :themeId
+            order by a.updated_at desc, a.id desc
+            limit :limit""", nativeQuery = true)
+    public int backfill(@Param("userId") Long userId, @Param("themeId") Long themeId, @Param("limit") int limit);
+
+    @Modifying
+    @Query("delete from TimelineEntry t where t.userId = :userId and t.themeId in :themeIds")
+    public int prune(@Param("userId") Long userId, @Param("themeIds") Collection<Long> themeIds);
+
+    @Query("""
+            select new com.orion.mdd_api.dtos.TimelineHorizon(t.themeId, min(t.publishedAt)) from TimelineEntry t
+            where t.userId = :userId
+              and t.themeId in :themeIds
+            group by t.themeId""")
+    public List<TimelineHorizon> findHorizons(@Param("userId") Long userId, @Param("themeIds") Collection<Long> themeIds);
+
+    @Query("""
+            select new com.orion.mdd_api.dtos.FeedEntry(t.articleId, t.themeId, t.publishedAt) from TimelineEntry t
+            where t.userId = :userId
+            order by t.publishedAt desc, t.articleId desc""")
+    public List<FeedEntry> findPage(@Param("userId") Long userId, Limit limit);
+
+    @Query("""
+            select new com.orion.mdd_api.dtos.FeedEntry(t.articleId, t.themeId, t.publishedAt) from TimelineEntry t
+            where t.userId = :userId
+              and (t.publishedAt < :date or (t.publishedAt = :date and t.articleId < :id))
+            order by t.publishedAt desc, t.articleId desc""")
+    public List<FeedEntry> findPageAfter(@Param("userId") Long userId,
+                                         @Param("date") LocalDateTime date,
+                                         @Param("id") Long id,
+                                         Limit limit);
+
+    @Query("""
+            select new com.orion.mdd_api.dtos.FeedEntry(t.articleId, t.themeId, t.publishedAt) from TimelineEntry t
+            where t.userId = :userId
+              and t.themeId not in :excludedThemeIds
+            order by t.publishedAt desc, t.articleId desc""")
+    public List<FeedEntry> findPageExcluding(@Param("userId") Long userId,
+                                             @Param("excludedThemeIds") List<Long> excludedThemeIds,
+                                             Limit limit);
+
+    @Query("""
+            select new com.orion.mdd_api.dtos.FeedEntry(t.articleId, t.themeId, t.publishedAt) from TimelineEntry t
+            where t.userId = :userId
+              and t.themeId not in :excludedThemeIds
+              and (t.publishedAt < :date or (t.publishedAt = :date and t.articleId < :id))
+            order by t.publishedAt desc, t.articleId desc""")
+    public List<FeedEntry> findPageAfterExcluding(@Param("userId") Long userId,
+                                                  @Param("excludedThemeIds") List<Long> excludedThemeIds,
+                                                  @Param("date") LocalDateTime date,
+                                                  @Param("id") Long id,
+                                                  Limit limit);
+}
@@ -0,0 +1,118 @@
+package com.orion.mdd_api.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.orion.mdd_api.dtos.ArticleDetail;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of article details already serialized to JSON, and gzipped when they are large enough for it to pay off.
+ * Entries are keyed by article id and content version: a request for a newer version misses and replaces the entry,
+ * so a stale document is never served. Beyond {@code articles.json-cache.capacity} entries, the articles read the
+ * least often are dropped, and no entry is kept longer than {@code articles.json-cache.ttl}.
+ * Hits, misses and evictions are exported as the {@code cache.*} metrics of the {@value #CACHE_NAME} cache.
+ */
+@Component
+public class ArticleJsonCache {
+    private static final Logger logger = LoggerFactory.getLogger(ArticleJsonCache.class);
+    static final String CACHE_NAME = "articles.json";
+
+    private final ObjectMapper objectMapper;
+    private final int gzipMinBytes;
+    private final Cache<Long, ArticleJson> entries;
+
+    public ArticleJsonCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                            @Value("${articles.json-cache.capacity}") int capacity,
+                            @Value("${articles.json-cache.ttl}") Duration ttl,
+                            @Value("${articles.json-cache.gzip-min-bytes}") int gzipMinBytes) {
+        this.objectMapper = objectMapper;
+        this.gzipMinBytes = gzipMinBytes;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(capacity)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, CACHE_NAME);
+    }
+
+    /**
+     * Retrieves the serialized detail of an article, loading and serializing it when the cache holds no entry
+     * for this version. Concurrent misses on the same article load it once. The version must be read before
+     * the detail is loaded, so that a change committed in between leaves an entry older than the content
+     * rather than the other way round.
+     *
+     * @param articleId The ID of the article.
+     * @param version The current content version of the article.
+     * @param loader Loads the detail of the article on a miss.
+     * @return The serialized detail of the article.
+     */
+    public ArticleJson get(Long articleId, long version, Supplier<ArticleDetail> loader) {
+        ArticleJson cached = entries.get(articleId, id -> load(id, version, loader));
+        if (cached.version() == version) {
+            return cached;
+        }
+        ArticleJson loaded = load(articleId, version, loader);
+        entries.asMap().merge(articleId, loaded, (current, candidate) -> current.version() >= candidate.version() ? current : candidate);
+        return loaded;
+    }
+
+    /**
+     * Drops the entry of an article once the current transaction commits.
+     *
+     * @param articleId The ID of the changed article.
+     */
+    public void evict(Long articleId) {
+        TransactionHooks.afterCommit(() -> entries.invalidate(articleId));
+    }
+
+    public long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    private ArticleJson load(Long articleId, long version, Supplier<ArticleDetail> loader) {
+        ArticleJson loaded = serialize(version, loader.get());
+        logger.debug("Cached article id: {} version: {}, {} bytes", articleId, version, loaded.json().length);
+        return loaded;
+    }
+
+    private ArticleJson serialize(long version, ArticleDetail detail) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(detail);
+            return new ArticleJson(version, json, json.length >= gzipMinBytes ? gzip(json) : null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to serialize article id: " + detail.id(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        }
+        return compressed.size() < json.length ? compressed.toByteArray() : null;
+    }
+
+    /**
+     * Serialized article detail, with its gzipped form when it is smaller.
+     *
+     * @param version The content version the document was built from.
+     * @param json The UTF-8 JSON document.
+     * @param gzip The gzipped JSON document, null when the document is not compressed.
+     */
+    public record ArticleJson(long version, byte[] json, byte[] gzip) {
+    }
+}
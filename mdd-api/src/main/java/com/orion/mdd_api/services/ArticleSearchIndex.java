@@ -0,0 +1,241 @@
+package com.orion.mdd_api.services;
+
+import com.orion.mdd_api.dtos.SearchDocument;
+import com.orion.mdd_api.repositories.ArticleRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.fr.FrenchAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * On-disk full-text index of the article titles and contents.
+ * Articles are added to the index once their transaction commits and become searchable at the next refresh,
+ * every {@code search.refresh-interval-ms}. Changes are committed to disk every {@code search.commit-interval-ms};
+ * an index found out of step with the database at startup is rebuilt from it.
+ */
+@Component
+// The change log position is taken before loading, changes committed meanwhile are applied afterwards
+@DependsOn("changeLogPosition")
+public class ArticleSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(ArticleSearchIndex.class);
+    public static final int MAX_SEARCH_DEPTH = 1000;
+
+    static final String ID = "id";
+    static final String THEME = "theme";
+    static final String TITRE = "titre";
+    static final String CONTENU = "contenu";
+    static final String DATE = "date";
+    // A match in the title counts three times as much as a match in the content
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(TITRE, 3f, CONTENU, 1f);
+    // Best matches first, newest first among equally relevant articles
+    private static final Sort RANKING = new Sort(SortField.FIELD_SCORE, new SortField(DATE, SortField.Type.LONG, true));
+
+    private final ArticleRepository articleRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Analyzer analyzer = new FrenchAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public ArticleSearchIndex(ArticleRepository articleRepository, PlatformTransactionManager transactionManager,
+                              @Value("${search.index-dir}") Path indexDir) throws IOException {
+        this.articleRepository = articleRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writer = new IndexWriter(FSDirectory.open(indexDir), new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    /**
+     * Rebuilds the index when it does not hold as many articles as the database, before the application starts
+     * serving requests.
+     */
+    @PostConstruct
+    public void warmUp() {
+        long indexed = writer.getDocStats().numDocs;
+        long articles = articleRepository.count();
+        if (indexed != articles) {
+            logger.info("Search index holds {} of {} articles, rebuilding it", indexed, articles);
+            rebuild();
+        }
+    }
+
+    /**
+     * Replaces the content of the index with every article of the database.
+     */
+    public void rebuild() {
+        try {
+            writer.deleteAll();
+            Long written = readOnlyTransaction.execute(status -> {
+                try (Stream<SearchDocument> documents = articleRepository.streamSearchDocuments()) {
+                    long count = 0;
+                    for (Iterator<SearchDocument> it = documents.iterator(); it.hasNext(); count++) {
+                        writer.addDocument(toDocument(it.next()));
+                    }
+                    return count;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+            logger.info("Search index rebuilt with {} articles", written);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to rebuild the search index", e);
+        }
+    }
+
+    /**
+     * Adds or replaces an article in the index once the current transaction commits.
+     *
+     * @param document The searchable fields of the article.
+     */
+    public void index(SearchDocument document) {
+        TransactionHooks.afterCommit(() -> {
+            try {
+                writer.updateDocument(new Term(ID, document.id().toString()), toDocument(document));
+            } catch (IOException | RuntimeException e) {
+                // The article stays unsearchable until the next rebuild, the write itself succeeded
+                logger.error("Unable to index article id: {}", document.id(), e);
+            }
+        });
+    }
+
+    /**
+     * Searches the articles matching a text, best matches first.
+     * The text accepts quoted phrases, {@code -} to exclude a word and {@code *} as a suffix wildcard;
+     * every other word must match, in the title or the content.
+     *
+     * @param text The searched text.
+     * @param themeIds The themes to search in, every theme when empty.
+     * @param page The zero-based page number.
+     * @param size The page size.
+     * @return The ids of the articles of the page, in ranking order, and the total number of matches.
+     * @throws IllegalArgumentException if the page is deeper than {@value #MAX_SEARCH_DEPTH} results.
+     */
+    public Hits search(String text, Collection<Long> themeIds, int page, int size) {
+        int depth = (page + 1) * size;
+        if (page < 0 || depth > MAX_SEARCH_DEPTH) {
+            throw new IllegalArgumentException("Search pages are limited to the first " + MAX_SEARCH_DEPTH + " results");
+        }
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        BooleanQuery.Builder query = new BooleanQuery.Builder().add(parser.parse(text), BooleanClause.Occur.MUST);
+        if (!themeIds.isEmpty()) {
+            query.add(LongPoint.newSetQuery(THEME, themeIds), BooleanClause.Occur.FILTER);
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopFieldDocs top = searcher.search(query.build(), depth, RANKING, true);
+                List<Long> ids = new ArrayList<>(size);
+                for (int i = page * size; i < top.scoreDocs.length; i++) {
+                    ScoreDoc hit = top.scoreDocs[i];
+                    ids.add(Long.valueOf(searcher.storedFields().document(hit.doc, Set.of(ID)).get(ID)));
+                }
+                return new Hits(ids, top.totalHits.value);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to search the articles", e);
+        }
+    }
+
+    /**
+     * Makes the articles indexed since the last refresh searchable.
+     */
+    @Scheduled(fixedDelayString = "${search.refresh-interval-ms}")
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            logger.error("Unable to refresh the search index", e);
+        }
+    }
+
+    /**
+     * Writes the indexed articles to disk, so that a restart does not have to rebuild the index.
+     */
+    @Scheduled(fixedDelayString = "${search.commit-interval-ms}")
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            logger.error("Unable to commit the search index", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+
+    private static Document toDocument(SearchDocument article) {
+        Document document = new Document();
+        document.add(new StringField(ID, article.id().toString(), Field.Store.YES));
+        document.add(new LongPoint(THEME, article.themeId()));
+        // Lucene rejects null values, a missing title or content is indexed as empty
+        document.add(new TextField(TITRE, Objects.toString(article.titre(), ""), Field.Store.NO));
+        document.add(new TextField(CONTENU, Objects.toString(article.contenu(), ""), Field.Store.NO));
+        document.add(new NumericDocValuesField(DATE, toEpochMilli(article.date())));
+        return document;
+    }
+
+    private static long toEpochMilli(LocalDateTime date) {
+        return date == null ? 0 : date.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * One page of search results.
+     *
+     * @param ids The ids of the matching articles, best match first.
+     * @param total The number of matching articles, exact up to {@value #MAX_SEARCH_DEPTH}.
+     */
+    public record Hits(List<Long> ids, long total) {
+    }
+}
@@ -1,19 +1,44 @@
 package com.orion.mdd_api.services;
 
+import com.orion.mdd_api.dtos.ArticleBatch;
+import com.orion.mdd_api.dtos.ArticleDetail;
+import com.orion.mdd_api.dtos.ArticleNotification;
 import com.orion.mdd_api.dtos.ArticleRecord;
+import com.orion.mdd_api.dtos.ArticleSummary;
+import com.orion.mdd_api.dtos.AuthenticatedUser;
+import com.orion.mdd_api.dtos.CommentaireItem;
+import com.orion.mdd_api.dtos.CommentairePage;
 import com.orion.mdd_api.dtos.CommentaireRecord;
+import com.orion.mdd_api.dtos.FeedEntry;
+import com.orion.mdd_api.dtos.FeedItem;
+import com.orion.mdd_api.dtos.FeedPage;
+import com.orion.mdd_api.dtos.LiveTicket;
+import com.orion.mdd_api.dtos.PageCursor;
+import com.orion.mdd_api.dtos.SearchDocument;
+import com.orion.mdd_api.dtos.SearchPage;
+import com.orion.mdd_api.dtos.ThemeSummary;
 import com.orion.mdd_api.entities.Article;
 import com.orion.mdd_api.entities.Commentaire;
-import com.orion.mdd_api.entities.Theme;
-import com.orion.mdd_api.entities.User;
+import com.orion.mdd_api.entities.CounterKind;
 import com.orion.mdd_api.repositories.ArticleRepository;
 import com.orion.mdd_api.repositories.CommentaireRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service responsible for article-related operations.
@@ -22,16 +47,46 @@ import java.util.List;
 @Service
 public class ArticleService {
     private static final Logger logger = LoggerFactory.getLogger(ArticleService.class);
+    public static final int DEFAULT_COMMENTS_PAGE_SIZE = 20;
+    public static final int MAX_COMMENTS_PAGE_SIZE = 100;
+    public static final int MAX_SEARCH_PAGE_SIZE = 50;
+    public static final int MAX_BATCH_SIZE = 100;
     private final ArticleRepository articleRepository;
     private final ThemeService themeService;
     private final JwtService jwtService;
     private final CommentaireRepository commentaireRepository;
+    private final FeedService feedService;
+    private final CounterService counterService;
+    private final JsonStreamWriter jsonStreamWriter;
+    private final LiveFeedService liveFeedService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContentVersionService contentVersions;
+    private final ArticleJsonCache articleJsonCache;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final TrendingIndex trendingIndex;
+    private final ChangeLogService changeLogService;
 
-    public ArticleService(ArticleRepository articleRepository, ThemeService themeService, JwtService jwtService, CommentaireRepository commentaireRepository) {
+    public ArticleService(ArticleRepository articleRepository, ThemeService themeService, JwtService jwtService,
+                          CommentaireRepository commentaireRepository, FeedService feedService,
+                          CounterService counterService, JsonStreamWriter jsonStreamWriter,
+                          LiveFeedService liveFeedService, ApplicationEventPublisher eventPublisher,
+                          ContentVersionService contentVersions, ArticleJsonCache articleJsonCache,
+                          ArticleSearchIndex articleSearchIndex, TrendingIndex trendingIndex,
+                          ChangeLogService changeLogService) {
         this.articleRepository = articleRepository;
         this.themeService = themeService;
         this.jwtService = jwtService;
         this.commentaireRepository = commentaireRepository;
+        this.feedService = feedService;
+        this.counterService = counterService;
+        this.jsonStreamWriter = jsonStreamWriter;
+        this.liveFeedService = liveFeedService;
+        this.eventPublisher = eventPublisher;
+        this.contentVersions = contentVersions;
+        this.articleJsonCache = articleJsonCache;
+        this.articleSearchIndex = articleSearchIndex;
+        this.trendingIndex = trendingIndex;
+        this.changeLogService = changeLogService;
     }
 
     /**
@@ -47,14 +102,156 @@ public class ArticleService {
     }
 
     /**
-     * Retrieves all articles.
+     * Retrieves the full view of an article: its content, the first page of its comments and their total count.
      *
-     * @return A list of all Article entities.
+     * @param id The ID of the article to retrieve.
+     * @return The ArticleDetail of the article.
+     * @throws RuntimeException if the article is not found.
+     */
+    @Transactional(readOnly = true)
+    public ArticleDetail getArticleDetail(Long id) {
+        Article article = getArticleById(id);
+        CommentairePage firstPage = readCommentaires(id, null, DEFAULT_COMMENTS_PAGE_SIZE);
+        long nombreCommentaires = counterService.get(CounterKind.ARTICLE_COMMENTS, id);
+        return new ArticleDetail(article.getId(), article.getTitre(), article.getThemeTitle(), article.getAuteurName(),
+                article.getUpdatedAt(), article.getContenu(), firstPage.commentaires(), nombreCommentaires,
+                firstPage.nextCursor());
+    }
+
+    /**
+     * Retrieves several articles at once, with a single query.
+     *
+     * @param ids The IDs of the articles to retrieve; duplicates are ignored.
+     * @return The articles found, in the order of the requested IDs, and the IDs of the articles not found.
+     * @throws IllegalArgumentException if more than {@value #MAX_BATCH_SIZE} distinct IDs are requested.
+     */
+    @Transactional(readOnly = true)
+    public ArticleBatch getArticlesByIds(Collection<Long> ids) {
+        LinkedHashSet<Long> requested = new LinkedHashSet<>(ids);
+        requested.remove(null);
+        if (requested.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " articles can be retrieved at once");
+        }
+        if (requested.isEmpty()) {
+            return new ArticleBatch(List.of(), List.of());
+        }
+        Map<Long, ArticleSummary> byId = articleRepository.findSummaries(requested).stream()
+                .collect(Collectors.toMap(ArticleSummary::id, Function.identity()));
+        List<ArticleSummary> articles = requested.stream().map(byId::get).filter(Objects::nonNull).toList();
+        List<Long> missing = requested.stream().filter(id -> !byId.containsKey(id)).toList();
+        return new ArticleBatch(articles, missing);
+    }
+
+    /**
+     * Retrieves one page of the comments of an article, oldest first.
+     *
+     * @param articleId The ID of the article.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param size The requested page size, clamped between 1 and {@value #MAX_COMMENTS_PAGE_SIZE}.
+     * @return The page of comments and the cursor of the next page, null when there is none.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     * @throws RuntimeException if the article is not found.
+     */
+    @Transactional(readOnly = true)
+    public CommentairePage getCommentaires(Long articleId, String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        if (!articleRepository.existsById(articleId)) {
+            throw new RuntimeException("Article not found with id: " + articleId);
+        }
+        return readCommentaires(articleId, after, Math.max(1, Math.min(size, MAX_COMMENTS_PAGE_SIZE)));
+    }
+
+    private CommentairePage readCommentaires(Long articleId, PageCursor after, int pageSize) {
+        Limit limit = Limit.of(pageSize + 1);
+        List<CommentaireItem> commentaires = after == null
+                ? commentaireRepository.findPage(articleId, limit)
+                : commentaireRepository.findPageAfter(articleId, after.date(), after.id(), limit);
+        if (commentaires.size() <= pageSize) {
+            return new CommentairePage(commentaires, null);
+        }
+        List<CommentaireItem> page = commentaires.subList(0, pageSize);
+        CommentaireItem last = page.get(pageSize - 1);
+        return new CommentairePage(page, new PageCursor(last.date(), last.id()).encode());
+    }
+
+    /**
+     * Retrieves one page of the current user's feed, newest first.
+     *
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param size The requested page size.
+     * @return The page of articles and the cursor of the next page, null when there is none.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    public FeedPage getFeed(String cursor, int size) {
+        return feedService.getFeed(jwtService.getAuthenticatedUser().id(), cursor, size);
+    }
+
+    /**
+     * Retrieves one page of the current user's feed, liveliest articles first.
+     *
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param size The requested page size.
+     * @return The page of articles and the cursor of the next page, null when there is none.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    public FeedPage getTrendingFeed(String cursor, int size) {
+        return feedService.getTrendingFeed(jwtService.getAuthenticatedUser().id(), cursor, size);
+    }
+
+    /**
+     * Searches the articles whose title or content match a text, best matches first.
+     *
+     * @param text The searched text.
+     * @param themeIds The themes to search in, every theme when empty.
+     * @param page The zero-based page number.
+     * @param size The requested page size, clamped between 1 and {@value #MAX_SEARCH_PAGE_SIZE}.
+     * @return The page of matching articles and the total number of matches.
+     * @throws IllegalArgumentException if the page is beyond the searchable depth.
+     */
+    public SearchPage searchArticles(String text, Collection<Long> themeIds, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+        ArticleSearchIndex.Hits hits = articleSearchIndex.search(text, themeIds, page, pageSize);
+        if (hits.ids().isEmpty()) {
+            return new SearchPage(List.of(), hits.total(), page, pageSize);
+        }
+        Map<Long, FeedItem> byId = articleRepository.findFeedItems(hits.ids()).stream()
+                .collect(Collectors.toMap(FeedItem::id, Function.identity()));
+        List<FeedItem> articles = hits.ids().stream().map(byId::get).filter(Objects::nonNull).toList();
+        return new SearchPage(articles, hits.total(), page, pageSize);
+    }
+
+    /**
+     * Issues a short-lived ticket opening the live feed of the current user, for clients such as EventSource
+     * that cannot send an Authorization header.
+     *
+     * @return The ticket, to be passed as the ticket query parameter of the live feed.
+     */
+    public LiveTicket issueLiveTicket() {
+        return new LiveTicket(jwtService.generateLiveTicket());
+    }
+
+    /**
+     * Opens a live feed connection for the current user, pushing the articles published in their themes from now on.
+     *
+     * @return The emitter of the connection, or empty when the server cannot accept more connections.
+     */
+    public Optional<SseEmitter> openLiveFeed() {
+        return liveFeedService.connect(jwtService.getAuthenticatedUser().id());
+    }
+
+    /**
+     * Exports every article of the current user's themes as a JSON document, newest first.
+     * The current user is resolved right away; the articles are read and written while the body is streamed.
+     *
+     * @return The body writing the export.
      */
-    public List<Article> getAllArticles() {
-        User currentUser = jwtService.getCurrentUser();
-        List<Theme> themes = themeService.getThemesByUser(currentUser);
-        return articleRepository.findByThemeIn(themes);
+    public StreamingResponseBody exportArticles() {
+        Long userId = jwtService.getAuthenticatedUser().id();
+        return output -> {
+            long written = jsonStreamWriter.writeArray(output, "articles",
+                    () -> articleRepository.streamExportBySubscriber(userId));
+            logger.info("Exported {} articles for user id: {}", written, userId);
+        };
     }
 
     /**
@@ -67,12 +264,20 @@ public class ArticleService {
     public Long addArticle(ArticleRecord articleRecord) {
         logger.debug("Adding new article: {}", articleRecord);
 
-        Theme theme = themeService.getThemeByTitre(articleRecord.theme());
-        User user = jwtService.getCurrentUser();
-        Article article = new Article(articleRecord.titre(), articleRecord.contenu(), user, theme);
-        user.addArticle(article);
-        theme.addArticle(article);
+        ThemeSummary theme = themeService.getThemeByTitre(articleRecord.theme());
+        AuthenticatedUser author = jwtService.getAuthenticatedUser();
+        Article article = new Article(articleRecord.titre(), articleRecord.contenu(),
+                jwtService.getUserReference(author.id()), themeService.getThemeReference(theme.id()));
         Article savedArticle = articleRepository.save(article);
+        feedService.publish(savedArticle);
+        counterService.increment(CounterKind.THEME_ARTICLES, theme.id());
+        contentVersions.feedChanged();
+        changeLogService.articlePublished(savedArticle.getId(), theme.id(), savedArticle.getCreatedAt());
+        trendingIndex.published(new FeedEntry(savedArticle.getId(), theme.id(), savedArticle.getCreatedAt()));
+        articleSearchIndex.index(new SearchDocument(savedArticle.getId(), theme.id(), savedArticle.getTitre(),
+                savedArticle.getContenu(), savedArticle.getUpdatedAt()));
+        eventPublisher.publishEvent(new ArticleNotification(savedArticle.getId(), theme.id(), savedArticle.getTitre(),
+                theme.titre(), author.name(), savedArticle.getUpdatedAt()));
         logger.info("Article added successfully with ID: {}", savedArticle.getId());
         return savedArticle.getId();
     }
@@ -87,12 +292,17 @@ public class ArticleService {
     @Transactional
     public Long addCommentaire(CommentaireRecord commentaireRecord, Long articleId) {
         logger.debug("Adding new commentaire: {}", commentaireRecord);
-        User user = jwtService.getCurrentUser();
+        Long userId = jwtService.getAuthenticatedUser().id();
         Article article = getArticleById(articleId);
-        Commentaire commentaire = new Commentaire(commentaireRecord.contenu(), user, article);
+        Commentaire commentaire = new Commentaire(commentaireRecord.contenu(), jwtService.getUserReference(userId), article);
         article.addCommentaire(commentaire);
-        user.addCommentaire(commentaire);
         Commentaire savedCommentaire = commentaireRepository.save(commentaire);
+        counterService.increment(CounterKind.ARTICLE_COMMENTS, articleId);
+        contentVersions.articleChanged(articleId);
+        contentVersions.feedChanged();
+        articleJsonCache.evict(articleId);
+        changeLogService.articleCommented(articleId, article.getTheme().getId(), savedCommentaire.getCreatedAt());
+        trendingIndex.commented(new FeedEntry(articleId, article.getTheme().getId(), savedCommentaire.getCreatedAt()));
         logger.info("Commentaire added successfully with ID: {}", savedCommentaire.getId());
         return savedCommentaire.getId();
     }
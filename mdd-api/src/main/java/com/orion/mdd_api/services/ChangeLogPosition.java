@@ -0,0 +1,39 @@
+package com.orion.mdd_api.services;
+
+import com.orion.mdd_api.repositories.ChangeLogRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+/**
+ * Position of the change log taken when the application starts, before the caches and indexes fed by the
+ * {@link ChangeLogService} load from the database. Those beans depend on this one, so a change committed while
+ * they load is after this position and is applied once the service starts tailing the log.
+ */
+@Component
+public class ChangeLogPosition {
+    private final long lastId;
+    private final List<Long> missingIds;
+
+    public ChangeLogPosition(ChangeLogRepository changeLogRepository) {
+        this.lastId = changeLogRepository.findLastId().orElse(0L);
+        // Ids under the end that are not visible yet belong to transactions still running, or rolled back
+        long from = Math.max(0, lastId - ChangeLogService.MAX_GAPS);
+        Set<Long> visible = new HashSet<>(changeLogRepository.findIdsAfter(from));
+        this.missingIds = LongStream.rangeClosed(from + 1, lastId)
+                .filter(id -> !visible.contains(id))
+                .boxed()
+                .toList();
+    }
+
+    public long lastId() {
+        return lastId;
+    }
+
+    public List<Long> missingIds() {
+        return missingIds;
+    }
+}
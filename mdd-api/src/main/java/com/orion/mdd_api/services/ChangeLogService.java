@@ -0,0 +1,241 @@
+package com.orion.mdd_api.services;
+
+import com.orion.mdd_api.dtos.ArticleNotification;
+import com.orion.mdd_api.dtos.FeedEntry;
+import com.orion.mdd_api.dtos.SearchDocument;
+import com.orion.mdd_api.entities.ChangeKind;
+import com.orion.mdd_api.entities.ChangeLogEntry;
+import com.orion.mdd_api.repositories.ArticleRepository;
+import com.orion.mdd_api.repositories.ChangeLogRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service keeping the in-memory caches and indexes of every node in step with the changes committed by the others.
+ * Writers record their change in the CHANGE_LOG table within their own transaction; every node polls the rows
+ * written since its last poll, every {@code changelog.poll-interval-ms}, and applies those of the other nodes
+ * to its caches as if the change had been made locally.
+ * Identity values are allocated before commit, so a row may become visible after rows with higher ids: ids skipped
+ * by a poll are looked for again for {@code changelog.gap-timeout-ms} before being given up as rolled back.
+ */
+@Service
+public class ChangeLogService {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLogService.class);
+    static final int MAX_GAPS = 1000;
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ChangeLogPosition startPosition;
+    private final ArticleRepository articleRepository;
+    private final ContentVersionService contentVersions;
+    private final ArticleJsonCache articleJsonCache;
+    private final RecentArticlesIndex recentArticles;
+    private final TrendingIndex trendingIndex;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final LiveFeedService liveFeedService;
+    private final SubscriptionIndex subscriptionIndex;
+    private final UserCache userCache;
+    private final int batchSize;
+    private final long gapTimeoutMs;
+    private final int retentionHours;
+    private final String nodeId = UUID.randomUUID().toString();
+    // Ids skipped by a poll, with the time after which they are given up
+    private final Map<Long, Long> gaps = new HashMap<>();
+    private long lastSeenId;
+
+    public ChangeLogService(ChangeLogRepository changeLogRepository, ChangeLogPosition startPosition,
+                            ArticleRepository articleRepository,
+                            ContentVersionService contentVersions, ArticleJsonCache articleJsonCache,
+                            RecentArticlesIndex recentArticles, TrendingIndex trendingIndex,
+                            ArticleSearchIndex articleSearchIndex, LiveFeedService liveFeedService,
+                            SubscriptionIndex subscriptionIndex, UserCache userCache,
+                            @Value("${changelog.batch-size}") int batchSize,
+                            @Value("${changelog.gap-timeout-ms}") long gapTimeoutMs,
+                            @Value("${changelog.retention-hours}") int retentionHours) {
+        this.changeLogRepository = changeLogRepository;
+        this.startPosition = startPosition;
+        this.articleRepository = articleRepository;
+        this.contentVersions = contentVersions;
+        this.articleJsonCache = articleJsonCache;
+        this.recentArticles = recentArticles;
+        this.trendingIndex = trendingIndex;
+        this.articleSearchIndex = articleSearchIndex;
+        this.liveFeedService = liveFeedService;
+        this.subscriptionIndex = subscriptionIndex;
+        this.userCache = userCache;
+        this.batchSize = batchSize;
+        this.gapTimeoutMs = gapTimeoutMs;
+        this.retentionHours = retentionHours;
+    }
+
+    /**
+     * Starts tailing the log from the position taken before the caches and indexes this service feeds were loaded,
+     * so the changes committed while they loaded are applied too. Some of them may already be part of what was
+     * loaded and are applied again: the caches and indexes absorb a repeated change, only a trending score may
+     * count it twice.
+     * Ids under that position that were not visible yet are looked for as any other gap.
+     */
+    @PostConstruct
+    public synchronized void start() {
+        lastSeenId = startPosition.lastId();
+        long deadline = System.currentTimeMillis() + gapTimeoutMs;
+        startPosition.missingIds().forEach(id -> gaps.put(id, deadline));
+        logger.info("Node {} tailing the change log from id: {} with {} gaps", nodeId, lastSeenId, gaps.size());
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void articlePublished(Long articleId, Long themeId, LocalDateTime date) {
+        record(ChangeKind.ARTICLE_PUBLISHED, articleId, themeId, date);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void articleCommented(Long articleId, Long themeId, LocalDateTime date) {
+        record(ChangeKind.ARTICLE_COMMENTED, articleId, themeId, date);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void subscribed(Long userId, Long themeId) {
+        record(ChangeKind.THEME_SUBSCRIBED, userId, themeId, LocalDateTime.now());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void unsubscribed(Long userId, Long themeId) {
+        record(ChangeKind.THEME_UNSUBSCRIBED, userId, themeId, LocalDateTime.now());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void userUpdated(Long userId) {
+        record(ChangeKind.USER_UPDATED, userId, null, LocalDateTime.now());
+    }
+
+    private void record(ChangeKind kind, Long entityId, Long themeId, LocalDateTime date) {
+        changeLogRepository.save(new ChangeLogEntry(kind, entityId, themeId, nodeId,
+                date == null ? LocalDateTime.now() : date));
+    }
+
+    /**
+     * Applies the changes committed by the other nodes since the last poll.
+     * Everything that can fail is read before the position in the log moves, so a failed poll is retried as a whole.
+     */
+    @Scheduled(fixedDelayString = "${changelog.poll-interval-ms}")
+    public synchronized void poll() {
+        long now = System.currentTimeMillis();
+        gaps.values().removeIf(deadline -> deadline < now);
+        List<ChangeLogEntry> entries;
+        Map<Long, SearchDocument> documents;
+        Map<Long, ArticleNotification> notifications;
+        try {
+            entries = gaps.isEmpty()
+                    ? changeLogRepository.findAfter(lastSeenId, Limit.of(batchSize))
+                    : changeLogRepository.findAfterOrIn(lastSeenId, gaps.keySet(), Limit.of(batchSize));
+            List<Long> published = entries.stream()
+                    .filter(entry -> entry.getKind() == ChangeKind.ARTICLE_PUBLISHED && !nodeId.equals(entry.getOrigin()))
+                    .map(ChangeLogEntry::getEntityId)
+                    .toList();
+            documents = published.isEmpty() ? Map.of() : articleRepository.findSearchDocuments(published).stream()
+                    .collect(Collectors.toMap(SearchDocument::id, Function.identity()));
+            notifications = published.isEmpty() ? Map.of() : articleRepository.findNotifications(published).stream()
+                    .collect(Collectors.toMap(ArticleNotification::id, Function.identity()));
+        } catch (RuntimeException e) {
+            logger.warn("Error reading the change log after id: {}, retrying on next poll", lastSeenId, e);
+            return;
+        }
+        int applied = 0;
+        for (ChangeLogEntry entry : entries) {
+            advanceTo(entry.getId(), now);
+            if (!nodeId.equals(entry.getOrigin())) {
+                apply(entry, documents, notifications);
+                applied++;
+            }
+        }
+        if (applied > 0) {
+            logger.debug("Applied {} changes from other nodes, up to id: {}", applied, lastSeenId);
+        }
+    }
+
+    /**
+     * Deletes the rows every node has long applied.
+     */
+    @Scheduled(fixedDelayString = "${changelog.prune-interval-ms}")
+    public void prune() {
+        try {
+            int deleted = changeLogRepository.deleteOlderThan(LocalDateTime.now().minusHours(retentionHours));
+            logger.debug("Pruned {} change log rows", deleted);
+        } catch (RuntimeException e) {
+            logger.warn("Error pruning the change log", e);
+        }
+    }
+
+    private void advanceTo(Long id, long now) {
+        if (gaps.remove(id) != null || id <= lastSeenId) {
+            return;
+        }
+        long end = Math.min(id, lastSeenId + 1 + MAX_GAPS - gaps.size());
+        for (long skipped = lastSeenId + 1; skipped < end; skipped++) {
+            gaps.put(skipped, now + gapTimeoutMs);
+        }
+        lastSeenId = id;
+    }
+
+    private void apply(ChangeLogEntry entry, Map<Long, SearchDocument> documents,
+                       Map<Long, ArticleNotification> notifications) {
+        Long entityId = entry.getEntityId();
+        switch (entry.getKind()) {
+            case ARTICLE_PUBLISHED -> {
+                contentVersions.feedChanged();
+                SearchDocument document = documents.get(entityId);
+                if (document == null) {
+                    // Deleted since, nothing left to index
+                    return;
+                }
+                recentArticles.append(new FeedEntry(entityId, document.themeId(), document.date()));
+                trendingIndex.published(new FeedEntry(entityId, document.themeId(), entry.getOccurredAt()));
+                articleSearchIndex.index(document);
+                ArticleNotification notification = notifications.get(entityId);
+                if (notification != null) {
+                    liveFeedService.onArticlePublished(notification);
+                }
+            }
+            case ARTICLE_COMMENTED -> {
+                contentVersions.articleChanged(entityId);
+                contentVersions.feedChanged();
+                articleJsonCache.evict(entityId);
+                trendingIndex.commented(new FeedEntry(entityId, entry.getThemeId(), entry.getOccurredAt()));
+            }
+            case THEME_SUBSCRIBED -> {
+                contentVersions.feedChanged();
+                contentVersions.catalogChanged();
+                subscriptionIndex.subscribed(entityId, entry.getThemeId());
+                liveFeedService.subscribed(entityId, entry.getThemeId());
+            }
+            case THEME_UNSUBSCRIBED -> {
+                contentVersions.feedChanged();
+                contentVersions.catalogChanged();
+                subscriptionIndex.unsubscribed(entityId, entry.getThemeId());
+                liveFeedService.unsubscribed(entityId, entry.getThemeId());
+            }
+            case USER_UPDATED -> {
+                contentVersions.allArticlesChanged();
+                userCache.evict(entityId);
+            }
+        }
+    }
+}
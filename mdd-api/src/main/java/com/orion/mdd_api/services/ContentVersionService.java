@@ -0,0 +1,100 @@
+package com.orion.mdd_api.services;
+
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service tracking in memory when the content behind the article, feed and theme endpoints last changed,
+ * so that conditional GET requests can be answered with 304 before anything is read from the database.
+ * Versions come from a clock that never goes backwards and starts at the node start time: they double as
+ * Last-Modified dates, and validators issued by a previous run of the node never match again.
+ * Writers bump versions once their transaction commits; readers must take the validator before reading the content.
+ */
+@Service
+public class ContentVersionService {
+    private final AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+    private final Map<Long, Long> articleVersions = new ConcurrentHashMap<>();
+    private final AtomicLong articlesBaseline = new AtomicLong(clock.get());
+    private final AtomicLong feedVersion = new AtomicLong(clock.get());
+    private final AtomicLong catalogVersion = new AtomicLong(clock.get());
+
+    /**
+     * Retrieves the validator of the detail of an article.
+     *
+     * @param articleId The ID of the article.
+     * @return The current validator of the article detail.
+     */
+    public Validator articleValidator(Long articleId) {
+        long version = Math.max(articleVersions.getOrDefault(articleId, 0L), articlesBaseline.get());
+        return new Validator("\"article-" + articleId + "-" + version + "\"", version);
+    }
+
+    /**
+     * Retrieves the validator of one feed page. Feeds share a single version, the page and its reader
+     * are part of the tag so that a validator never matches the page of another user.
+     *
+     * @param reader The name of the authenticated user.
+     * @param sort The order of the feed.
+     * @param cursor The cursor of the page, null for the first page.
+     * @param limit The requested page size.
+     * @return The current validator of the feed page.
+     */
+    public Validator feedValidator(String reader, String sort, String cursor, int limit) {
+        long version = feedVersion.get();
+        String page = DigestUtils.md5DigestAsHex((reader + "|" + sort + "|" + cursor + "|" + limit)
+                .getBytes(StandardCharsets.UTF_8));
+        return new Validator("\"feed-" + version + "-" + page + "\"", version);
+    }
+
+    /**
+     * Retrieves the validator of the theme catalog as seen by one reader, since the catalog tells
+     * which themes the reader follows.
+     *
+     * @param reader The name of the authenticated user.
+     * @return The current validator of the theme catalog for this reader.
+     */
+    public Validator catalogValidator(String reader) {
+        long version = catalogVersion.get();
+        String view = DigestUtils.md5DigestAsHex(String.valueOf(reader).getBytes(StandardCharsets.UTF_8));
+        return new Validator("\"themes-" + version + "-" + view + "\"", version);
+    }
+
+    public void articleChanged(Long articleId) {
+        TransactionHooks.afterCommit(() -> articleVersions.merge(articleId, tick(), Math::max));
+    }
+
+    public void feedChanged() {
+        TransactionHooks.afterCommit(() -> feedVersion.accumulateAndGet(tick(), Math::max));
+    }
+
+    public void catalogChanged() {
+        TransactionHooks.afterCommit(() -> catalogVersion.accumulateAndGet(tick(), Math::max));
+    }
+
+    /**
+     * Invalidates every article and feed at once, for changes such as an author renaming themselves.
+     */
+    public void allArticlesChanged() {
+        TransactionHooks.afterCommit(() -> {
+            long version = tick();
+            articlesBaseline.accumulateAndGet(version, Math::max);
+            feedVersion.accumulateAndGet(version, Math::max);
+            articleVersions.values().removeIf(articleVersion -> articleVersion <= version);
+        });
+    }
+
+    private long tick() {
+        return clock.updateAndGet(last -> Math.max(System.currentTimeMillis(), last + 1));
+    }
+
+    /**
+     * Strong entity tag and Last-Modified date, in epoch milliseconds, of a response.
+     */
+    public record Validator(String eTag, long lastModified) {
+    }
+}
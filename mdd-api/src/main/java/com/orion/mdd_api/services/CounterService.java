@@ -0,0 +1,204 @@
+package com.orion.mdd_api.services;
+
+import com.orion.mdd_api.entities.Counter;
+import com.orion.mdd_api.entities.CounterKind;
+import com.orion.mdd_api.repositories.CounterRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Service keeping the comment, article and subscriber counts without loading the collections they count.
+ * Changes are accumulated in striped in-memory adders once their transaction commits, and written to the
+ * COUNTERS table in batches every {@code counters.flush-interval-ms}. Reads add the changes not written yet
+ * to the stored totals, so counts are exact on a single node and catch up within one flush interval across nodes.
+ * A flush swaps the adders for fresh ones and writes their sums without holding any lock, reads add the batch being
+ * written until it commits. A read that starts before a batch commits and finishes after it is done again, so a
+ * change is never missed; only a read landing between the commit and the end of the flush counts the batch twice.
+ */
+@Service
+public class CounterService {
+    private static final Logger logger = LoggerFactory.getLogger(CounterService.class);
+
+    private final CounterRepository counterRepository;
+    // Adders are only touched under the read lock, and swapped with the batch being written under the write lock
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+    private Map<Counter.Key, LongAdder> pending = new ConcurrentHashMap<>();
+    private Map<Counter.Key, Long> inFlight = Map.of();
+    private long completedFlushes;
+
+    public CounterService(CounterRepository counterRepository) {
+        this.counterRepository = counterRepository;
+    }
+
+    /**
+     * Computes every counter from the existing rows the first time the application starts on a database.
+     */
+    @PostConstruct
+    public void seed() {
+        if (counterRepository.count() > 0) {
+            return;
+        }
+        int seeded = counterRepository.seedArticleComments()
+                + counterRepository.seedThemeArticles()
+                + counterRepository.seedThemeSubscribers();
+        logger.info("Seeded {} counters from existing rows", seeded);
+    }
+
+    public void increment(CounterKind kind, Long entityId) {
+        add(kind, entityId, 1);
+    }
+
+    public void decrement(CounterKind kind, Long entityId) {
+        add(kind, entityId, -1);
+    }
+
+    /**
+     * Adds a delta to a counter once the current transaction commits.
+     *
+     * @param kind What the counter counts.
+     * @param entityId The ID of the counted entity.
+     * @param delta The amount to add, negative to subtract.
+     */
+    public void add(CounterKind kind, Long entityId, long delta) {
+        Counter.Key key = new Counter.Key(kind, entityId);
+        TransactionHooks.afterCommit(() -> {
+            flushLock.readLock().lock();
+            try {
+                pending.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+            } finally {
+                flushLock.readLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Retrieves the current value of a counter.
+     *
+     * @param kind What the counter counts.
+     * @param entityId The ID of the counted entity.
+     * @return The stored total plus the changes not flushed yet.
+     */
+    public long get(CounterKind kind, Long entityId) {
+        Counter.Key key = new Counter.Key(kind, entityId);
+        while (true) {
+            long flushes = completedFlushes();
+            long stored = counterRepository.findTotal(kind, entityId).orElse(0L);
+            flushLock.readLock().lock();
+            try {
+                if (completedFlushes == flushes) {
+                    return stored + unflushed(key);
+                }
+            } finally {
+                flushLock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Retrieves the current values of the counters of several entities with a single query.
+     *
+     * @param kind What the counters count.
+     * @param entityIds The IDs of the counted entities.
+     * @return The value of each counter, keyed by entity ID, 0 for entities that were never counted.
+     */
+    public Map<Long, Long> getAll(CounterKind kind, Collection<Long> entityIds) {
+        while (true) {
+            long flushes = completedFlushes();
+            List<Counter> stored = counterRepository.findByKindAndEntityIdIn(kind, entityIds);
+            Map<Long, Long> totals = new HashMap<>();
+            flushLock.readLock().lock();
+            try {
+                if (completedFlushes != flushes) {
+                    continue;
+                }
+                for (Long entityId : entityIds) {
+                    totals.put(entityId, unflushed(new Counter.Key(kind, entityId)));
+                }
+            } finally {
+                flushLock.readLock().unlock();
+            }
+            for (Counter counter : stored) {
+                totals.merge(counter.getEntityId(), counter.getTotal(), Long::sum);
+            }
+            return totals;
+        }
+    }
+
+    /**
+     * Writes the accumulated changes to the COUNTERS table in one batch.
+     * The lock is only held to swap the adders and to drop the batch once written, never across the batch,
+     * so reads and changes go on while it is written. Counters with no change left are dropped from memory.
+     * Changes that fail to be written are put back and retried on the next flush.
+     */
+    @Scheduled(fixedDelayString = "${counters.flush-interval-ms}")
+    public synchronized void flush() {
+        Map<Counter.Key, Long> deltas = new HashMap<>();
+        flushLock.writeLock().lock();
+        try {
+            pending.forEach((key, adder) -> {
+                long delta = adder.sum();
+                if (delta != 0) {
+                    deltas.put(key, delta);
+                }
+            });
+            pending = new ConcurrentHashMap<>();
+            inFlight = deltas;
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        boolean written = false;
+        try {
+            counterRepository.addAll(deltas);
+            written = true;
+            logger.debug("Flushed {} counters", deltas.size());
+        } catch (RuntimeException e) {
+            logger.warn("Error flushing {} counters, retrying on next flush", deltas.size(), e);
+        }
+        flushLock.writeLock().lock();
+        try {
+            if (!written) {
+                deltas.forEach((key, delta) -> pending.computeIfAbsent(key, k -> new LongAdder()).add(delta));
+            }
+            inFlight = Map.of();
+            completedFlushes++;
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private long completedFlushes() {
+        flushLock.readLock().lock();
+        try {
+            return completedFlushes;
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    // Called under the read lock
+    private long unflushed(Counter.Key key) {
+        LongAdder adder = pending.get(key);
+        return (adder == null ? 0 : adder.sum()) + inFlight.getOrDefault(key, 0L);
+    }
+}
@@ -0,0 +1,402 @@
+package com.orion.mdd_api.services;
+
+import com.orion.mdd_api.dtos.FanOutMode;
+import com.orion.mdd_api.dtos.FeedEntry;
+import com.orion.mdd_api.dtos.FeedItem;
+import com.orion.mdd_api.dtos.FeedPage;
+import com.orion.mdd_api.dtos.PageCursor;
+import com.orion.mdd_api.dtos.TimelineHorizon;
+import com.orion.mdd_api.dtos.TrendingCursor;
+import com.orion.mdd_api.entities.Article;
+import com.orion.mdd_api.repositories.ArticleRepository;
+import com.orion.mdd_api.repositories.ThemeRepository;
+import com.orion.mdd_api.repositories.TimelineRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service responsible for building user feeds.
+ * Articles of ordinary themes are pushed to the materialized timeline of every subscriber when they are written.
+ * Themes growing over {@code feed.fanout.max-subscribers} subscribers are switched to pull: their recent articles
+ * are pulled from the theme index at read time and merged with the timeline by recency. They are only switched
+ * back to push once under {@code feed.fanout.min-subscribers}, and the articles published before the switch
+ * back keep being pulled. The mode is stored on the theme, writers and readers of every node see the same one.
+ * A new subscriber only gets the newest {@code feed.backfill.max-articles} articles of a theme copied to their timeline,
+ * the older ones are pulled from the theme index once a page reaches the oldest copied row.
+ * The first page is usually built from the in-memory {@link RecentArticlesIndex} without reading either source.
+ */
+@Service
+public class FeedService {
+    private static final Logger logger = LoggerFactory.getLogger(FeedService.class);
+    public static final int DEFAULT_FEED_SIZE = 20;
+    public static final int MAX_FEED_SIZE = 50;
+    // Covers the clocks of the nodes and the publications still running when a theme is switched back to push
+    static final Duration SWITCH_MARGIN = Duration.ofMinutes(1);
+    static final Comparator<FeedEntry> NEWEST_FIRST =
+            Comparator.comparing(FeedEntry::date).thenComparing(FeedEntry::articleId).reversed();
+
+    private final TimelineRepository timelineRepository;
+    private final ArticleRepository articleRepository;
+    private final SubscriptionIndex subscriptionIndex;
+    private final RecentArticlesIndex recentArticles;
+    private final TrendingIndex trendingIndex;
+    private final ThemeRepository themeRepository;
+    private final int maxPushedSubscribers;
+    private final int minPushedSubscribers;
+    private final int maxBackfilledArticles;
+
+    private final DistributionSummary fanOutWrites;
+    private final Counter pushedArticles;
+    private final Counter pulledArticles;
+    private final Timer readLatency;
+    private final DistributionSummary pulledThemesPerRead;
+    private final Counter memoryReads;
+    private final Counter databaseReads;
+
+    public FeedService(TimelineRepository timelineRepository, ArticleRepository articleRepository,
+                       SubscriptionIndex subscriptionIndex, RecentArticlesIndex recentArticles, TrendingIndex trendingIndex,
+                       ThemeRepository themeRepository, MeterRegistry meterRegistry,
+                       @Value("${feed.fanout.max-subscribers}") int maxPushedSubscribers,
+                       @Value("${feed.fanout.min-subscribers}") int minPushedSubscribers,
+                       @Value("${feed.backfill.max-articles}") int maxBackfilledArticles) {
+        this.timelineRepository = timelineRepository;
+        this.articleRepository = articleRepository;
+        this.subscriptionIndex = subscriptionIndex;
+        this.recentArticles = recentArticles;
+        this.trendingIndex = trendingIndex;
+        this.themeRepository = themeRepository;
+        this.maxPushedSubscribers = maxPushedSubscribers;
+        this.minPushedSubscribers = minPushedSubscribers;
+        this.maxBackfilledArticles = maxBackfilledArticles;
+        this.fanOutWrites = DistributionSummary.builder("feed.fanout.writes")
+                .description("Timeline rows written per published article")
+                .register(meterRegistry);
+        this.pushedArticles = Counter.builder("feed.publish").tag("mode", "push")
+                .description("Articles pushed to subscriber timelines")
+                .register(meterRegistry);
+        this.pulledArticles = Counter.builder("feed.publish").tag("mode", "pull")
+                .description("Articles left in the theme index for pull reads")
+                .register(meterRegistry);
+        this.readLatency = Timer.builder("feed.read")
+                .description("Time to build one feed page")
+                .register(meterRegistry);
+        this.pulledThemesPerRead = DistributionSummary.builder("feed.read.pulled.themes")
+                .description("Themes pulled and merged per feed page")
+                .register(meterRegistry);
+        this.memoryReads = Counter.builder("feed.read.source").tag("source", "memory")
+                .description("Feed pages built from the recent articles index")
+                .register(meterRegistry);
+        this.databaseReads = Counter.builder("feed.read.source").tag("source", "database")
+                .description("Feed pages built from timelines and theme indexes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Gives a fan-out mode to the themes that have none yet, from their current number of subscribers.
+     * Themes left to push cannot tell whether they were pulled before, so their older articles are pulled.
+     */
+    @PostConstruct
+    public void decideFanOutModes() {
+        List<Long> themeIds = themeRepository.findIdsWithoutFanOutMode();
+        LocalDateTime pushedSince = LocalDateTime.now().plus(SWITCH_MARGIN);
+        for (Long themeId : themeIds) {
+            boolean pulled = subscriptionIndex.subscriberCount(themeId) > maxPushedSubscribers;
+            themeRepository.switchFanOut(themeId, pulled, pulled ? null : pushedSince);
+        }
+        if (!themeIds.isEmpty()) {
+            logger.info("Decided the fan-out mode of {} themes", themeIds.size());
+        }
+    }
+
+    /**
+     * Switches a theme to pull once it has more than {@code feed.fanout.max-subscribers} subscribers,
+     * and back to push once it has fewer than {@code feed.fanout.min-subscribers}.
+     * Articles published before the switch back, plus a safety margin, are still pulled at read time,
+     * so none of those published while the theme was pulled goes missing.
+     *
+     * @param themeId The id of the theme.
+     * @param subscribers The number of subscribers of the theme.
+     */
+    @Transactional
+    public void subscribersChanged(Long themeId, long subscribers) {
+        if (subscribers <= maxPushedSubscribers && subscribers >= minPushedSubscribers) {
+            return;
+        }
+        boolean pulled = subscribers > maxPushedSubscribers;
+        List<FanOutMode> modes = themeRepository.findFanOutModes(List.of(themeId));
+        if (modes.isEmpty() || modes.get(0).pulled() == pulled) {
+            return;
+        }
+        LocalDateTime pushedSince = pulled ? null : LocalDateTime.now().plus(SWITCH_MARGIN);
+        if (themeRepository.switchFanOut(themeId, pulled, pushedSince) > 0) {
+            logger.info("Theme {} switched to {} with {} subscribers", themeId, pulled ? "pull" : "push", subscribers);
+        }
+    }
+
+    /**
+     * Pushes a newly saved article to the timeline of every subscriber of its theme,
+     * unless the theme is switched to pull.
+     *
+     * @param article The saved article.
+     */
+    @Transactional
+    public void publish(Article article) {
+        Long themeId = article.getTheme().getId();
+        FeedEntry entry = new FeedEntry(article.getId(), themeId, article.getUpdatedAt());
+        TransactionHooks.afterCommit(() -> recentArticles.append(entry));
+
+        List<FanOutMode> modes = themeRepository.findFanOutModes(List.of(themeId));
+        if (!modes.isEmpty() && modes.get(0).pulled()) {
+            pulledArticles.increment();
+            fanOutWrites.record(0);
+            logger.debug("Article {} not pushed, theme {} is pulled", article.getId(), themeId);
+            return;
+        }
+        int written = timelineRepository.fanOut(article.getId(), themeId, article.getUpdatedAt());
+        pushedArticles.increment();
+        fanOutWrites.record(written);
+        logger.debug("Article {} pushed to {} timelines", article.getId(), written);
+    }
+
+    /**
+     * Copies the newest articles of some themes into the timeline of a new subscriber, one bounded statement per theme.
+     * At most {@code feed.backfill.max-articles} articles are copied per theme, whatever its size;
+     * older articles are pulled from the theme index when the subscriber pages past them.
+     *
+     * @param userId The id of the subscriber.
+     * @param themeIds The ids of the themes.
+     */
+    @Transactional
+    public void backfill(Long userId, Collection<Long> themeIds) {
+        int written = 0;
+        for (Long themeId : themeIds) {
+            written += timelineRepository.backfill(userId, themeId, maxBackfilledArticles);
+        }
+        logger.debug("Backfilled {} articles of themes {} for user {}", written, themeIds, userId);
+    }
+
+    /**
+     * Removes the articles of some themes from the timeline of a former subscriber, in one statement.
+     *
+     * @param userId The id of the former subscriber.
+     * @param themeIds The ids of the themes.
+     */
+    @Transactional
+    public void prune(Long userId, Collection<Long> themeIds) {
+        int removed = timelineRepository.prune(userId, themeIds);
+        logger.debug("Pruned {} articles of themes {} for user {}", removed, themeIds, userId);
+    }
+
+    /**
+     * Reads one page of a user's feed, newest first.
+     * The pushed timeline and the index of every pulled theme each contribute at most one page,
+     * which are then merged by recency. Pushed themes whose oldest timeline row, or switch back to push,
+     * is reached by the page also contribute one page of the articles older than that point.
+     *
+     * @param userId The id of the user.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param size The requested page size, clamped between 1 and {@value #MAX_FEED_SIZE}.
+     * @return The page of articles and the cursor of the next page, null when there is none.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    @Transactional(readOnly = true)
+    public FeedPage getFeed(Long userId, String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(size, MAX_FEED_SIZE));
+        return readLatency.record(() -> readPage(userId, after, pageSize));
+    }
+
+    /**
+     * Retrieves one page of a user's feed, liveliest articles first, from the in-memory {@link TrendingIndex}.
+     *
+     * @param userId The ID of the user.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param size The requested page size, clamped between 1 and {@value #MAX_FEED_SIZE}.
+     * @return The page of articles and the cursor of the next page, null when there is none.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    @Transactional(readOnly = true)
+    public FeedPage getTrendingFeed(Long userId, String cursor, int size) {
+        TrendingCursor after = TrendingCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(size, MAX_FEED_SIZE));
+        // An article belongs to a single theme, the per-theme rankings never overlap
+        List<TrendingIndex.Ranked> ranked = subscriptionIndex.themesOf(userId).stream()
+                .flatMap(themeId -> trendingIndex.top(themeId, after, pageSize + 1).stream())
+                .sorted(TrendingIndex.BEST_FIRST)
+                .limit(pageSize + 1)
+                .toList();
+        String nextCursor = null;
+        if (ranked.size() > pageSize) {
+            ranked = ranked.subList(0, pageSize);
+            TrendingIndex.Ranked last = ranked.get(pageSize - 1);
+            nextCursor = new TrendingCursor(last.score(), last.articleId()).encode();
+        }
+        return new FeedPage(loadItemsInOrder(ranked.stream().map(TrendingIndex.Ranked::articleId).toList()), nextCursor);
+    }
+
+    private FeedPage readPage(Long userId, PageCursor after, int pageSize) {
+        // Every theme ring holds its newest articles, so they contain the first page whenever it fits in one ring
+        if (after == null && pageSize < recentArticles.capacity()) {
+            memoryReads.increment();
+            List<List<FeedEntry>> sources = subscriptionIndex.themesOf(userId).stream()
+                    .map(recentArticles::recent)
+                    .toList();
+            return toPage(mergeByRecency(sources, pageSize + 1), pageSize);
+        }
+        databaseReads.increment();
+
+        // One extra row tells whether a next page exists without a count query
+        Limit limit = Limit.of(pageSize + 1);
+        List<Long> themeIds = subscriptionIndex.themesOf(userId);
+        Map<Boolean, List<FanOutMode>> modesByPulled = (themeIds.isEmpty() ? List.<FanOutMode>of()
+                : themeRepository.findFanOutModes(themeIds)).stream()
+                .collect(Collectors.partitioningBy(FanOutMode::pulled));
+        List<Long> pulledThemeIds = modesByPulled.get(true).stream().map(FanOutMode::themeId).toList();
+        pulledThemesPerRead.record(pulledThemeIds.size());
+
+        List<List<FeedEntry>> sources = new ArrayList<>();
+        sources.add(readTimeline(userId, pulledThemeIds, after, limit));
+        for (Long themeId : pulledThemeIds) {
+            sources.add(readTheme(themeId, after, limit));
+        }
+        List<FeedEntry> merged = mergeByRecency(sources, pageSize + 1);
+
+        List<List<FeedEntry>> olderSources = readBelowHorizons(userId, modesByPulled.get(false), merged, after, limit);
+        if (!olderSources.isEmpty()) {
+            sources.addAll(olderSources);
+            merged = mergeByRecency(sources, pageSize + 1);
+        }
+        return toPage(merged, pageSize);
+    }
+
+    private List<List<FeedEntry>> readBelowHorizons(Long userId, List<FanOutMode> pushedModes, List<FeedEntry> merged,
+                                                    PageCursor after, Limit limit) {
+        if (pushedModes.isEmpty()) {
+            return List.of();
+        }
+        // The timeline of a theme is complete from its oldest row, or from its switch back to push if that is later
+        Map<Long, LocalDateTime> horizons = new HashMap<>();
+        for (FanOutMode mode : pushedModes) {
+            if (mode.pushedSince() != null) {
+                horizons.put(mode.themeId(), mode.pushedSince());
+            }
+        }
+        List<Long> pushedThemeIds = pushedModes.stream().map(FanOutMode::themeId).toList();
+        for (TimelineHorizon horizon : timelineRepository.findHorizons(userId, pushedThemeIds)) {
+            horizons.merge(horizon.themeId(), horizon.date(), (a, b) -> a.isAfter(b) ? a : b);
+        }
+
+        // A full page ending above a horizon cannot contain anything older than it
+        FeedEntry lowest = merged.size() == limit.max() ? merged.get(merged.size() - 1) : null;
+        List<List<FeedEntry>> olderSources = new ArrayList<>();
+        horizons.forEach((themeId, horizon) -> {
+            if (lowest != null && lowest.date().isAfter(horizon)) {
+                return;
+            }
+            // Rows at the horizon date are read again so that none is missed, the merge drops the duplicates
+            PageCursor below = after != null && !after.date().isAfter(horizon)
+                    ? after
+                    : new PageCursor(horizon, Long.MAX_VALUE);
+            olderSources.add(readTheme(themeId, below, limit));
+        });
+        return olderSources;
+    }
+
+    private List<FeedEntry> readTheme(Long themeId, PageCursor after, Limit limit) {
+        return after == null
+                ? articleRepository.findRecentByTheme(themeId, limit)
+                : articleRepository.findRecentByThemeAfter(themeId, after.date(), after.id(), limit);
+    }
+
+    private FeedPage toPage(List<FeedEntry> entries, int pageSize) {
+        String nextCursor = null;
+        if (entries.size() > pageSize) {
+            entries = entries.subList(0, pageSize);
+            FeedEntry last = entries.get(pageSize - 1);
+            nextCursor = new PageCursor(last.date(), last.articleId()).encode();
+        }
+        return new FeedPage(loadItemsInOrder(entries.stream().map(FeedEntry::articleId).toList()), nextCursor);
+    }
+
+    private List<FeedEntry> readTimeline(Long userId, List<Long> pulledThemeIds, PageCursor after, Limit limit) {
+        // Timelines may still hold rows of pulled themes, they are skipped so that both sources stay disjoint
+        if (pulledThemeIds.isEmpty()) {
+            return after == null
+                    ? timelineRepository.findPage(userId, limit)
+                    : timelineRepository.findPageAfter(userId, after.date(), after.id(), limit);
+        }
+        return after == null
+                ? timelineRepository.findPageExcluding(userId, pulledThemeIds, limit)
+                : timelineRepository.findPageAfterExcluding(userId, pulledThemeIds, after.date(), after.id(), limit);
+    }
+
+    /**
+     * Merges lists that are each sorted newest first into a single newest-first list.
+     * An article found in several lists is only kept at its first position.
+     *
+     * @param sources The sorted lists to merge.
+     * @param limit The maximum number of entries to return.
+     * @return The first {@code limit} entries of the merged order.
+     */
+    static List<FeedEntry> mergeByRecency(List<List<FeedEntry>> sources, int limit) {
+        PriorityQueue<SourceHead> heads = new PriorityQueue<>(
+                Comparator.comparing(SourceHead::entry, NEWEST_FIRST));
+        for (List<FeedEntry> source : sources) {
+            if (!source.isEmpty()) {
+                heads.add(new SourceHead(source, 0));
+            }
+        }
+        List<FeedEntry> merged = new ArrayList<>(limit);
+        Set<Long> seen = new HashSet<>();
+        while (merged.size() < limit && !heads.isEmpty()) {
+            SourceHead head = heads.poll();
+            if (seen.add(head.entry().articleId())) {
+                merged.add(head.entry());
+            }
+            if (head.index() + 1 < head.source().size()) {
+                heads.add(new SourceHead(head.source(), head.index() + 1));
+            }
+        }
+        return merged;
+    }
+
+    private List<FeedItem> loadItemsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // A single projection statement, whatever the page size: no entity, theme, author or comment is loaded
+        Map<Long, FeedItem> byId = articleRepository.findFeedItems(ids).stream()
+                .collect(Collectors.toMap(FeedItem::id, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    private record SourceHead(List<FeedEntry> source, int index) {
+        FeedEntry entry() {
+            return source.get(index);
+        }
+    }
+}
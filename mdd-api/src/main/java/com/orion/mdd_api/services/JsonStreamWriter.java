@@ -0,0 +1,70 @@
+package com.orion.mdd_api.services;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes large result sets as JSON while they are read from the database.
+ * Each row is serialized with Jackson's streaming generator as soon as the cursor returns it,
+ * so the memory used by a response does not depend on the number of rows.
+ */
+@Component
+public class JsonStreamWriter {
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public JsonStreamWriter(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Writes a JSON object holding a single array field, filled from a database stream.
+     * The stream is opened, consumed and closed inside one read-only transaction.
+     *
+     * @param output The stream to write the document to, left open.
+     * @param fieldName The name of the array field.
+     * @param rows Opens the database stream of the array elements.
+     * @return The number of elements written.
+     * @throws IOException if the output cannot be written.
+     */
+    public <T> long writeArray(OutputStream output, String fieldName, Supplier<Stream<T>> rows) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(output, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeArrayFieldStart(fieldName);
+            Long written = readOnlyTransaction.execute(status -> writeElements(generator, rows));
+            generator.writeEndArray();
+            generator.writeEndObject();
+            return written;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static <T> long writeElements(JsonGenerator generator, Supplier<Stream<T>> rows) {
+        long written = 0;
+        try (Stream<T> stream = rows.get()) {
+            Iterator<T> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(iterator.next());
+                written++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return written;
+    }
+}
@@ -1,5 +1,6 @@
 package com.orion.mdd_api.services;
 
+import com.orion.mdd_api.dtos.AuthenticatedUser;
 import com.orion.mdd_api.entities.User;
 import com.orion.mdd_api.repositories.UserRepository;
 import org.slf4j.Logger;
@@ -15,9 +16,13 @@ import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.function.Supplier;
 
 /**
  * Service responsible for JWT (JSON Web Token) operations.
@@ -27,9 +32,16 @@ import java.time.temporal.ChronoUnit;
 public class JwtService {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtService.class);
+    static final String USER_ID_CLAIM = "uid";
+    static final String NAME_CLAIM = "name";
+    static final String SCOPE_CLAIM = "scope";
+    static final String LIVE_SCOPE = "live";
+    private static final String CURRENT_USER_ATTRIBUTE = JwtService.class.getName() + ".currentUser";
+    private static final String AUTHENTICATED_USER_ATTRIBUTE = JwtService.class.getName() + ".authenticatedUser";
 
     private final JwtEncoder jwtEncoder;
     private final UserRepository userRepository;
+    private final UserCache userCache;
 
     @Value("${jwt.issuer}")
     private String jwtIssuer;
@@ -37,13 +49,20 @@ public class JwtService {
     @Value("${jwt.expiration.hours}")
     private long jwtExpirationHours;
 
-    public JwtService(JwtEncoder jwtEncoder, UserRepository userRepository) {
+    @Value("${live.ticket-ttl}")
+    private Duration liveTicketTtl;
+
+    public JwtService(JwtEncoder jwtEncoder, UserRepository userRepository, UserCache userCache) {
         this.jwtEncoder = jwtEncoder;
         this.userRepository = userRepository;
+        this.userCache = userCache;
     }
 
     /**
      * Generates a JWT token for the given authentication.
+     * The id and the name of the user are added as claims, so that requests carrying the token identify their user
+     * without reading it from the database. A user changing their name or email gets a new token from the update,
+     * their other tokens keep showing the former values until they expire, after {@code jwt.expiration.hours}.
      *
      * @param authentication The authentication object.
      * @return A JWT token as a string.
@@ -51,25 +70,92 @@ public class JwtService {
     public String generateToken(Authentication authentication) {
         logger.debug("Generating token for user: {}", authentication.getName());
         Instant now = Instant.now();
-        JwtClaimsSet claims = JwtClaimsSet.builder()
+        JwtClaimsSet.Builder claims = JwtClaimsSet.builder()
                 .issuer(jwtIssuer)
                 .issuedAt(now)
                 .expiresAt(now.plus(jwtExpirationHours, ChronoUnit.HOURS))
-                .subject(authentication.getName())
-                .build();
-        String token = this.jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+                .subject(authentication.getName());
+        if (authentication.getPrincipal() instanceof UserInfoDetails details) {
+            claims.claim(USER_ID_CLAIM, details.getId()).claim(NAME_CLAIM, details.getName());
+        }
+        String token = this.jwtEncoder.encode(JwtEncoderParameters.from(claims.build())).getTokenValue();
         logger.info("Token generated successfully for user: {}", authentication.getName());
         return token;
     }
 
+    /**
+     * Generates a ticket opening the live feed of the current user, for clients that cannot send an Authorization
+     * header, such as EventSource. The ticket is a token limited to the live feed scope, so it cannot call any other
+     * endpoint, and expires after {@code live.ticket-ttl} since query strings end up in access logs.
+     * It is only checked when the connection opens: a client reconnecting after an error asks for a new ticket.
+     *
+     * @return The ticket, to be passed as the ticket query parameter of the live feed.
+     * @throws RuntimeException if no authentication is found in the SecurityContext.
+     */
+    public String generateLiveTicket() {
+        AuthenticatedUser user = getAuthenticatedUser();
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(jwtIssuer)
+                .issuedAt(now)
+                .expiresAt(now.plus(liveTicketTtl))
+                .subject(currentJwt().getSubject())
+                .claim(USER_ID_CLAIM, user.id())
+                .claim(NAME_CLAIM, user.name())
+                .claim(SCOPE_CLAIM, LIVE_SCOPE)
+                .build();
+        logger.debug("Generating live feed ticket for user id: {}", user.id());
+        return this.jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+    }
+
     /**
      * Retrieves the current authenticated user based on the JWT in the SecurityContext.
+     * The user is read once per request, later calls during the same request return the same entity.
      *
      * @return The User entity of the currently authenticated user.
      * @throws RuntimeException if no authentication is found in the SecurityContext.
      * @throws UsernameNotFoundException if the user corresponding to the JWT subject is not found.
      */
     public User getCurrentUser() {
+        return memoized(CURRENT_USER_ATTRIBUTE, () -> findUser(currentJwt().getSubject()));
+    }
+
+    /**
+     * Retrieves the identity of the current authenticated user from the claims of their JWT.
+     * The name and the email are those of the user when the token was issued, see {@link #generateToken}.
+     * Tokens issued without the name claim read them from the user cache, and tokens without the id claim from
+     * the database, once per request.
+     *
+     * @return The id, name and email of the currently authenticated user.
+     * @throws RuntimeException if no authentication is found in the SecurityContext.
+     * @throws UsernameNotFoundException if the user of the token is not found.
+     */
+    public AuthenticatedUser getAuthenticatedUser() {
+        return memoized(AUTHENTICATED_USER_ATTRIBUTE, () -> {
+            Jwt jwt = currentJwt();
+            Number id = jwt.getClaim(USER_ID_CLAIM);
+            String name = jwt.getClaimAsString(NAME_CLAIM);
+            if (id == null) {
+                return toAuthenticatedUser(findUser(jwt.getSubject()));
+            }
+            if (name != null) {
+                return new AuthenticatedUser(id.longValue(), name, jwt.getSubject());
+            }
+            return userCache.get(id.longValue(), userId -> toAuthenticatedUser(findUser(userId)));
+        });
+    }
+
+    /**
+     * Retrieves a reference to a user, to be associated with another entity, without reading it.
+     *
+     * @param userId The ID of the user.
+     * @return An uninitialized proxy of the user.
+     */
+    public User getUserReference(Long userId) {
+        return userRepository.getReferenceById(userId);
+    }
+
+    private Jwt currentJwt() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         if (!(authentication instanceof JwtAuthenticationToken jwtAuthenticationToken)) {
@@ -77,9 +163,42 @@ public class JwtService {
             throw new RuntimeException("No JWT authentication found");
         }
 
-        Jwt jwt = (Jwt) jwtAuthenticationToken.getPrincipal();
+        return (Jwt) jwtAuthenticationToken.getPrincipal();
+    }
+
+    /**
+     * Resolves a value once per request, keeping it in the attributes of the current request.
+     * Outside of a request, the value is resolved on every call.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T memoized(String attribute, Supplier<T> resolver) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return resolver.get();
+        }
+        T resolved = (T) request.getAttribute(attribute, RequestAttributes.SCOPE_REQUEST);
+        if (resolved == null) {
+            resolved = resolver.get();
+            request.setAttribute(attribute, resolved, RequestAttributes.SCOPE_REQUEST);
+        }
+        return resolved;
+    }
+
+    private User findUser(Long userId) {
+        logger.debug("Retrieving user for id: {}", userId);
+
+        return userRepository.findById(userId)
+                .orElseThrow(() -> {
+                    logger.error("User not found for id: {}", userId);
+                    return new UsernameNotFoundException("User not found for id: " + userId);
+                });
+    }
+
+    private static AuthenticatedUser toAuthenticatedUser(User user) {
+        return new AuthenticatedUser(user.getId(), user.getName(), user.getEmail());
+    }
 
-        String userEmail = jwt.getSubject();
+    private User findUser(String userEmail) {
         logger.debug("Retrieving user for email: {}", userEmail);
 
         return userRepository.findByEmail(userEmail)
@@ -0,0 +1,261 @@
+package com.orion.mdd_api.services;
+
+import com.orion.mdd_api.dtos.ArticleNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service pushing new articles to connected users over Server-Sent Events.
+ * Open connections hold no thread: they are indexed by the themes their user follows, and a small pool of
+ * dispatch threads writes to them. Each connection buffers at most {@code live.queue-capacity} events; when a slow
+ * client lets its buffer fill up, pending events are dropped and replaced by a single {@code resync} event telling
+ * the client to reload its feed, so one slow consumer never holds back the others.
+ */
+@Service
+public class LiveFeedService {
+    private static final Logger logger = LoggerFactory.getLogger(LiveFeedService.class);
+
+    private final SubscriptionIndex subscriptionIndex;
+    private final int maxConnections;
+    private final long timeoutMillis;
+    private final int queueCapacity;
+    private final ExecutorService dispatcher;
+
+    private final Map<Long, Set<Connection>> connectionsByTheme = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Connection>> connectionsByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final Counter deliveredEvents;
+    private final Counter droppedEvents;
+
+    public LiveFeedService(SubscriptionIndex subscriptionIndex, MeterRegistry meterRegistry,
+                           @Value("${live.max-connections}") int maxConnections,
+                           @Value("${live.timeout-ms}") long timeoutMillis,
+                           @Value("${live.queue-capacity}") int queueCapacity,
+                           @Value("${live.dispatch-threads}") int dispatchThreads) {
+        this.subscriptionIndex = subscriptionIndex;
+        this.maxConnections = maxConnections;
+        this.timeoutMillis = timeoutMillis;
+        this.queueCapacity = queueCapacity;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "live-feed-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("feed.live.connections", openConnections, AtomicInteger::get)
+                .description("Open live feed connections")
+                .register(meterRegistry);
+        this.deliveredEvents = Counter.builder("feed.live.events").tag("outcome", "delivered")
+                .description("Live feed events written to a connection")
+                .register(meterRegistry);
+        this.droppedEvents = Counter.builder("feed.live.events").tag("outcome", "dropped")
+                .description("Live feed events dropped because the connection could not keep up")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a live feed connection for a user, following the themes the user is subscribed to.
+     *
+     * @param userId The ID of the connecting user.
+     * @return The emitter of the connection, or empty when the server already holds the maximum number of connections.
+     */
+    public Optional<SseEmitter> connect(Long userId) {
+        if (openConnections.incrementAndGet() > maxConnections) {
+            openConnections.decrementAndGet();
+            logger.warn("Live feed connection refused for user id: {}, {} connections open", userId, maxConnections);
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Connection connection = new Connection(userId, emitter, queueCapacity);
+        emitter.onCompletion(() -> disconnect(connection));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> disconnect(connection));
+
+        connectionsByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(connection);
+        for (Long themeId : subscriptionIndex.themesOf(userId)) {
+            follow(connection, themeId);
+        }
+        logger.debug("Live feed connection opened for user id: {}", userId);
+        return Optional.of(emitter);
+    }
+
+    /**
+     * Starts pushing the articles of a theme to the open connections of a user, once the subscription is committed.
+     *
+     * @param userId The ID of the subscribing user.
+     * @param themeId The ID of the theme.
+     */
+    public void subscribed(Long userId, Long themeId) {
+        TransactionHooks.afterCommit(() -> connectionsOf(userId).forEach(connection -> follow(connection, themeId)));
+    }
+
+    /**
+     * Stops pushing the articles of a theme to the open connections of a user, once the unsubscription is committed.
+     *
+     * @param userId The ID of the unsubscribing user.
+     * @param themeId The ID of the theme.
+     */
+    public void unsubscribed(Long userId, Long themeId) {
+        TransactionHooks.afterCommit(() -> connectionsOf(userId).forEach(connection -> unfollow(connection, themeId)));
+    }
+
+    /**
+     * Pushes a committed article to every open connection following its theme.
+     *
+     * @param notification The published article.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlePublished(ArticleNotification notification) {
+        for (Connection connection : connectionsByTheme.getOrDefault(notification.themeId(), Set.of())) {
+            connection.offer(notification);
+        }
+    }
+
+    /**
+     * Sends a comment line on every idle connection, so that proxies keep them open and dead clients are detected.
+     */
+    @Scheduled(fixedDelayString = "${live.heartbeat-interval-ms}")
+    public void heartbeat() {
+        connectionsByUser.values().forEach(connections -> connections.forEach(Connection::requestHeartbeat));
+    }
+
+    public int openConnections() {
+        return openConnections.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connectionsByUser.values().forEach(connections -> connections.forEach(connection -> connection.emitter.complete()));
+        dispatcher.shutdownNow();
+    }
+
+    private Set<Connection> connectionsOf(Long userId) {
+        return connectionsByUser.getOrDefault(userId, Set.of());
+    }
+
+    private void follow(Connection connection, Long themeId) {
+        connection.themeIds.add(themeId);
+        connectionsByTheme.computeIfAbsent(themeId, id -> ConcurrentHashMap.newKeySet()).add(connection);
+    }
+
+    private void unfollow(Connection connection, Long themeId) {
+        connection.themeIds.remove(themeId);
+        connectionsByTheme.computeIfPresent(themeId, (id, connections) -> {
+            connections.remove(connection);
+            return connections.isEmpty() ? null : connections;
+        });
+    }
+
+    private void disconnect(Connection connection) {
+        if (!connection.closed.compareAndSet(false, true)) {
+            return;
+        }
+        Set.copyOf(connection.themeIds).forEach(themeId -> unfollow(connection, themeId));
+        connectionsByUser.computeIfPresent(connection.userId, (id, connections) -> {
+            connections.remove(connection);
+            return connections.isEmpty() ? null : connections;
+        });
+        openConnections.decrementAndGet();
+        logger.debug("Live feed connection closed for user id: {}", connection.userId);
+    }
+
+    /**
+     * One open SSE connection and its bounded buffer of events not written yet.
+     * At most one dispatch thread drains a connection at a time, so events are written in order.
+     */
+    private final class Connection {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<ArticleNotification> pending;
+        private final Set<Long> themeIds = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Connection(Long userId, SseEmitter emitter, int queueCapacity) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        private void offer(ArticleNotification notification) {
+            if (!pending.offer(notification)) {
+                droppedEvents.increment();
+                overflowed.set(true);
+            }
+            scheduleDrain();
+        }
+
+        private void requestHeartbeat() {
+            if (pending.isEmpty()) {
+                heartbeatDue.set(true);
+                scheduleDrain();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (closed.get() || !draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                dispatcher.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                if (overflowed.getAndSet(false)) {
+                    droppedEvents.increment(pending.size());
+                    pending.clear();
+                    emitter.send(SseEmitter.event().name("resync").data(""));
+                }
+                ArticleNotification notification;
+                while ((notification = pending.poll()) != null) {
+                    emitter.send(SseEmitter.event()
+                            .name("article")
+                            .id(String.valueOf(notification.id()))
+                            .data(notification, MediaType.APPLICATION_JSON));
+                    deliveredEvents.increment();
+                }
+                if (heartbeatDue.getAndSet(false)) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Live feed connection lost for user id: {}", userId, e);
+                emitter.completeWithError(e);
+                disconnect(this);
+            } finally {
+                draining.set(false);
+            }
+            if (!pending.isEmpty() || overflowed.get() || heartbeatDue.get()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.orion.mdd_api.services;
+
+import com.orion.mdd_api.dtos.FeedEntry;
+import com.orion.mdd_api.repositories.ArticleRepository;
+import com.orion.mdd_api.repositories.ThemeRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * In-memory index of the most recent articles of every theme.
+ * Each theme owns a bounded ring buffer of article ids and dates that writers append to without locking,
+ * so it always holds the newest {@code feed.recent.capacity} articles of the theme.
+ */
+@Component
+// The change log position is taken before loading, changes committed meanwhile are applied afterwards
+@DependsOn("changeLogPosition")
+public class RecentArticlesIndex {
+    private static final Logger logger = LoggerFactory.getLogger(RecentArticlesIndex.class);
+
+    private final ArticleRepository articleRepository;
+    private final ThemeRepository themeRepository;
+    private final int capacity;
+    private final Map<Long, ThemeRing> rings = new ConcurrentHashMap<>();
+
+    public RecentArticlesIndex(ArticleRepository articleRepository, ThemeRepository themeRepository,
+                               @Value("${feed.recent.capacity}") int capacity) {
+        this.articleRepository = articleRepository;
+        this.themeRepository = themeRepository;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Loads the newest articles of every theme, before the application starts serving requests.
+     */
+    @PostConstruct
+    public void warmUp() {
+        List<Long> themeIds = themeRepository.findAllIds();
+        for (Long themeId : themeIds) {
+            List<FeedEntry> recent = articleRepository.findRecentByTheme(themeId, Limit.of(capacity));
+            ThemeRing ring = ringOf(themeId);
+            for (int i = recent.size() - 1; i >= 0; i--) {
+                ring.append(recent.get(i));
+            }
+        }
+        logger.info("Recent articles index warmed up for {} themes", themeIds.size());
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Records a newly published article.
+     *
+     * @param entry The article id, theme id and date.
+     */
+    public void append(FeedEntry entry) {
+        ringOf(entry.themeId()).append(entry);
+    }
+
+    /**
+     * Returns the newest articles of a theme, newest first.
+     *
+     * @param themeId The id of the theme.
+     * @return At most {@link #capacity()} entries.
+     */
+    public List<FeedEntry> recent(Long themeId) {
+        ThemeRing ring = rings.get(themeId);
+        return ring == null ? List.of() : ring.snapshot();
+    }
+
+    private ThemeRing ringOf(Long themeId) {
+        return rings.computeIfAbsent(themeId, id -> new ThemeRing(capacity));
+    }
+
+    /**
+     * Fixed-size ring where each writer claims a sequence number and owns the matching slot.
+     * Readers keep only slots whose sequence is the one they expect, which skips slots
+     * that are still being written or that were overwritten while reading.
+     */
+    static final class ThemeRing {
+        private final AtomicReferenceArray<Slot> slots;
+        private final AtomicLong next = new AtomicLong();
+
+        ThemeRing(int capacity) {
+            this.slots = new AtomicReferenceArray<>(capacity);
+        }
+
+        void append(FeedEntry entry) {
+            long sequence = next.getAndIncrement();
+            int index = slotOf(sequence);
+            Slot slot = new Slot(sequence, entry);
+            Slot current;
+            do {
+                current = slots.get(index);
+                // A writer that lapped this one already owns the slot
+                if (current != null && current.sequence() > sequence) {
+                    return;
+                }
+            } while (!slots.compareAndSet(index, current, slot));
+        }
+
+        List<FeedEntry> snapshot() {
+            long end = next.get();
+            long start = Math.max(0, end - slots.length());
+            List<FeedEntry> entries = new ArrayList<>((int) (end - start));
+            for (long sequence = end - 1; sequence >= start; sequence--) {
+                Slot slot = slots.get(slotOf(sequence));
+                if (slot != null && slot.sequence() == sequence) {
+                    entries.add(slot.entry());
+                }
+            }
+            // Concurrent writers may commit slightly out of date order
+            entries.sort(FeedService.NEWEST_FIRST);
+            return entries;
+        }
+
+        private int slotOf(long sequence) {
+            return (int) (sequence % slots.length());
+        }
+    }
+
+    private record Slot(long sequence, FeedEntry entry) {
+    }
+}
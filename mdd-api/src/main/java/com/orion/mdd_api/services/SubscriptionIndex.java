@@ -0,0 +1,164 @@
+package com.orion.mdd_api.services;
+
+import com.orion.mdd_api.dtos.Subscription;
+import com.orion.mdd_api.repositories.ThemeRepository;
+import jakarta.annotation.PostConstruct;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the subscriptions, as compressed bitmaps of the subscribers of every theme
+ * and of the themes of every user.
+ * Bitmaps are never modified once published: writers replace the bitmap of a theme or a user with an updated copy,
+ * so readers use them without locking. Subscriptions change far less often than they are read.
+ * Ids are stored as ints, which the auto-increment ids of users and themes never exceed.
+ */
+@Component
+// The change log position is taken before loading, changes committed meanwhile are applied afterwards
+@DependsOn("changeLogPosition")
+public class SubscriptionIndex {
+    private static final Logger logger = LoggerFactory.getLogger(SubscriptionIndex.class);
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private final ThemeRepository themeRepository;
+    private final Map<Long, RoaringBitmap> subscribersByTheme = new ConcurrentHashMap<>();
+    private final Map<Long, RoaringBitmap> themesByUser = new ConcurrentHashMap<>();
+
+    public SubscriptionIndex(ThemeRepository themeRepository) {
+        this.themeRepository = themeRepository;
+    }
+
+    /**
+     * Loads every subscription, before the application starts serving requests.
+     */
+    @PostConstruct
+    public void load() {
+        List<Subscription> subscriptions = themeRepository.findAllSubscriptions();
+        Map<Long, RoaringBitmap> subscribers = new HashMap<>();
+        Map<Long, RoaringBitmap> themes = new HashMap<>();
+        for (Subscription subscription : subscriptions) {
+            subscribers.computeIfAbsent(subscription.themeId(), id -> new RoaringBitmap()).add(toInt(subscription.userId()));
+            themes.computeIfAbsent(subscription.userId(), id -> new RoaringBitmap()).add(toInt(subscription.themeId()));
+        }
+        subscribers.values().forEach(RoaringBitmap::runOptimize);
+        themes.values().forEach(RoaringBitmap::runOptimize);
+        subscribersByTheme.putAll(subscribers);
+        themesByUser.putAll(themes);
+        logger.info("Subscription index loaded with {} subscriptions", subscriptions.size());
+    }
+
+    /**
+     * Records a new subscription once the current transaction commits.
+     *
+     * @param userId The ID of the subscribing user.
+     * @param themeId The ID of the theme.
+     */
+    public void subscribed(Long userId, Long themeId) {
+        TransactionHooks.afterCommit(() -> {
+            subscribersByTheme.compute(themeId, (id, bitmap) -> with(bitmap, toInt(userId)));
+            themesByUser.compute(userId, (id, bitmap) -> with(bitmap, toInt(themeId)));
+        });
+    }
+
+    /**
+     * Forgets a subscription once the current transaction commits.
+     *
+     * @param userId The ID of the unsubscribing user.
+     * @param themeId The ID of the theme.
+     */
+    public void unsubscribed(Long userId, Long themeId) {
+        TransactionHooks.afterCommit(() -> {
+            subscribersByTheme.computeIfPresent(themeId, (id, bitmap) -> without(bitmap, toInt(userId)));
+            themesByUser.computeIfPresent(userId, (id, bitmap) -> without(bitmap, toInt(themeId)));
+        });
+    }
+
+    /**
+     * Retrieves the themes a user is subscribed to.
+     *
+     * @param userId The ID of the user.
+     * @return The IDs of the themes, in ascending order.
+     */
+    public List<Long> themesOf(Long userId) {
+        return toIds(themesByUser.getOrDefault(userId, EMPTY));
+    }
+
+    /**
+     * Retrieves the subscribers of a theme.
+     *
+     * @param themeId The ID of the theme.
+     * @return The IDs of the subscribers, in ascending order.
+     */
+    public List<Long> subscribersOf(Long themeId) {
+        return toIds(subscribersByTheme.getOrDefault(themeId, EMPTY));
+    }
+
+    public long subscriberCount(Long themeId) {
+        return subscribersByTheme.getOrDefault(themeId, EMPTY).getLongCardinality();
+    }
+
+    public boolean isSubscribed(Long userId, Long themeId) {
+        return themesByUser.getOrDefault(userId, EMPTY).contains(toInt(themeId));
+    }
+
+    /**
+     * Retrieves the users subscribed to every one of several themes.
+     *
+     * @param themeIds The IDs of the themes.
+     * @return The IDs of the users following all the themes, in ascending order, none if no theme is given.
+     */
+    public List<Long> subscribersOfAll(Collection<Long> themeIds) {
+        if (themeIds.isEmpty()) {
+            return List.of();
+        }
+        RoaringBitmap[] bitmaps = themeIds.stream()
+                .map(themeId -> subscribersByTheme.getOrDefault(themeId, EMPTY))
+                .toArray(RoaringBitmap[]::new);
+        return toIds(FastAggregation.and(bitmaps));
+    }
+
+    /**
+     * Retrieves the themes two users are both subscribed to.
+     *
+     * @param userId The ID of a user.
+     * @param otherUserId The ID of the other user.
+     * @return The IDs of the common themes, in ascending order.
+     */
+    public List<Long> themesInCommon(Long userId, Long otherUserId) {
+        return toIds(RoaringBitmap.and(themesByUser.getOrDefault(userId, EMPTY),
+                themesByUser.getOrDefault(otherUserId, EMPTY)));
+    }
+
+    private static RoaringBitmap with(RoaringBitmap bitmap, int id) {
+        RoaringBitmap copy = bitmap == null ? new RoaringBitmap() : bitmap.clone();
+        copy.add(id);
+        return copy;
+    }
+
+    private static RoaringBitmap without(RoaringBitmap bitmap, int id) {
+        RoaringBitmap copy = bitmap.clone();
+        copy.remove(id);
+        return copy.isEmpty() ? null : copy;
+    }
+
+    private static List<Long> toIds(RoaringBitmap bitmap) {
+        List<Long> ids = new ArrayList<>(bitmap.getCardinality());
+        bitmap.forEach((int id) -> ids.add((long) id));
+        return ids;
+    }
+
+    private static int toInt(Long id) {
+        return Math.toIntExact(id);
+    }
+}
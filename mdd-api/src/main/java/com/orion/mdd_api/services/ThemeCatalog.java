@@ -0,0 +1,111 @@
+package com.orion.mdd_api.services;
+
+import com.orion.mdd_api.dtos.ThemeSummary;
+import com.orion.mdd_api.repositories.ThemeRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory copy of the theme catalog, indexed by id and by title.
+ * The catalog is an immutable snapshot replaced as a whole, so readers never see it half rebuilt and need no lock.
+ * Themes are not edited through the API: the snapshot is reloaded every {@code themes.catalog.refresh-interval-ms},
+ * or sooner when a lookup misses, and replaced only when the themes changed.
+ */
+@Component
+public class ThemeCatalog {
+    private static final Logger logger = LoggerFactory.getLogger(ThemeCatalog.class);
+    // Lookups of unknown themes reload the catalog at most this often
+    static final long MISS_RELOAD_INTERVAL_MS = 1000;
+
+    private final ThemeRepository themeRepository;
+    private final ContentVersionService contentVersions;
+    private volatile Snapshot snapshot = new Snapshot(0, List.of(), Map.of(), Map.of());
+    private volatile long loadedAt;
+
+    public ThemeCatalog(ThemeRepository themeRepository, ContentVersionService contentVersions) {
+        this.themeRepository = themeRepository;
+        this.contentVersions = contentVersions;
+    }
+
+    /**
+     * Loads the themes, before the application starts serving requests, then checks them for changes periodically.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${themes.catalog.refresh-interval-ms}", initialDelayString = "${themes.catalog.refresh-interval-ms}")
+    public synchronized void reload() {
+        List<ThemeSummary> themes = themeRepository.findSummaries();
+        loadedAt = System.currentTimeMillis();
+        Snapshot current = snapshot;
+        if (current.version() > 0 && current.themes().equals(themes)) {
+            return;
+        }
+        Map<Long, ThemeSummary> byId = new HashMap<>();
+        Map<String, ThemeSummary> byTitre = new HashMap<>();
+        for (ThemeSummary theme : themes) {
+            byId.put(theme.id(), theme);
+            // Titles are expected to be unique, the oldest theme wins otherwise
+            byTitre.putIfAbsent(theme.titre(), theme);
+        }
+        snapshot = new Snapshot(current.version() + 1, List.copyOf(themes), Map.copyOf(byId), Map.copyOf(byTitre));
+        if (current.version() > 0) {
+            contentVersions.catalogChanged();
+        }
+        logger.info("Theme catalog version {} loaded with {} themes", current.version() + 1, themes.size());
+    }
+
+    /**
+     * Retrieves every theme, in id order.
+     */
+    public List<ThemeSummary> themes() {
+        return snapshot.themes();
+    }
+
+    public Optional<ThemeSummary> byId(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        ThemeSummary theme = snapshot.byId().get(id);
+        if (theme == null && reloadAfterMiss()) {
+            theme = snapshot.byId().get(id);
+        }
+        return Optional.ofNullable(theme);
+    }
+
+    public Optional<ThemeSummary> byTitre(String titre) {
+        if (titre == null) {
+            return Optional.empty();
+        }
+        ThemeSummary theme = snapshot.byTitre().get(titre);
+        if (theme == null && reloadAfterMiss()) {
+            theme = snapshot.byTitre().get(titre);
+        }
+        return Optional.ofNullable(theme);
+    }
+
+    public long version() {
+        return snapshot.version();
+    }
+
+    /**
+     * Reloads the catalog for a theme added since the last load, unless it was loaded very recently.
+     */
+    private boolean reloadAfterMiss() {
+        if (System.currentTimeMillis() - loadedAt < MISS_RELOAD_INTERVAL_MS) {
+            return false;
+        }
+        reload();
+        return true;
+    }
+
+    private record Snapshot(long version, List<ThemeSummary> themes, Map<Long, ThemeSummary> byId,
+                            Map<String, ThemeSummary> byTitre) {
+    }
+}
@@ -1,61 +1,200 @@
 package com.orion.mdd_api.services;
 
+import com.orion.mdd_api.dtos.AuthenticatedUser;
+import com.orion.mdd_api.dtos.SubscriptionsUpdate;
+import com.orion.mdd_api.dtos.ThemeItem;
+import com.orion.mdd_api.dtos.ThemeSummary;
+import com.orion.mdd_api.entities.CounterKind;
 import com.orion.mdd_api.entities.Theme;
-import com.orion.mdd_api.entities.User;
 import com.orion.mdd_api.repositories.ThemeRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 @Service
 public class ThemeService {
     private final ThemeRepository themeRepository;
+    private final ThemeCatalog themeCatalog;
+    private final SubscriptionIndex subscriptionIndex;
+    private final FeedService feedService;
+    private final CounterService counterService;
+    private final LiveFeedService liveFeedService;
+    private final ContentVersionService contentVersions;
+    private final ChangeLogService changeLogService;
 
-    public ThemeService(ThemeRepository themeRepository) {
+    public ThemeService(ThemeRepository themeRepository, ThemeCatalog themeCatalog, SubscriptionIndex subscriptionIndex, FeedService feedService, CounterService counterService,
+                        LiveFeedService liveFeedService, ContentVersionService contentVersions,
+                        ChangeLogService changeLogService) {
         this.themeRepository = themeRepository;
+        this.themeCatalog = themeCatalog;
+        this.subscriptionIndex = subscriptionIndex;
+        this.feedService = feedService;
+        this.counterService = counterService;
+        this.liveFeedService = liveFeedService;
+        this.contentVersions = contentVersions;
+        this.changeLogService = changeLogService;
     }
 
     /**
-     * Retrieves all themes.
+     * Retrieves all themes from the catalog, with their number of subscribers taken from the counters
+     * and whether the reader follows them, taken from the subscription index.
      *
-     * @return A list of all Theme entities.
+     * @param userId The ID of the reading user.
+     * @return Every theme, in id order.
      */
-    public List<Theme> getAllThemes() {
-        return themeRepository.findAll();
-    }
-
-    public List<Theme> getThemesByUser(User user) {
-        return themeRepository.findByAbonnesContains(user);
+    public List<ThemeItem> getAllThemes(Long userId) {
+        List<ThemeSummary> themes = themeCatalog.themes();
+        Map<Long, Long> abonnes = counterService.getAll(CounterKind.THEME_SUBSCRIBERS,
+                themes.stream().map(ThemeSummary::id).toList());
+        Set<Long> abonnements = new HashSet<>(subscriptionIndex.themesOf(userId));
+        return themes.stream()
+                .map(theme -> new ThemeItem(theme.id(), theme.titre(), theme.description(),
+                        abonnes.getOrDefault(theme.id(), 0L), abonnements.contains(theme.id())))
+                .toList();
     }
 
     /**
-     * Retrieves a theme by its ID.
+     * Retrieves a theme by its title, from the catalog.
      *
      * @param titre The title of the theme to retrieve.
-     * @return The Rental entity.
+     * @return The ThemeSummary of the theme.
      * @throws RuntimeException if the theme is not found.
      */
-    public Theme getThemeByTitre(String titre) {
-        return themeRepository.findByTitre(titre)
+    public ThemeSummary getThemeByTitre(String titre) {
+        return themeCatalog.byTitre(titre)
                 .orElseThrow(() -> new RuntimeException("Theme not found with titre: " + titre));
     }
 
+    /**
+     * Retrieves a reference to a theme, to be associated with another entity, without reading it.
+     *
+     * @param themeId The ID of the theme.
+     * @return An uninitialized proxy of the theme.
+     */
+    public Theme getThemeReference(Long themeId) {
+        return themeRepository.getReferenceById(themeId);
+    }
+
+    /**
+     * Subscribes a user to a theme with a single row insert, without loading the subscribers of the theme.
+     * Subscribing twice to the same theme has no effect, even when both requests run concurrently.
+     *
+     * @param themeId The ID of the theme.
+     * @param currentUser The subscribing user.
+     * @throws RuntimeException if the theme is not found.
+     */
+    @Transactional
+    public void subscribe(Long themeId, AuthenticatedUser currentUser) {
+        requireTheme(themeId);
+        if (themeRepository.insertSubscription(currentUser.id(), themeId) == 0) {
+            return;
+        }
+        feedService.backfill(currentUser.id(), List.of(themeId));
+        subscribed(currentUser.id(), themeId);
+        contentVersions.feedChanged();
+        contentVersions.catalogChanged();
+    }
+
+    /**
+     * Unsubscribes a user from a theme with a single row delete.
+     * Unsubscribing from a theme the user does not follow has no effect.
+     *
+     * @param themeId The ID of the theme.
+     * @param currentUser The unsubscribing user.
+     * @throws RuntimeException if the theme is not found.
+     */
     @Transactional
-    public void subscribe(Long themeId, User currentUser) {
-        Theme theme = themeRepository.findById(themeId)
-                .orElseThrow(() -> new RuntimeException("Theme not found with id: " + themeId));
-        theme.addSubscriber(currentUser);
-        currentUser.addTheme(theme);
-        themeRepository.save(theme);
+    public void unsubscribe(Long themeId, AuthenticatedUser currentUser) {
+        requireTheme(themeId);
+        if (themeRepository.deleteSubscription(currentUser.id(), themeId) == 0) {
+            return;
+        }
+        feedService.prune(currentUser.id(), List.of(themeId));
+        unsubscribed(currentUser.id(), themeId);
+        contentVersions.feedChanged();
+        contentVersions.catalogChanged();
     }
 
+    /**
+     * Replaces the subscriptions of a user, or adds and removes some of them, in a single transaction.
+     * The subscriptions of the user are locked first, so concurrent changes of the same user are applied one after
+     * the other, and the rows and timelines of all the changed themes are written with one statement each.
+     *
+     * @param update Either the full set of themes to follow, or the themes to add and to remove.
+     * @param currentUser The user whose subscriptions change.
+     * @return The IDs of the themes the user follows afterwards, in ascending order.
+     * @throws IllegalArgumentException if the update mixes a full set with changes, or adds and removes the same theme.
+     * @throws RuntimeException if a theme is not found.
+     */
     @Transactional
-    public void unsubscribe(Long themeId, User currentUser) {
-        Theme theme = themeRepository.findById(themeId)
-                .orElseThrow(() -> new RuntimeException("Theme not found with id: " + themeId));
-        theme.removeSubscriber(currentUser);
-        currentUser.removeTheme(theme);
-        themeRepository.save(theme);
+    public List<Long> updateSubscriptions(SubscriptionsUpdate update, AuthenticatedUser currentUser) {
+        Long userId = currentUser.id();
+        Set<Long> current = new TreeSet<>(themeRepository.lockSubscriptions(userId));
+        Set<Long> target = targetSubscriptions(update, current);
+        target.forEach(this::requireTheme);
+
+        List<Long> added = target.stream().filter(themeId -> !current.contains(themeId)).toList();
+        List<Long> removed = current.stream().filter(themeId -> !target.contains(themeId)).toList();
+        if (!added.isEmpty()) {
+            themeRepository.insertSubscriptions(userId, added);
+            feedService.backfill(userId, added);
+            added.forEach(themeId -> subscribed(userId, themeId));
+        }
+        if (!removed.isEmpty()) {
+            themeRepository.deleteSubscriptions(userId, removed);
+            feedService.prune(userId, removed);
+            removed.forEach(themeId -> unsubscribed(userId, themeId));
+        }
+        if (!added.isEmpty() || !removed.isEmpty()) {
+            contentVersions.feedChanged();
+            contentVersions.catalogChanged();
+        }
+        return List.copyOf(target);
+    }
+
+    private static Set<Long> targetSubscriptions(SubscriptionsUpdate update, Set<Long> current) {
+        if (update.themeIds() != null) {
+            if (update.add() != null || update.remove() != null) {
+                throw new IllegalArgumentException("Subscriptions are either replaced or changed, not both");
+            }
+            return new TreeSet<>(update.themeIds());
+        }
+        Set<Long> add = update.add() == null ? Set.of() : update.add();
+        Set<Long> remove = update.remove() == null ? Set.of() : update.remove();
+        if (add.stream().anyMatch(remove::contains)) {
+            throw new IllegalArgumentException("A theme cannot be both added and removed");
+        }
+        Set<Long> target = new TreeSet<>(current);
+        target.addAll(add);
+        target.removeAll(remove);
+        return target;
+    }
+
+    private void subscribed(Long userId, Long themeId) {
+        // The index only counts this subscription once the transaction commits
+        feedService.subscribersChanged(themeId, subscriptionIndex.subscriberCount(themeId) + 1);
+        counterService.increment(CounterKind.THEME_SUBSCRIBERS, themeId);
+        subscriptionIndex.subscribed(userId, themeId);
+        liveFeedService.subscribed(userId, themeId);
+        changeLogService.subscribed(userId, themeId);
+    }
+
+    private void unsubscribed(Long userId, Long themeId) {
+        feedService.subscribersChanged(themeId, subscriptionIndex.subscriberCount(themeId) - 1);
+        counterService.decrement(CounterKind.THEME_SUBSCRIBERS, themeId);
+        subscriptionIndex.unsubscribed(userId, themeId);
+        liveFeedService.unsubscribed(userId, themeId);
+        changeLogService.unsubscribed(userId, themeId);
+    }
+
+    private void requireTheme(Long themeId) {
+        if (themeCatalog.byId(themeId).isEmpty()) {
+            throw new RuntimeException("Theme not found with id: " + themeId);
+        }
     }
 }
@@ -0,0 +1,169 @@
+package com.orion.mdd_api.services;
+
+import com.orion.mdd_api.dtos.FeedEntry;
+import com.orion.mdd_api.dtos.TrendingCursor;
+import com.orion.mdd_api.repositories.ArticleRepository;
+import com.orion.mdd_api.repositories.CommentaireRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory ranking of the liveliest articles of every theme.
+ * Publishing an article and commenting it add to its score, and every contribution loses half of its weight
+ * every {@code trending.half-life-hours}. Scores are kept as the logarithm of the contributions scaled forward
+ * to the time they happened, so decay applies to every article alike and never reorders them: scores only change
+ * when something happens, and each theme keeps its best {@code trending.capacity} articles in a sorted set.
+ */
+@Component
+// The change log position is taken before loading, changes committed meanwhile are applied afterwards
+@DependsOn("changeLogPosition")
+public class TrendingIndex {
+    private static final Logger logger = LoggerFactory.getLogger(TrendingIndex.class);
+    static final double PUBLICATION_WEIGHT = 3;
+    static final double COMMENT_WEIGHT = 1;
+    static final Comparator<Ranked> BEST_FIRST =
+            Comparator.comparingDouble(Ranked::score).thenComparing(Ranked::articleId).reversed();
+    private static final long EPOCH_MILLIS = LocalDateTime.of(2024, 1, 1, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+
+    private final ArticleRepository articleRepository;
+    private final CommentaireRepository commentaireRepository;
+    private final double decayPerMilli;
+    private final int capacity;
+    private final int warmUpDays;
+    private final Map<Long, ThemeRanking> rankings = new ConcurrentHashMap<>();
+
+    public TrendingIndex(ArticleRepository articleRepository, CommentaireRepository commentaireRepository,
+                         @Value("${trending.half-life-hours}") double halfLifeHours,
+                         @Value("${trending.capacity}") int capacity,
+                         @Value("${trending.warm-up-days}") int warmUpDays) {
+        this.articleRepository = articleRepository;
+        this.commentaireRepository = commentaireRepository;
+        this.decayPerMilli = Math.log(2) / (halfLifeHours * 3_600_000);
+        this.capacity = capacity;
+        this.warmUpDays = warmUpDays;
+    }
+
+    /**
+     * Replays the publications and comments of the last {@code trending.warm-up-days}, before the application
+     * starts serving requests. Older activity has decayed too much to matter.
+     */
+    @PostConstruct
+    public void warmUp() {
+        LocalDateTime since = LocalDateTime.now().minusDays(warmUpDays);
+        List<FeedEntry> publications = articleRepository.findPublishedSince(since);
+        List<FeedEntry> comments = commentaireRepository.findPostedSince(since);
+        publications.forEach(entry -> record(entry, PUBLICATION_WEIGHT));
+        comments.forEach(entry -> record(entry, COMMENT_WEIGHT));
+        logger.info("Trending index warmed up with {} articles and {} comments", publications.size(), comments.size());
+    }
+
+    /**
+     * Ranks a new article once the current transaction commits.
+     *
+     * @param entry The article, its theme and its publication date.
+     */
+    public void published(FeedEntry entry) {
+        TransactionHooks.afterCommit(() -> record(entry, PUBLICATION_WEIGHT));
+    }
+
+    /**
+     * Raises the score of a commented article once the current transaction commits.
+     *
+     * @param entry The article, its theme and the date of the comment.
+     */
+    public void commented(FeedEntry entry) {
+        TransactionHooks.afterCommit(() -> record(entry, COMMENT_WEIGHT));
+    }
+
+    /**
+     * Retrieves the best ranked articles of a theme.
+     *
+     * @param themeId The ID of the theme.
+     * @param after The position of the last article of the previous page, or null for the first page.
+     * @param limit The maximum number of articles to return.
+     * @return The articles ranked after the cursor, best first.
+     */
+    public List<Ranked> top(Long themeId, TrendingCursor after, int limit) {
+        ThemeRanking ranking = rankings.get(themeId);
+        return ranking == null ? List.of() : ranking.top(after, limit);
+    }
+
+    private void record(FeedEntry entry, double weight) {
+        LocalDateTime date = entry.date() == null ? LocalDateTime.now() : entry.date();
+        double contribution = Math.log(weight)
+                + decayPerMilli * (date.toInstant(ZoneOffset.UTC).toEpochMilli() - EPOCH_MILLIS);
+        rankings.computeIfAbsent(entry.themeId(), id -> new ThemeRanking()).add(entry.articleId(), contribution);
+    }
+
+    /**
+     * Adds two scores kept as logarithms without leaving the logarithmic scale.
+     */
+    static double logSum(double a, double b) {
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(-Math.abs(a - b)));
+    }
+
+    /**
+     * Score of an article, in the log scale of {@link TrendingIndex}.
+     */
+    public record Ranked(Long articleId, double score) {
+    }
+
+    /**
+     * Best articles of one theme. Writers are serialized per theme; readers walk the sorted set without locking
+     * and skip the rare article seen twice while its score moves.
+     */
+    private final class ThemeRanking {
+        private final NavigableSet<Ranked> byScore = new ConcurrentSkipListSet<>(BEST_FIRST);
+        private final Map<Long, Ranked> byArticle = new ConcurrentHashMap<>();
+
+        private synchronized void add(Long articleId, double contribution) {
+            Ranked previous = byArticle.get(articleId);
+            Ranked next = new Ranked(articleId, previous == null ? contribution : logSum(previous.score(), contribution));
+            if (previous == null && byArticle.size() >= capacity && BEST_FIRST.compare(next, byScore.last()) > 0) {
+                return;
+            }
+            byScore.add(next);
+            byArticle.put(articleId, next);
+            if (previous != null) {
+                byScore.remove(previous);
+            }
+            while (byArticle.size() > capacity) {
+                byArticle.remove(byScore.pollLast().articleId());
+            }
+        }
+
+        private List<Ranked> top(TrendingCursor after, int limit) {
+            NavigableSet<Ranked> from = after == null
+                    ? byScore
+                    : byScore.tailSet(new Ranked(after.id(), after.score()), false);
+            List<Ranked> top = new ArrayList<>(limit);
+            Set<Long> seen = new HashSet<>();
+            for (Ranked ranked : from) {
+                if (top.size() == limit) {
+                    break;
+                }
+                if (seen.add(ranked.articleId())) {
+                    top.add(ranked);
+                }
+            }
+            return top;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.orion.mdd_api.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.orion.mdd_api.dtos.AuthenticatedUser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Cache of the name and email of the users resolved from the id claim of tokens issued without the name claim.
+ * Entries are dropped when the user is updated, on this node or on another one through the change log, and are
+ * never kept longer than {@code users.cache.ttl} in case an update is missed.
+ * Hits, misses and evictions are exported as the {@code cache.*} metrics of the {@value #CACHE_NAME} cache.
+ */
+@Component
+public class UserCache {
+    static final String CACHE_NAME = "users";
+
+    private final Cache<Long, AuthenticatedUser> entries;
+
+    public UserCache(MeterRegistry meterRegistry,
+                     @Value("${users.cache.capacity}") int capacity,
+                     @Value("${users.cache.ttl}") Duration ttl) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(capacity)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, CACHE_NAME);
+    }
+
+    /**
+     * Retrieves a user by their id, loading it on a miss.
+     * Concurrent misses on the same user load it once.
+     *
+     * @param userId The ID of the user, read from their token.
+     * @param loader Loads the user on a miss.
+     * @return The cached or loaded user.
+     */
+    public AuthenticatedUser get(Long userId, Function<Long, AuthenticatedUser> loader) {
+        return entries.get(userId, loader);
+    }
+
+    /**
+     * Drops the entry of a user once the current transaction commits.
+     *
+     * @param userId The ID of the updated user.
+     */
+    public void evict(Long userId) {
+        TransactionHooks.afterCommit(() -> entries.invalidate(userId));
+    }
+
+    public long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+}
@@ -13,14 +13,26 @@ import java.util.Collections;
  */
 public class UserInfoDetails implements UserDetails {
 
+    private Long id;
+    private String name;
     private String username;
     private String password;
 
     public UserInfoDetails(User user) {
+        this.id = user.getId();
+        this.name = user.getName();
         this.username = user.getEmail(); // Email is used as 'username'
         this.password = user.getPassword();
     }
 
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return Collections.EMPTY_LIST;
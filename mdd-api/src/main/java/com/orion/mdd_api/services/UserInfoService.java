@@ -24,10 +24,18 @@ public class UserInfoService implements UserDetailsService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ContentVersionService contentVersions;
+    private final ChangeLogService changeLogService;
+    private final UserCache userCache;
 
-    public UserInfoService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserInfoService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                           ContentVersionService contentVersions, ChangeLogService changeLogService,
+                           UserCache userCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.contentVersions = contentVersions;
+        this.changeLogService = changeLogService;
+        this.userCache = userCache;
     }
 
     /**
@@ -81,6 +89,10 @@ public class UserInfoService implements UserDetailsService {
         user.setName(credential.username());
         user.setEmail(credential.email());
         User savedUser = userRepository.save(user);
+        // Articles and comments show the name of their author
+        contentVersions.allArticlesChanged();
+        changeLogService.userUpdated(savedUser.getId());
+        userCache.evict(savedUser.getId());
         logger.info("User added successfully: {}", savedUser.getId());
         return savedUser.getId();
     }
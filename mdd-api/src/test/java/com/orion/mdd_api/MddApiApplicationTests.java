@@ -3,7 +3,7 @@ package com.orion.mdd_api;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "search.index-dir=target/search-index/context")
 class MddApiApplicationTests {
 
 	@Test
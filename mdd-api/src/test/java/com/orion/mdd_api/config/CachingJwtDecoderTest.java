@@ -0,0 +1,104 @@
+package com.orion.mdd_api.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingJwtDecoderTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+
+    @Mock
+    private JwtDecoder delegate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CachingJwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        decoder = new CachingJwtDecoder(delegate, meterRegistry, 100, Duration.ofHours(1),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Should verify a token once and serve it from the cache afterwards")
+    void shouldVerifyOnce() {
+        // Arrange
+        Jwt jwt = jwt("token-a", NOW.plusSeconds(3600));
+        when(delegate.decode("token-a")).thenReturn(jwt);
+
+        // Act
+        Jwt first = decoder.decode("token-a");
+        Jwt second = decoder.decode("token-a");
+
+        // Assert
+        assertSame(jwt, first);
+        assertSame(jwt, second);
+        verify(delegate, times(1)).decode("token-a");
+        assertEquals(1, meterRegistry.get("jwt.decode").timer().count());
+        assertEquals(1, decoder.size());
+    }
+
+    @Test
+    @DisplayName("Should keep tokens apart")
+    void shouldKeepTokensApart() {
+        // Arrange
+        Jwt jwtA = jwt("token-a", NOW.plusSeconds(3600));
+        Jwt jwtB = jwt("token-b", NOW.plusSeconds(3600));
+        when(delegate.decode("token-a")).thenReturn(jwtA);
+        when(delegate.decode("token-b")).thenReturn(jwtB);
+
+        // Act & Assert
+        assertSame(jwtA, decoder.decode("token-a"));
+        assertSame(jwtB, decoder.decode("token-b"));
+        assertSame(jwtA, decoder.decode("token-a"));
+    }
+
+    @Test
+    @DisplayName("Should verify again a token past its expiry")
+    void shouldNotServeExpiredToken() {
+        // Arrange
+        when(delegate.decode("token-a")).thenReturn(jwt("token-a", NOW.minusSeconds(1)));
+
+        // Act
+        decoder.decode("token-a");
+        decoder.decode("token-a");
+
+        // Assert
+        verify(delegate, times(2)).decode("token-a");
+    }
+
+    @Test
+    @DisplayName("Should not keep tokens that fail to decode")
+    void shouldNotCacheFailures() {
+        // Arrange
+        when(delegate.decode("forged")).thenThrow(new BadJwtException("Invalid signature"));
+
+        // Act & Assert
+        assertThrows(BadJwtException.class, () -> decoder.decode("forged"));
+        assertThrows(BadJwtException.class, () -> decoder.decode("forged"));
+        verify(delegate, times(2)).decode("forged");
+        assertEquals(0, decoder.size());
+    }
+
+    private Jwt jwt(String token, Instant expiresAt) {
+        return new Jwt(token, NOW.minusSeconds(60), expiresAt, Map.of("alg", "RS256"), Map.of("sub", "test@example.com"));
+    }
+}
@@ -0,0 +1,52 @@
+package com.orion.mdd_api.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveTicketTokenResolverTest {
+
+    private final LiveTicketTokenResolver resolver = new LiveTicketTokenResolver();
+
+    @Test
+    @DisplayName("Should read the ticket of the live feed from the query string")
+    void shouldResolveTicketOnLiveFeed() {
+        // Arrange
+        MockHttpServletRequest request = request("/api/articles/live");
+        request.setParameter("ticket", "live-ticket");
+
+        // Act & Assert
+        assertEquals("live-ticket", resolver.resolve(request));
+    }
+
+    @Test
+    @DisplayName("Should ignore the ticket parameter on any other endpoint")
+    void shouldIgnoreTicketElsewhere() {
+        // Arrange
+        MockHttpServletRequest request = request("/api/articles/feed");
+        request.setParameter("ticket", "live-ticket");
+
+        // Act & Assert
+        assertNull(resolver.resolve(request));
+    }
+
+    @Test
+    @DisplayName("Should keep reading the Authorization header")
+    void shouldResolveHeader() {
+        // Arrange
+        MockHttpServletRequest request = request("/api/articles/live");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer header-token");
+
+        // Act & Assert
+        assertEquals("header-token", resolver.resolve(request));
+    }
+
+    private MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        return request;
+    }
+}
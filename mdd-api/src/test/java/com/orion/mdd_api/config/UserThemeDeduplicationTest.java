@@ -0,0 +1,90 @@
+package com.orion.mdd_api.config;
+
+import com.orion.mdd_api.dtos.Subscription;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserThemeDeduplicationTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserThemeDeduplication deduplication;
+
+    @BeforeEach
+    void setUp() {
+        deduplication = new UserThemeDeduplication(jdbcTemplate, new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    @DisplayName("Should keep one row of every duplicated subscription, in one transaction")
+    void shouldRemoveExistingDuplicates() {
+        // Arrange
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(true);
+        when(jdbcTemplate.query(contains("having count(*) > 1"), any(RowMapper.class)))
+                .thenReturn(List.of(new Subscription(10L, 1L), new Subscription(20L, 2L)));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        // Act
+        deduplication.deduplicate();
+
+        // Assert
+        InOrder inOrder = inOrder(transactionManager, jdbcTemplate);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(jdbcTemplate).update("delete from user_theme where user_id = ? and theme_id = ?", 1L, 10L);
+        inOrder.verify(jdbcTemplate).update("insert into user_theme (user_id, theme_id) values (?, ?)", 1L, 10L);
+        inOrder.verify(jdbcTemplate).update("delete from user_theme where user_id = ? and theme_id = ?", 2L, 20L);
+        inOrder.verify(jdbcTemplate).update("insert into user_theme (user_id, theme_id) values (?, ?)", 2L, 20L);
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should not write anything without duplicates")
+    void shouldLeaveCleanTable() {
+        // Arrange
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(true);
+        when(jdbcTemplate.query(contains("having count(*) > 1"), any(RowMapper.class))).thenReturn(List.of());
+
+        // Act
+        deduplication.deduplicate();
+
+        // Assert
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should skip a database without the table yet")
+    void shouldSkipMissingTable() {
+        // Arrange
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(false);
+
+        // Act
+        deduplication.deduplicate();
+
+        // Assert
+        verify(jdbcTemplate, never()).query(anyString(), any(RowMapper.class));
+    }
+}
@@ -1,9 +1,22 @@
 package com.orion.mdd_api.controllers;
 
+import com.orion.mdd_api.dtos.ArticleBatch;
+import com.orion.mdd_api.dtos.ArticleDetail;
 import com.orion.mdd_api.dtos.ArticleRecord;
+import com.orion.mdd_api.dtos.ArticleSummary;
+import com.orion.mdd_api.dtos.CommentaireItem;
+import com.orion.mdd_api.dtos.CommentairePage;
 import com.orion.mdd_api.dtos.CommentaireRecord;
+import com.orion.mdd_api.dtos.FeedItem;
+import com.orion.mdd_api.dtos.FeedPage;
+import com.orion.mdd_api.dtos.LiveTicket;
+import com.orion.mdd_api.dtos.SearchPage;
 import com.orion.mdd_api.entities.Article;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orion.mdd_api.services.ArticleJsonCache;
 import com.orion.mdd_api.services.ArticleService;
+import com.orion.mdd_api.services.ContentVersionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -11,15 +24,28 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-
-import java.util.Arrays;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -29,6 +55,14 @@ class ArticleControllerTest {
     @Mock
     private ArticleService articleService;
 
+    private static final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Spy
+    private ContentVersionService contentVersions = new ContentVersionService();
+
+    @Spy
+    private ArticleJsonCache articleJsonCache = new ArticleJsonCache(objectMapper, new SimpleMeterRegistry(), 10, Duration.ofMinutes(10), 256);
+
     @InjectMocks
     private ArticleController articleController;
 
@@ -49,57 +83,73 @@ class ArticleControllerTest {
     }
 
     @Nested
-    @DisplayName("getAllArticlesByUserId Tests")
-    class GetAllArticlesByUserIdTests {
+    @DisplayName("getFeed Tests")
+    class GetFeedTests {
 
         @Test
-        @DisplayName("Should return all articles for valid user ID")
-        void shouldReturnAllArticlesForValidUserId() {
+        @DisplayName("Should return the feed page")
+        void shouldReturnFeedPage() {
             // Arrange
-            List<Article> articles = Arrays.asList(testArticle);
-            when(articleService.getAllArticles()).thenReturn(articles);
+            FeedPage page = new FeedPage(List.of(new FeedItem(1L, "Test Title", "Test Content", "Test Theme", "testUser", null, 0)), "next");
+            when(articleService.getFeed(null, 20)).thenReturn(page);
 
             // Act
-            ResponseEntity<ArticleController.ArticlesRecord> response =
-                    articleController.getAllArticlesByUserId(1L);
+            ResponseEntity<FeedPage> response = articleController.getFeed(null, 20, "recent", webRequest());
 
             // Assert
-            assertNotNull(response);
             assertEquals(200, response.getStatusCode().value());
-            assertNotNull(response.getBody());
-            assertEquals(1, response.getBody().articles().size());
-            assertEquals(testArticle.getId(), response.getBody().articles().get(0).getId());
-            verify(articleService).getAllArticles();
+            assertEquals(page, response.getBody());
+            verify(articleService).getFeed(null, 20);
         }
 
         @Test
-        @DisplayName("Should handle empty article list")
-        void shouldHandleEmptyArticleList() {
+        @DisplayName("Should handle invalid cursor")
+        void shouldHandleInvalidCursor() {
             // Arrange
-            when(articleService.getAllArticles()).thenReturn(Collections.emptyList());
+            when(articleService.getFeed("bad", 20)).thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+            // Act & Assert
+            assertThrows(RuntimeException.class, () -> articleController.getFeed("bad", 20, "recent", webRequest()));
+        }
+
+        @Test
+        @DisplayName("Should return the trending feed page")
+        void shouldReturnTrendingFeedPage() {
+            // Arrange
+            FeedPage page = new FeedPage(List.of(new FeedItem(1L, "Test Title", "Test Content", "Test Theme", "testUser", null, 3)), null);
+            when(articleService.getTrendingFeed(null, 20)).thenReturn(page);
 
             // Act
-            ResponseEntity<ArticleController.ArticlesRecord> response =
-                    articleController.getAllArticlesByUserId(1L);
+            ResponseEntity<FeedPage> response = articleController.getFeed(null, 20, "trending", webRequest());
 
             // Assert
-            assertNotNull(response);
-            assertEquals(200, response.getStatusCode().value());
-            assertTrue(response.getBody().articles().isEmpty());
-            verify(articleService).getAllArticles();
+            assertEquals(page, response.getBody());
+            verify(articleService, never()).getFeed(any(), anyInt());
         }
 
         @Test
-        @DisplayName("Should handle service exception")
-        void shouldHandleServiceException() {
+        @DisplayName("Should reject an unknown order")
+        void shouldRejectUnknownSort() {
+            // Act & Assert
+            assertThrows(RuntimeException.class, () -> articleController.getFeed(null, 20, "random", webRequest()));
+            verifyNoInteractions(articleService);
+        }
+
+        @Test
+        @DisplayName("Should answer 304 without reading the feed when it did not change")
+        void shouldReturnNotModified() {
             // Arrange
-            when(articleService.getAllArticles())
-                    .thenThrow(new RuntimeException("Test error"));
+            ServletWebRequest request = webRequest();
+            ((MockHttpServletRequest) request.getRequest()).addHeader(HttpHeaders.IF_NONE_MATCH,
+                    contentVersions.feedValidator(null, "recent", null, 20).eTag());
 
-            // Act & Assert
-            assertThrows(RuntimeException.class,
-                    () -> articleController.getAllArticlesByUserId(1L));
-            verify(articleService).getAllArticles();
+            // Act
+            ResponseEntity<FeedPage> response = articleController.getFeed(null, 20, "recent", request);
+
+            // Assert
+            assertNull(response);
+            assertEquals(304, ((MockHttpServletResponse) request.getResponse()).getStatus());
+            verify(articleService, never()).getFeed(any(), anyInt());
         }
     }
 
@@ -145,32 +195,268 @@ class ArticleControllerTest {
 
         @Test
         @DisplayName("Should return article for valid ID")
-        void shouldReturnArticleForValidId() {
+        void shouldReturnArticleForValidId() throws IOException {
             // Arrange
-            when(articleService.getArticleById(1L)).thenReturn(testArticle);
+            ArticleDetail detail = new ArticleDetail(1L, "Test Article", "Test Theme", "testUser", null,
+                    "Test Content", Collections.emptyList(), 0, null);
+            when(articleService.getArticleDetail(1L)).thenReturn(detail);
 
             // Act
-            ResponseEntity<Article> response = articleController.getArticleById(1L);
+            ResponseEntity<byte[]> response = articleController.getArticleById(1L, webRequest());
 
             // Assert
             assertNotNull(response);
             assertEquals(200, response.getStatusCode().value());
+            assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
             assertNotNull(response.getBody());
-            assertEquals(testArticle.getId(), response.getBody().getId());
-            verify(articleService).getArticleById(1L);
+            ArticleDetail body = objectMapper.readValue(response.getBody(), ArticleDetail.class);
+            assertEquals(testArticle.getId(), body.id());
+            assertEquals("Test Content", body.contenu());
+            verify(articleService).getArticleDetail(1L);
+        }
+
+        @Test
+        @DisplayName("Should serve the cached document until the article changes")
+        void shouldServeCachedDocument() {
+            // Arrange
+            ArticleDetail detail = new ArticleDetail(1L, "Test Article", "Test Theme", "testUser", null,
+                    "Test Content", Collections.emptyList(), 0, null);
+            when(articleService.getArticleDetail(1L)).thenReturn(detail);
+
+            // Act
+            byte[] first = articleController.getArticleById(1L, webRequest()).getBody();
+            byte[] second = articleController.getArticleById(1L, webRequest()).getBody();
+            contentVersions.articleChanged(1L);
+            articleController.getArticleById(1L, webRequest());
+
+            // Assert
+            assertSame(first, second);
+            verify(articleService, times(2)).getArticleDetail(1L);
+        }
+
+        @Test
+        @DisplayName("Should send the gzipped document to clients accepting it")
+        void shouldSendGzippedDocument() throws IOException {
+            // Arrange
+            ArticleDetail detail = new ArticleDetail(1L, "Test Article", "Test Theme", "testUser", null,
+                    "Test Content ".repeat(100), Collections.emptyList(), 0, null);
+            when(articleService.getArticleDetail(1L)).thenReturn(detail);
+            ServletWebRequest request = webRequest();
+            ((MockHttpServletRequest) request.getRequest()).addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+
+            // Act
+            ResponseEntity<byte[]> response = articleController.getArticleById(1L, request);
+
+            // Assert
+            assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+            assertTrue(response.getHeaders().getETag().startsWith("W/"));
+            try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+                assertEquals(detail.contenu(), objectMapper.readValue(body, ArticleDetail.class).contenu());
+            }
         }
 
         @Test
         @DisplayName("Should handle article not found")
         void shouldHandleArticleNotFound() {
             // Arrange
-            when(articleService.getArticleById(anyLong()))
+            when(articleService.getArticleDetail(anyLong()))
                     .thenThrow(new RuntimeException("Article not found"));
 
             // Act & Assert
             assertThrows(RuntimeException.class,
-                    () -> articleController.getArticleById(1L));
-            verify(articleService).getArticleById(1L);
+                    () -> articleController.getArticleById(1L, webRequest()));
+            verify(articleService).getArticleDetail(1L);
+        }
+
+        @Test
+        @DisplayName("Should send validators and answer 304 to a request carrying them")
+        void shouldReturnNotModified() {
+            // Arrange
+            ArticleDetail detail = new ArticleDetail(1L, "Test Article", "Test Theme", "testUser", null,
+                    "Test Content", Collections.emptyList(), 0, null);
+            when(articleService.getArticleDetail(1L)).thenReturn(detail);
+            String eTag = articleController.getArticleById(1L, webRequest()).getHeaders().getETag();
+            ServletWebRequest request = webRequest();
+            ((MockHttpServletRequest) request.getRequest()).addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+
+            // Act
+            ResponseEntity<byte[]> response = articleController.getArticleById(1L, request);
+
+            // Assert
+            assertNotNull(eTag);
+            assertNull(response);
+            assertEquals(304, ((MockHttpServletResponse) request.getResponse()).getStatus());
+            verify(articleService, times(1)).getArticleDetail(1L);
+        }
+    }
+
+    @Nested
+    @DisplayName("getArticlesByIds Tests")
+    class GetArticlesByIdsTests {
+
+        @Test
+        @DisplayName("Should return the batch of articles")
+        void shouldReturnBatch() {
+            // Arrange
+            ArticleBatch batch = new ArticleBatch(
+                    List.of(new ArticleSummary(1L, "Test Title", "Test Theme", "testUser", null, "Test Extrait")), List.of(2L));
+            when(articleService.getArticlesByIds(List.of(1L, 2L))).thenReturn(batch);
+
+            // Act
+            ResponseEntity<ArticleBatch> response = articleController.getArticlesByIds(List.of(1L, 2L));
+
+            // Assert
+            assertEquals(200, response.getStatusCode().value());
+            assertEquals(batch, response.getBody());
+        }
+
+        @Test
+        @DisplayName("Should handle batches larger than the limit")
+        void shouldHandleLargeBatch() {
+            // Arrange
+            when(articleService.getArticlesByIds(List.of(1L))).thenThrow(new IllegalArgumentException("Too many"));
+
+            // Act & Assert
+            assertThrows(RuntimeException.class, () -> articleController.getArticlesByIds(List.of(1L)));
+        }
+    }
+
+    @Nested
+    @DisplayName("searchArticles Tests")
+    class SearchArticlesTests {
+
+        @Test
+        @DisplayName("Should search every theme when none is given")
+        void shouldSearchEveryTheme() {
+            // Arrange
+            SearchPage page = new SearchPage(List.of(new FeedItem(1L, "Test Title", "Test Content", "Test Theme", "testUser", null, 0)), 1, 0, 20);
+            when(articleService.searchArticles("test", List.of(), 0, 20)).thenReturn(page);
+
+            // Act
+            ResponseEntity<SearchPage> response = articleController.searchArticles("test", null, 0, 20);
+
+            // Assert
+            assertEquals(200, response.getStatusCode().value());
+            assertEquals(page, response.getBody());
+        }
+
+        @Test
+        @DisplayName("Should handle pages beyond the searchable depth")
+        void shouldHandleDeepPage() {
+            // Arrange
+            when(articleService.searchArticles("test", List.of(1L), 100, 20))
+                    .thenThrow(new IllegalArgumentException("Too deep"));
+
+            // Act & Assert
+            assertThrows(RuntimeException.class, () -> articleController.searchArticles("test", List.of(1L), 100, 20));
+        }
+    }
+
+    @Nested
+    @DisplayName("getCommentaires Tests")
+    class GetCommentairesTests {
+
+        @Test
+        @DisplayName("Should return the comments page")
+        void shouldReturnCommentairesPage() {
+            // Arrange
+            CommentairePage page = new CommentairePage(
+                    List.of(new CommentaireItem(1L, "Test Comment", "testUser", null)), "next");
+            when(articleService.getCommentaires(1L, null, 20)).thenReturn(page);
+
+            // Act
+            ResponseEntity<CommentairePage> response = articleController.getCommentaires(1L, null, 20);
+
+            // Assert
+            assertEquals(200, response.getStatusCode().value());
+            assertEquals(page, response.getBody());
+            verify(articleService).getCommentaires(1L, null, 20);
+        }
+
+        @Test
+        @DisplayName("Should handle article not found")
+        void shouldHandleArticleNotFound() {
+            // Arrange
+            when(articleService.getCommentaires(anyLong(), any(), anyInt()))
+                    .thenThrow(new RuntimeException("Article not found"));
+
+            // Act & Assert
+            assertThrows(RuntimeException.class, () -> articleController.getCommentaires(1L, null, 20));
+        }
+    }
+
+    @Nested
+    @DisplayName("getLiveTicket Tests")
+    class GetLiveTicketTests {
+
+        @Test
+        @DisplayName("Should return the issued ticket")
+        void shouldReturnTicket() {
+            // Arrange
+            LiveTicket ticket = new LiveTicket("live.jwt.ticket");
+            when(articleService.issueLiveTicket()).thenReturn(ticket);
+
+            // Act
+            ResponseEntity<LiveTicket> response = articleController.getLiveTicket();
+
+            // Assert
+            assertEquals(200, response.getStatusCode().value());
+            assertEquals(ticket, response.getBody());
+        }
+    }
+
+    @Nested
+    @DisplayName("getLiveFeed Tests")
+    class GetLiveFeedTests {
+
+        @Test
+        @DisplayName("Should return the emitter of the opened connection")
+        void shouldReturnEmitter() {
+            // Arrange
+            SseEmitter emitter = new SseEmitter();
+            when(articleService.openLiveFeed()).thenReturn(Optional.of(emitter));
+
+            // Act
+            ResponseEntity<SseEmitter> response = articleController.getLiveFeed();
+
+            // Assert
+            assertEquals(200, response.getStatusCode().value());
+            assertSame(emitter, response.getBody());
+        }
+
+        @Test
+        @DisplayName("Should answer 503 when no more connection can be opened")
+        void shouldRefuseWhenFull() {
+            // Arrange
+            when(articleService.openLiveFeed()).thenReturn(Optional.empty());
+
+            // Act
+            ResponseEntity<SseEmitter> response = articleController.getLiveFeed();
+
+            // Assert
+            assertEquals(503, response.getStatusCode().value());
+            assertNull(response.getBody());
+        }
+    }
+
+    @Nested
+    @DisplayName("exportArticles Tests")
+    class ExportArticlesTests {
+
+        @Test
+        @DisplayName("Should return the streaming body as JSON")
+        void shouldReturnStreamingBody() {
+            // Arrange
+            StreamingResponseBody body = output -> {};
+            when(articleService.exportArticles()).thenReturn(body);
+
+            // Act
+            ResponseEntity<StreamingResponseBody> response = articleController.exportArticles();
+
+            // Assert
+            assertEquals(200, response.getStatusCode().value());
+            assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+            assertSame(body, response.getBody());
         }
     }
 
@@ -210,4 +496,8 @@ class ArticleControllerTest {
             verify(articleService).addCommentaire(testCommentaireRecord, 1L);
         }
     }
-}
\ No newline at end of file
+
+    private ServletWebRequest webRequest() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/"), new MockHttpServletResponse());
+    }
+}
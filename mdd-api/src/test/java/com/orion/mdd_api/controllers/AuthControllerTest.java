@@ -17,7 +17,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -171,10 +170,7 @@ class AuthControllerTest {
         @DisplayName("Should get current user credentials")
         void shouldGetCurrentUserCredentials() {
             // Arrange
-            User mockUser = mock(User.class);
-            when(mockUser.getName()).thenReturn(TEST_USERNAME);
-            when(mockUser.getEmail()).thenReturn(TEST_EMAIL);
-            when(jwtService.getCurrentUser()).thenReturn(mockUser);
+            when(jwtService.getAuthenticatedUser()).thenReturn(new AuthenticatedUser(1L, TEST_USERNAME, TEST_EMAIL));
 
             // Act
             ResponseEntity<Credential> response = authController.getCurrentUser();
@@ -191,7 +187,7 @@ class AuthControllerTest {
         @DisplayName("Should handle current user retrieval failure")
         void shouldHandleCurrentUserRetrievalFailure() {
             // Arrange
-            when(jwtService.getCurrentUser())
+            when(jwtService.getAuthenticatedUser())
                     .thenThrow(new RuntimeException("Failed to retrieve user"));
 
             // Act & Assert
@@ -210,11 +206,9 @@ class AuthControllerTest {
             Credential newCredentials = new Credential(TEST_USERNAME, TEST_EMAIL);
             User mockUser = mock(User.class);
             Authentication mockAuth = mock(Authentication.class);
-            UserDetails mockUserDetails = mock(UserDetails.class);
 
             when(jwtService.getCurrentUser()).thenReturn(mockUser);
             when(userInfoService.updateUser(mockUser, newCredentials)).thenReturn(1L);
-            when(userInfoService.loadUserByUsername(TEST_EMAIL)).thenReturn(mockUserDetails);
             when(jwtService.generateToken(any(Authentication.class))).thenReturn(TEST_TOKEN);
             when(mockUser.getId()).thenReturn(1L);
 
@@ -230,6 +224,7 @@ class AuthControllerTest {
             assertEquals(TEST_EMAIL, record.email());
             assertEquals(TEST_TOKEN, record.token());
             assertEquals(1L, record.id());
+            verify(userInfoService, never()).loadUserByUsername(any());
         }
 
         @Test
@@ -1,7 +1,11 @@
 package com.orion.mdd_api.controllers;
 
+import com.orion.mdd_api.dtos.AuthenticatedUser;
+import com.orion.mdd_api.dtos.SubscriptionSet;
+import com.orion.mdd_api.dtos.SubscriptionsUpdate;
+import com.orion.mdd_api.dtos.ThemeItem;
 import com.orion.mdd_api.entities.Theme;
-import com.orion.mdd_api.entities.User;
+import com.orion.mdd_api.services.ContentVersionService;
 import com.orion.mdd_api.services.JwtService;
 import com.orion.mdd_api.services.ThemeService;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,12 +15,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,16 +40,19 @@ class ThemeControllerTest {
     @Mock
     private JwtService jwtService;
 
+    @Spy
+    private ContentVersionService contentVersions = new ContentVersionService();
+
     @InjectMocks
     private ThemeController themeController;
 
-    private User testUser;
+    private AuthenticatedUser testUser;
     private Theme testTheme1;
     private Theme testTheme2;
 
     @BeforeEach
     void setUp() {
-        testUser = new User("testUser", "test@example.com", "password");
+        testUser = new AuthenticatedUser(1L, "testUser", "test@example.com");
 
         testTheme1 = new Theme();
         testTheme1.setId(1L);
@@ -60,46 +73,75 @@ class ThemeControllerTest {
         @DisplayName("Should successfully retrieve all themes")
         void shouldRetrieveAllThemes() {
             // Arrange
-            List<Theme> themes = Arrays.asList(testTheme1, testTheme2);
-            when(themeService.getAllThemes()).thenReturn(themes);
+            List<ThemeItem> themes = Arrays.asList(item(testTheme1), item(testTheme2));
+            when(jwtService.getAuthenticatedUser()).thenReturn(testUser);
+            when(themeService.getAllThemes(testUser.id())).thenReturn(themes);
 
             // Act
-            ResponseEntity<ThemeController.ThemesRecord> response = themeController.getAllThemes();
+            ResponseEntity<ThemeController.ThemesRecord> response = themeController.getAllThemes(webRequest());
 
             // Assert
             assertNotNull(response);
             assertEquals(200, response.getStatusCode().value());
             assertNotNull(response.getBody());
             assertEquals(2, response.getBody().themes().size());
-            verify(themeService).getAllThemes();
+            verify(themeService).getAllThemes(testUser.id());
         }
 
         @Test
         @DisplayName("Should handle empty theme list")
         void shouldHandleEmptyThemeList() {
             // Arrange
-            when(themeService.getAllThemes()).thenReturn(Collections.emptyList());
+            when(jwtService.getAuthenticatedUser()).thenReturn(testUser);
+            when(themeService.getAllThemes(testUser.id())).thenReturn(Collections.emptyList());
 
             // Act
-            ResponseEntity<ThemeController.ThemesRecord> response = themeController.getAllThemes();
+            ResponseEntity<ThemeController.ThemesRecord> response = themeController.getAllThemes(webRequest());
 
             // Assert
             assertNotNull(response);
             assertEquals(200, response.getStatusCode().value());
             assertNotNull(response.getBody());
             assertTrue(response.getBody().themes().isEmpty());
-            verify(themeService).getAllThemes();
+            verify(themeService).getAllThemes(testUser.id());
         }
 
         @Test
         @DisplayName("Should handle service exception")
         void shouldHandleServiceException() {
             // Arrange
-            when(themeService.getAllThemes()).thenThrow(new RuntimeException("Test error"));
+            when(jwtService.getAuthenticatedUser()).thenReturn(testUser);
+            when(themeService.getAllThemes(testUser.id())).thenThrow(new RuntimeException("Test error"));
 
             // Act & Assert
-            assertThrows(RuntimeException.class, () -> themeController.getAllThemes());
-            verify(themeService).getAllThemes();
+            assertThrows(RuntimeException.class, () -> themeController.getAllThemes(webRequest()));
+            verify(themeService).getAllThemes(testUser.id());
+        }
+
+        @Test
+        @DisplayName("Should answer 304 until the catalog changes")
+        void shouldReturnNotModifiedUntilCatalogChanges() {
+            // Arrange
+            String eTag = contentVersions.catalogValidator(null).eTag();
+            ServletWebRequest unchanged = webRequest();
+            ((MockHttpServletRequest) unchanged.getRequest()).addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+            ServletWebRequest changed = webRequest();
+            ((MockHttpServletRequest) changed.getRequest()).addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+            when(jwtService.getAuthenticatedUser()).thenReturn(testUser);
+            when(themeService.getAllThemes(testUser.id())).thenReturn(List.of(item(testTheme1)));
+
+            // Act
+            ResponseEntity<ThemeController.ThemesRecord> notModified = themeController.getAllThemes(unchanged);
+            contentVersions.catalogChanged();
+            ResponseEntity<ThemeController.ThemesRecord> modified = themeController.getAllThemes(changed);
+
+            // Assert
+            assertNull(notModified);
+            assertEquals(304, ((MockHttpServletResponse) unchanged.getResponse()).getStatus());
+            assertNotNull(modified);
+            assertEquals(200, modified.getStatusCode().value());
+            assertNotEquals(eTag, modified.getHeaders().getETag());
+            verify(themeService, times(1)).getAllThemes(testUser.id());
         }
     }
 
@@ -112,7 +154,7 @@ class ThemeControllerTest {
         void shouldSubscribeToTheme() {
             // Arrange
             Long themeId = 1L;
-            when(jwtService.getCurrentUser()).thenReturn(testUser);
+            when(jwtService.getAuthenticatedUser()).thenReturn(testUser);
             doNothing().when(themeService).subscribe(themeId, testUser);
 
             // Act
@@ -121,7 +163,7 @@ class ThemeControllerTest {
             // Assert
             assertNotNull(response);
             assertEquals(200, response.getStatusCode().value());
-            verify(jwtService).getCurrentUser();
+            verify(jwtService).getAuthenticatedUser();
             verify(themeService).subscribe(themeId, testUser);
         }
 
@@ -130,12 +172,12 @@ class ThemeControllerTest {
         void shouldHandleSubscriptionError() {
             // Arrange
             Long themeId = 1L;
-            when(jwtService.getCurrentUser()).thenReturn(testUser);
+            when(jwtService.getAuthenticatedUser()).thenReturn(testUser);
             doThrow(new RuntimeException("Subscription failed")).when(themeService).subscribe(themeId, testUser);
 
             // Act & Assert
             assertThrows(RuntimeException.class, () -> themeController.subscribe(themeId));
-            verify(jwtService).getCurrentUser();
+            verify(jwtService).getAuthenticatedUser();
             verify(themeService).subscribe(themeId, testUser);
         }
     }
@@ -149,7 +191,7 @@ class ThemeControllerTest {
         void shouldUnsubscribeFromTheme() {
             // Arrange
             Long themeId = 1L;
-            when(jwtService.getCurrentUser()).thenReturn(testUser);
+            when(jwtService.getAuthenticatedUser()).thenReturn(testUser);
             doNothing().when(themeService).unsubscribe(themeId, testUser);
 
             // Act
@@ -158,7 +200,7 @@ class ThemeControllerTest {
             // Assert
             assertNotNull(response);
             assertEquals(200, response.getStatusCode().value());
-            verify(jwtService).getCurrentUser();
+            verify(jwtService).getAuthenticatedUser();
             verify(themeService).unsubscribe(themeId, testUser);
         }
 
@@ -167,16 +209,50 @@ class ThemeControllerTest {
         void shouldHandleUnsubscriptionError() {
             // Arrange
             Long themeId = 1L;
-            when(jwtService.getCurrentUser()).thenReturn(testUser);
+            when(jwtService.getAuthenticatedUser()).thenReturn(testUser);
             doThrow(new RuntimeException("Unsubscription failed")).when(themeService).unsubscribe(themeId, testUser);
 
             // Act & Assert
             assertThrows(RuntimeException.class, () -> themeController.unsubscribe(themeId));
-            verify(jwtService).getCurrentUser();
+            verify(jwtService).getAuthenticatedUser();
             verify(themeService).unsubscribe(themeId, testUser);
         }
     }
 
+    @Nested
+    @DisplayName("updateSubscriptions Tests")
+    class UpdateSubscriptionsTests {
+
+        @Test
+        @DisplayName("Should return the resulting subscriptions")
+        void shouldReturnResultingSubscriptions() {
+            // Arrange
+            SubscriptionsUpdate update = new SubscriptionsUpdate(Set.of(1L, 2L), null, null);
+            when(jwtService.getAuthenticatedUser()).thenReturn(testUser);
+            when(themeService.updateSubscriptions(update, testUser)).thenReturn(List.of(1L, 2L));
+
+            // Act
+            ResponseEntity<SubscriptionSet> response = themeController.updateSubscriptions(update);
+
+            // Assert
+            assertEquals(200, response.getStatusCode().value());
+            assertEquals(new SubscriptionSet(List.of(1L, 2L)), response.getBody());
+            verify(themeService).updateSubscriptions(update, testUser);
+        }
+
+        @Test
+        @DisplayName("Should handle update error")
+        void shouldHandleUpdateError() {
+            // Arrange
+            SubscriptionsUpdate update = new SubscriptionsUpdate(null, Set.of(99L), null);
+            when(jwtService.getAuthenticatedUser()).thenReturn(testUser);
+            when(themeService.updateSubscriptions(update, testUser)).thenThrow(new RuntimeException("Theme not found with id: 99"));
+
+            // Act & Assert
+            assertThrows(RuntimeException.class, () -> themeController.updateSubscriptions(update));
+        }
+    }
+
     @Nested
     @DisplayName("Error Handling Tests")
     class ErrorHandlingTests {
@@ -186,12 +262,20 @@ class ThemeControllerTest {
         void shouldHandleJwtServiceFailure() {
             // Arrange
             Long themeId = 1L;
-            when(jwtService.getCurrentUser()).thenThrow(new RuntimeException("JWT error"));
+            when(jwtService.getAuthenticatedUser()).thenThrow(new RuntimeException("JWT error"));
 
             // Act & Assert
             assertThrows(RuntimeException.class, () -> themeController.subscribe(themeId));
-            verify(jwtService).getCurrentUser();
+            verify(jwtService).getAuthenticatedUser();
             verify(themeService, never()).subscribe(any(), any());
         }
     }
-}
\ No newline at end of file
+
+    private static ThemeItem item(Theme theme) {
+        return new ThemeItem(theme.getId(), theme.getTitre(), theme.getDescription(), 0L, false);
+    }
+
+    private ServletWebRequest webRequest() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/"), new MockHttpServletResponse());
+    }
+}
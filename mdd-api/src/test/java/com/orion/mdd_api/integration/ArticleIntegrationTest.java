@@ -5,9 +5,14 @@ import com.orion.mdd_api.dtos.*;
 import com.orion.mdd_api.entities.Article;
 import com.orion.mdd_api.entities.Commentaire;
 import org.junit.jupiter.api.Test;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -44,17 +49,17 @@ class ArticleIntegrationTest extends BaseIntegrationTest {
         trackCreatedEntity(Article.class, articleId);
 
         // Retrieve article
-        ResponseEntity<Article> getResponse = restTemplate.exchange(
+        ResponseEntity<ArticleDetail> getResponse = restTemplate.exchange(
                 baseUrl + "/articles/" + articleId,
                 HttpMethod.GET,
                 new HttpEntity<>(headers),
-                Article.class
+                ArticleDetail.class
         );
 
         assertEquals(HttpStatus.OK, getResponse.getStatusCode());
         assertNotNull(getResponse.getBody());
-        assertEquals("Test Article", getResponse.getBody().getTitre());
-        assertEquals("Test Content", getResponse.getBody().getContenu());
+        assertEquals("Test Article", getResponse.getBody().titre());
+        assertEquals("Test Content", getResponse.getBody().contenu());
     }
 
     @Test
@@ -88,19 +93,18 @@ class ArticleIntegrationTest extends BaseIntegrationTest {
         );
         trackCreatedEntity(Article.class, createResponse.getBody().id());
 
-        // Get all articles
-        ResponseEntity<ArticleController.ArticlesRecord> listResponse = restTemplate.exchange(
-                baseUrl + "/articles/user/" + regularUser.getId(),
+        // Get the first page of the feed
+        ResponseEntity<FeedPage> feedResponse = restTemplate.exchange(
+                baseUrl + "/articles/feed",
                 HttpMethod.GET,
                 new HttpEntity<>(headers),
-                new ParameterizedTypeReference<ArticleController.ArticlesRecord>() {
-                }
+                FeedPage.class
         );
 
-        assertEquals(HttpStatus.OK, listResponse.getStatusCode());
-        assertNotNull(listResponse.getBody());
-        assertTrue(listResponse.getBody().articles().stream()
-                .anyMatch(a -> a.getTitre().equals("Test Article")));
+        assertEquals(HttpStatus.OK, feedResponse.getStatusCode());
+        assertNotNull(feedResponse.getBody());
+        assertTrue(feedResponse.getBody().articles().stream()
+                .anyMatch(a -> a.titre().equals("Test Article")));
     }
 
     @Test
@@ -143,14 +147,74 @@ class ArticleIntegrationTest extends BaseIntegrationTest {
         trackCreatedEntity(Commentaire.class, commentId);
 
         // Verify comment in article
-        ResponseEntity<Article> getResponse = restTemplate.exchange(
+        ResponseEntity<ArticleDetail> getResponse = restTemplate.exchange(
                 baseUrl + "/articles/" + articleId,
                 HttpMethod.GET,
                 new HttpEntity<>(headers),
-                Article.class
+                ArticleDetail.class
         );
 
         assertEquals(HttpStatus.OK, getResponse.getStatusCode());
         assertNotNull(getResponse.getBody());
+        assertEquals(1, getResponse.getBody().nombreCommentaires());
+
+        // Page through the comments
+        ResponseEntity<CommentairePage> commentsResponse = restTemplate.exchange(
+                baseUrl + "/articles/" + articleId + "/comments?limit=10",
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                CommentairePage.class
+        );
+
+        assertEquals(HttpStatus.OK, commentsResponse.getStatusCode());
+        assertNotNull(commentsResponse.getBody());
+        assertEquals("Test Comment", commentsResponse.getBody().commentaires().get(0).contenu());
+        assertNull(commentsResponse.getBody().nextCursor());
+    }
+
+    @Test
+    void shouldOpenLiveFeedWithTicket() throws IOException, InterruptedException {
+        // Login as regular user
+        TokenAndIdRecord loginResult = login(regularUser.getEmail(), "user123!");
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(loginResult.token());
+
+        // Ask for a ticket, as EventSource clients do
+        ResponseEntity<LiveTicket> ticketResponse = restTemplate.exchange(
+                baseUrl + "/articles/live/ticket",
+                HttpMethod.POST,
+                new HttpEntity<>(headers),
+                LiveTicket.class
+        );
+        assertEquals(HttpStatus.OK, ticketResponse.getStatusCode());
+        assertNotNull(ticketResponse.getBody());
+        String ticket = ticketResponse.getBody().ticket();
+
+        // The ticket opens the live feed from the query string
+        HttpClient client = HttpClient.newHttpClient();
+        HttpResponse<InputStream> liveResponse = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/articles/live?ticket=" + ticket)).GET().build(),
+                HttpResponse.BodyHandlers.ofInputStream()
+        );
+        liveResponse.body().close();
+        assertEquals(HttpStatus.OK.value(), liveResponse.statusCode());
+
+        // The ticket calls nothing else
+        HttpHeaders ticketHeaders = new HttpHeaders();
+        ticketHeaders.setBearerAuth(ticket);
+        ResponseEntity<String> feedResponse = restTemplate.exchange(
+                baseUrl + "/articles/feed",
+                HttpMethod.GET,
+                new HttpEntity<>(ticketHeaders),
+                String.class
+        );
+        assertEquals(HttpStatus.FORBIDDEN, feedResponse.getStatusCode());
+        ResponseEntity<String> queryResponse = restTemplate.exchange(
+                baseUrl + "/articles/feed?ticket=" + ticket,
+                HttpMethod.GET,
+                HttpEntity.EMPTY,
+                String.class
+        );
+        assertEquals(HttpStatus.UNAUTHORIZED, queryResponse.getStatusCode());
     }
-}
\ No newline at end of file
+}
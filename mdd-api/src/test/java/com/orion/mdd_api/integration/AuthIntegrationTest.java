@@ -55,6 +55,18 @@ class AuthIntegrationTest extends BaseIntegrationTest {
         assertEquals("updateduser", updateResponse.getBody().username());
         assertEquals("updated@example.com", updateResponse.getBody().email());
 
+        // The token returned by the update carries the new details
+        HttpHeaders updatedHeaders = new HttpHeaders();
+        updatedHeaders.setBearerAuth(updateResponse.getBody().token());
+        ResponseEntity<Credential> credentialsResponse = restTemplate.exchange(
+                baseUrl + "/auth/credentials",
+                HttpMethod.GET,
+                new HttpEntity<>(updatedHeaders),
+                Credential.class
+        );
+        assertEquals(HttpStatus.OK, credentialsResponse.getStatusCode());
+        assertEquals(updateRequest, credentialsResponse.getBody());
+
         // Verify can login with updated credentials
         TokenAndIdRecord newLoginResult = login("updated@example.com", "Test123!");
         assertNotNull(newLoginResult.token());
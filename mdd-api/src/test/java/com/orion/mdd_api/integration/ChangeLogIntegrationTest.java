@@ -0,0 +1,122 @@
+package com.orion.mdd_api.integration;
+
+import com.orion.mdd_api.MddApiApplication;
+import com.orion.mdd_api.controllers.ArticleController;
+import com.orion.mdd_api.dtos.*;
+import com.orion.mdd_api.entities.Article;
+import com.orion.mdd_api.entities.Commentaire;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.http.*;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs a second node next to the test application, against the same database, and checks that
+ * what one node changes is seen by the other once it has polled the change log.
+ */
+@TestPropertySource(properties = {"changelog.poll-interval-ms=100", "search.index-dir=target/search-index/changelog"})
+class ChangeLogIntegrationTest extends BaseIntegrationTest {
+
+    // Properties the second node takes from the first one, so that both share the database and the signing keys
+    private static final List<String> SHARED_PROPERTIES = List.of(
+            "spring.datasource.url", "spring.datasource.username", "spring.datasource.password",
+            "spring.datasource.driver-class-name", "jwt.private.key", "jwt.public.key");
+
+    @Autowired
+    private Environment environment;
+
+    private ConfigurableApplicationContext secondNode;
+
+    private String secondNodeUrl;
+
+    @BeforeAll
+    void startSecondNode() {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--changelog.poll-interval-ms=100",
+                "--search.index-dir=target/search-index/second-node"));
+        for (String property : SHARED_PROPERTIES) {
+            args.add("--" + property + "=" + environment.getProperty(property, ""));
+        }
+        secondNode = new SpringApplicationBuilder(MddApiApplication.class).run(args.toArray(String[]::new));
+        secondNodeUrl = "http://localhost:" + secondNode.getEnvironment().getProperty("local.server.port") + "/api";
+    }
+
+    @AfterAll
+    void stopSecondNode() {
+        if (secondNode != null) {
+            secondNode.close();
+        }
+    }
+
+    @Test
+    void shouldRefreshArticleCachedOnOtherNode() throws InterruptedException {
+        // Login as regular user
+        TokenAndIdRecord loginResult = login(regularUser.getEmail(), "user123!");
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(loginResult.token());
+
+        // Create article on the first node
+        ArticleRecord articleDto = new ArticleRecord(defaultTheme.getTitre(), "Cluster Article", "Cluster Content");
+        ResponseEntity<ArticleController.IdRecord> articleResponse = restTemplate.exchange(
+                baseUrl + "/articles",
+                HttpMethod.POST,
+                new HttpEntity<>(articleDto, headers),
+                ArticleController.IdRecord.class
+        );
+        Long articleId = articleResponse.getBody().id();
+        trackCreatedEntity(Article.class, articleId);
+
+        // Read it from the second node, which caches it
+        ResponseEntity<ArticleDetail> cachedResponse = restTemplate.exchange(
+                secondNodeUrl + "/articles/" + articleId,
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                ArticleDetail.class
+        );
+        assertEquals(HttpStatus.OK, cachedResponse.getStatusCode());
+        assertTrue(cachedResponse.getBody().commentaires().isEmpty());
+        String eTag = cachedResponse.getHeaders().getETag();
+
+        // Comment it on the first node
+        ResponseEntity<ArticleController.IdRecord> commentResponse = restTemplate.exchange(
+                baseUrl + "/articles/" + articleId,
+                HttpMethod.POST,
+                new HttpEntity<>(new CommentaireRecord("Cluster Comment"), headers),
+                ArticleController.IdRecord.class
+        );
+        trackCreatedEntity(Commentaire.class, commentResponse.getBody().id());
+
+        // The second node drops its cached copy within a few polls
+        HttpHeaders conditionalHeaders = new HttpHeaders();
+        conditionalHeaders.setBearerAuth(loginResult.token());
+        conditionalHeaders.setIfNoneMatch(eTag);
+        ResponseEntity<ArticleDetail> refreshedResponse = null;
+        for (int attempt = 0; attempt < 50; attempt++) {
+            refreshedResponse = restTemplate.exchange(
+                    secondNodeUrl + "/articles/" + articleId,
+                    HttpMethod.GET,
+                    new HttpEntity<>(conditionalHeaders),
+                    ArticleDetail.class
+            );
+            if (refreshedResponse.getStatusCode() != HttpStatus.NOT_MODIFIED) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+
+        assertEquals(HttpStatus.OK, refreshedResponse.getStatusCode());
+        assertNotNull(refreshedResponse.getBody());
+        assertEquals("Cluster Comment", refreshedResponse.getBody().commentaires().get(0).contenu());
+    }
+}
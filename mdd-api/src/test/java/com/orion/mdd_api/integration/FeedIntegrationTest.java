@@ -0,0 +1,89 @@
+package com.orion.mdd_api.integration;
+
+import com.orion.mdd_api.dtos.*;
+import com.orion.mdd_api.entities.Article;
+import com.orion.mdd_api.entities.Theme;
+import com.orion.mdd_api.repositories.TimelineRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.*;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that a new subscriber only gets the newest articles of a theme copied to their timeline,
+ * and still pages through every article of the theme.
+ */
+// Pages of one article do not fit rings of one, every page is read from the database
+@TestPropertySource(properties = {"feed.backfill.max-articles=2", "feed.recent.capacity=1",
+        "search.index-dir=target/search-index/feed"})
+class FeedIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TimelineRepository timelineRepository;
+
+    @Test
+    void shouldCapBackfillAndPullOlderArticles() {
+        // Theme with more articles than the backfill keeps
+        Theme theme = new Theme();
+        theme.setTitre("Backfill Theme");
+        theme.setDescription("Theme larger than the backfill");
+        Long themeId = themeRepository.save(theme).getId();
+        trackCreatedEntity(Theme.class, themeId);
+        List<String> titles = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            Article article = articleRepository.save(new Article("Backfill " + i, "Content " + i, adminUser, theme));
+            trackCreatedEntity(Article.class, article.getId());
+            titles.add(0, article.getTitre());
+        }
+
+        TokenAndIdRecord loginResult = login(regularUser.getEmail(), "user123!");
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(loginResult.token());
+
+        try {
+            // Subscribe, only the two newest articles are copied
+            ResponseEntity<Void> subscribeResponse = restTemplate.exchange(
+                    baseUrl + "/themes/subscribe/" + themeId,
+                    HttpMethod.POST,
+                    new HttpEntity<>(headers),
+                    Void.class
+            );
+            assertEquals(HttpStatus.OK, subscribeResponse.getStatusCode());
+            assertEquals(2, timelineRepository.findPage(regularUser.getId(), Limit.of(10)).stream()
+                    .filter(entry -> entry.themeId().equals(themeId))
+                    .count());
+
+            // Page through the feed, the oldest article is pulled below the backfilled rows
+            List<String> read = new ArrayList<>();
+            String cursor = null;
+            do {
+                String url = baseUrl + "/articles/feed?limit=1" + (cursor == null ? "" : "&cursor=" + cursor);
+                ResponseEntity<FeedPage> feedResponse = restTemplate.exchange(
+                        url,
+                        HttpMethod.GET,
+                        new HttpEntity<>(headers),
+                        FeedPage.class
+                );
+                assertEquals(HttpStatus.OK, feedResponse.getStatusCode());
+                assertNotNull(feedResponse.getBody());
+                feedResponse.getBody().articles().forEach(article -> read.add(article.titre()));
+                cursor = feedResponse.getBody().nextCursor();
+            } while (cursor != null);
+
+            assertEquals(titles, read.stream().filter(titles::contains).toList());
+        } finally {
+            restTemplate.exchange(
+                    baseUrl + "/themes/unsubscribe/" + themeId,
+                    HttpMethod.POST,
+                    new HttpEntity<>(headers),
+                    Void.class
+            );
+        }
+    }
+}
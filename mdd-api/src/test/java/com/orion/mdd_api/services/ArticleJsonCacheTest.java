@@ -0,0 +1,116 @@
+package com.orion.mdd_api.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orion.mdd_api.dtos.ArticleDetail;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArticleJsonCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ArticleJsonCache articleJsonCache =
+            new ArticleJsonCache(objectMapper, meterRegistry, 2, Duration.ofMinutes(10), 256);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should load an article once per version")
+    void shouldLoadOncePerVersion() {
+        // Act
+        ArticleJsonCache.ArticleJson first = articleJsonCache.get(1L, 10L, loader(1L, "Contenu"));
+        ArticleJsonCache.ArticleJson second = articleJsonCache.get(1L, 10L, loader(1L, "Contenu"));
+        ArticleJsonCache.ArticleJson newer = articleJsonCache.get(1L, 11L, loader(1L, "Contenu modifié"));
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(11L, newer.version());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should keep the newest version when an older one is loaded late")
+    void shouldKeepNewestVersion() {
+        // Arrange
+        articleJsonCache.get(1L, 11L, loader(1L, "Contenu modifié"));
+
+        // Act
+        articleJsonCache.get(1L, 10L, loader(1L, "Contenu"));
+        articleJsonCache.get(1L, 11L, loader(1L, "Contenu modifié"));
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should compress only documents above the threshold")
+    void shouldCompressLargeDocuments() throws IOException {
+        // Act
+        ArticleJsonCache.ArticleJson small = articleJsonCache.get(1L, 10L, loader(1L, "Contenu"));
+        ArticleJsonCache.ArticleJson large = articleJsonCache.get(2L, 10L, loader(2L, "Contenu ".repeat(100)));
+
+        // Assert
+        assertNull(small.gzip());
+        assertNotNull(large.gzip());
+        assertTrue(large.gzip().length < large.json().length);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(large.gzip()))) {
+            assertArrayEquals(large.json(), gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep no more entries than the capacity")
+    void shouldStayWithinCapacity() {
+        // Act
+        articleJsonCache.get(1L, 10L, loader(1L, "Un"));
+        articleJsonCache.get(2L, 10L, loader(2L, "Deux"));
+        articleJsonCache.get(3L, 10L, loader(3L, "Trois"));
+
+        // Assert
+        assertEquals(2, articleJsonCache.size());
+    }
+
+    @Test
+    @DisplayName("Should export hits and misses")
+    void shouldExportHitsAndMisses() {
+        // Act
+        articleJsonCache.get(1L, 10L, loader(1L, "Contenu"));
+        articleJsonCache.get(1L, 10L, loader(1L, "Contenu"));
+        articleJsonCache.get(1L, 10L, loader(1L, "Contenu"));
+
+        // Assert
+        assertEquals(2, meterRegistry.get("cache.gets").tags("cache", ArticleJsonCache.CACHE_NAME, "result", "hit").functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tags("cache", ArticleJsonCache.CACHE_NAME, "result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should drop an evicted article outside of a transaction")
+    void shouldEvict() {
+        // Arrange
+        articleJsonCache.get(1L, 10L, loader(1L, "Contenu"));
+
+        // Act
+        articleJsonCache.evict(1L);
+        articleJsonCache.get(1L, 10L, loader(1L, "Contenu"));
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    private Supplier<ArticleDetail> loader(Long id, String contenu) {
+        return () -> {
+            loads.incrementAndGet();
+            return new ArticleDetail(id, "Titre", "Theme", "auteur", null, contenu, Collections.emptyList(), 0, null);
+        };
+    }
+}
@@ -0,0 +1,213 @@
+package com.orion.mdd_api.services;
+
+import com.orion.mdd_api.dtos.SearchDocument;
+import com.orion.mdd_api.repositories.ArticleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ArticleSearchIndexTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path indexDir;
+
+    private ArticleSearchIndex articleSearchIndex;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        articleSearchIndex = new ArticleSearchIndex(articleRepository, transactionManager, indexDir);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        articleSearchIndex.close();
+    }
+
+    @Nested
+    @DisplayName("search Tests")
+    class SearchTests {
+
+        @BeforeEach
+        void indexArticles() {
+            articleSearchIndex.index(document(1L, 10L, "Découvrir Spring Boot", "Un framework Java pour les applications web", 1));
+            articleSearchIndex.index(document(2L, 10L, "Les streams Java", "Manipuler des collections avec Spring", 2));
+            articleSearchIndex.index(document(3L, 20L, "Angular et les signaux", "La réactivité côté client", 3));
+            articleSearchIndex.refresh();
+        }
+
+        @Test
+        @DisplayName("Should rank title matches before content matches")
+        void shouldRankTitleMatchesFirst() {
+            // Act
+            ArticleSearchIndex.Hits hits = articleSearchIndex.search("spring", List.of(), 0, 10);
+
+            // Assert
+            assertEquals(List.of(1L, 2L), hits.ids());
+            assertEquals(2, hits.total());
+        }
+
+        @Test
+        @DisplayName("Should rank equally relevant articles newest first")
+        void shouldRankTiesNewestFirst() {
+            // Arrange
+            articleSearchIndex.index(document(4L, 30L, "Kotlin", "Contenu 1", 4));
+            articleSearchIndex.index(document(5L, 30L, "Scala", "Contenu 2", 6));
+            articleSearchIndex.index(document(6L, 30L, "Groovy", "Contenu 3", 5));
+            articleSearchIndex.refresh();
+
+            // Act
+            ArticleSearchIndex.Hits hits = articleSearchIndex.search("contenu", List.of(), 0, 10);
+
+            // Assert
+            assertEquals(List.of(5L, 6L, 4L), hits.ids());
+        }
+
+        @Test
+        @DisplayName("Should match French word variants")
+        void shouldMatchWordVariants() {
+            // Act
+            ArticleSearchIndex.Hits hits = articleSearchIndex.search("signal", List.of(), 0, 10);
+
+            // Assert
+            assertEquals(List.of(3L), hits.ids());
+        }
+
+        @Test
+        @DisplayName("Should require every word and honour exclusions")
+        void shouldRequireEveryWord() {
+            // Act & Assert
+            assertEquals(List.of(1L), articleSearchIndex.search("java framework", List.of(), 0, 10).ids());
+            assertEquals(List.of(2L), articleSearchIndex.search("java -framework", List.of(), 0, 10).ids());
+        }
+
+        @Test
+        @DisplayName("Should filter by theme")
+        void shouldFilterByTheme() {
+            // Act
+            ArticleSearchIndex.Hits hits = articleSearchIndex.search("java | réactivité", List.of(20L), 0, 10);
+
+            // Assert
+            assertEquals(List.of(3L), hits.ids());
+        }
+
+        @Test
+        @DisplayName("Should paginate results and keep the total")
+        void shouldPaginate() {
+            // Act
+            ArticleSearchIndex.Hits first = articleSearchIndex.search("java", List.of(), 0, 1);
+            ArticleSearchIndex.Hits second = articleSearchIndex.search("java", List.of(), 1, 1);
+            ArticleSearchIndex.Hits third = articleSearchIndex.search("java", List.of(), 2, 1);
+
+            // Assert
+            assertEquals(1, first.ids().size());
+            assertEquals(1, second.ids().size());
+            assertNotEquals(first.ids(), second.ids());
+            assertTrue(third.ids().isEmpty());
+            assertEquals(2, third.total());
+        }
+
+        @Test
+        @DisplayName("Should refuse pages beyond the searchable depth")
+        void shouldRefuseDeepPages() {
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class,
+                    () -> articleSearchIndex.search("java", List.of(), ArticleSearchIndex.MAX_SEARCH_DEPTH, 1));
+        }
+
+        @Test
+        @DisplayName("Should replace a reindexed article")
+        void shouldReplaceReindexedArticle() {
+            // Act
+            articleSearchIndex.index(document(3L, 20L, "Angular et les composants", "La réactivité côté client", 3));
+            articleSearchIndex.refresh();
+
+            // Assert
+            assertTrue(articleSearchIndex.search("signaux", List.of(), 0, 10).ids().isEmpty());
+            assertEquals(1, articleSearchIndex.search("composants", List.of(), 0, 10).total());
+        }
+
+        @Test
+        @DisplayName("Should index an article without title or content")
+        void shouldIndexMissingFields() {
+            // Act
+            articleSearchIndex.index(document(7L, 40L, null, "Texte seul", 7));
+            articleSearchIndex.index(document(8L, 40L, "Titre seul", null, 8));
+            articleSearchIndex.refresh();
+
+            // Assert
+            assertEquals(List.of(7L), articleSearchIndex.search("texte", List.of(40L), 0, 10).ids());
+            assertEquals(List.of(8L), articleSearchIndex.search("titre", List.of(40L), 0, 10).ids());
+        }
+
+        @Test
+        @DisplayName("Should not fail the write when an article cannot be indexed")
+        void shouldNotFailWriteOnIndexingError() {
+            // Act & Assert
+            assertDoesNotThrow(() -> articleSearchIndex.index(new SearchDocument(9L, null, "Sans thème", "Contenu", null)));
+        }
+    }
+
+    @Nested
+    @DisplayName("warmUp Tests")
+    class WarmUpTests {
+
+        @Test
+        @DisplayName("Should rebuild an index out of step with the database")
+        void shouldRebuildStaleIndex() {
+            // Arrange
+            when(articleRepository.count()).thenReturn(2L);
+            when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+            when(articleRepository.streamSearchDocuments()).thenReturn(Stream.of(
+                    document(1L, 10L, "Spring", "Contenu", 1),
+                    document(2L, 10L, "Java", "Contenu", 2)));
+
+            // Act
+            articleSearchIndex.warmUp();
+
+            // Assert
+            assertEquals(2, articleSearchIndex.search("contenu", List.of(), 0, 10).total());
+        }
+
+        @Test
+        @DisplayName("Should keep an index in step with the database")
+        void shouldKeepUpToDateIndex() {
+            // Arrange
+            when(articleRepository.count()).thenReturn(0L);
+
+            // Act
+            articleSearchIndex.warmUp();
+
+            // Assert
+            verify(articleRepository, never()).streamSearchDocuments();
+        }
+    }
+
+    private static SearchDocument document(Long id, Long themeId, String titre, String contenu, int day) {
+        return new SearchDocument(id, themeId, titre, contenu, LocalDateTime.of(2024, 1, day, 12, 0));
+    }
+}
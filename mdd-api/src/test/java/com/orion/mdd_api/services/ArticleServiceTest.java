@@ -1,9 +1,24 @@
 package com.orion.mdd_api.services;
 
+import com.orion.mdd_api.dtos.ArticleBatch;
+import com.orion.mdd_api.dtos.ArticleDetail;
+import com.orion.mdd_api.dtos.ArticleNotification;
 import com.orion.mdd_api.dtos.ArticleRecord;
+import com.orion.mdd_api.dtos.ArticleSummary;
+import com.orion.mdd_api.dtos.AuthenticatedUser;
+import com.orion.mdd_api.dtos.CommentaireItem;
+import com.orion.mdd_api.dtos.CommentairePage;
 import com.orion.mdd_api.dtos.CommentaireRecord;
+import com.orion.mdd_api.dtos.FeedEntry;
+import com.orion.mdd_api.dtos.FeedItem;
+import com.orion.mdd_api.dtos.FeedPage;
+import com.orion.mdd_api.dtos.PageCursor;
+import com.orion.mdd_api.dtos.SearchDocument;
+import com.orion.mdd_api.dtos.SearchPage;
+import com.orion.mdd_api.dtos.ThemeSummary;
 import com.orion.mdd_api.entities.Article;
 import com.orion.mdd_api.entities.Commentaire;
+import com.orion.mdd_api.entities.CounterKind;
 import com.orion.mdd_api.entities.Theme;
 import com.orion.mdd_api.entities.User;
 import com.orion.mdd_api.repositories.ArticleRepository;
@@ -17,13 +32,22 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,10 +65,41 @@ class ArticleServiceTest {
     @Mock
     private CommentaireRepository commentaireRepository;
 
+    @Mock
+    private FeedService feedService;
+
+    @Mock
+    private CounterService counterService;
+
+    @Mock
+    private JsonStreamWriter jsonStreamWriter;
+
+    @Mock
+    private LiveFeedService liveFeedService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ContentVersionService contentVersions;
+
+    @Mock
+    private ArticleJsonCache articleJsonCache;
+
+    @Mock
+    private ArticleSearchIndex articleSearchIndex;
+
+    @Mock
+    private TrendingIndex trendingIndex;
+
+    @Mock
+    private ChangeLogService changeLogService;
+
     @InjectMocks
     private ArticleService articleService;
 
     private User testUser;
+    private AuthenticatedUser currentUser;
     private Theme testTheme;
     private Article testArticle;
     private Commentaire testComment;
@@ -53,6 +108,8 @@ class ArticleServiceTest {
     void setUp() {
         // Initialize test data
         testUser = new User("testUser", "test@example.com", "password");
+        testUser.setId(2L);
+        currentUser = new AuthenticatedUser(2L, "testUser", "test@example.com");
         testTheme = new Theme();
         testTheme.setId(1L);
         testTheme.setTitre("Test Theme");
@@ -97,47 +154,260 @@ class ArticleServiceTest {
     }
 
     @Nested
-    @DisplayName("getAllArticles Tests")
-    class GetAllArticlesTests {
+    @DisplayName("getArticleDetail Tests")
+    class GetArticleDetailTests {
 
         @Test
-        @DisplayName("Should return articles filtered by user's themes")
-        void shouldReturnArticlesFilteredByUserThemes() {
+        @DisplayName("Should map the article, its first comments and their count to the detail view")
+        void shouldMapArticleToDetail() {
             // Arrange
-            List<Theme> userThemes = Arrays.asList(testTheme);
-            List<Article> expectedArticles = Arrays.asList(testArticle);
+            CommentaireItem commentaire = new CommentaireItem(1L, "Test Comment", "testUser", LocalDateTime.now());
+            when(articleRepository.findById(1L)).thenReturn(Optional.of(testArticle));
+            when(commentaireRepository.findPage(1L, Limit.of(ArticleService.DEFAULT_COMMENTS_PAGE_SIZE + 1)))
+                    .thenReturn(List.of(commentaire));
+            when(counterService.get(CounterKind.ARTICLE_COMMENTS, 1L)).thenReturn(1L);
+
+            // Act
+            ArticleDetail result = articleService.getArticleDetail(1L);
 
-            when(jwtService.getCurrentUser()).thenReturn(testUser);
-            when(themeService.getThemesByUser(testUser)).thenReturn(userThemes);
-            when(articleRepository.findByThemeIn(userThemes)).thenReturn(expectedArticles);
+            // Assert
+            assertEquals(1L, result.id());
+            assertEquals("Test Title", result.titre());
+            assertEquals("Test Theme", result.theme());
+            assertEquals("testUser", result.auteur());
+            assertEquals("Test Content", result.contenu());
+            assertEquals(List.of(commentaire), result.commentaires());
+            assertEquals(1L, result.nombreCommentaires());
+            assertNull(result.nextCursor());
+        }
+
+        @Test
+        @DisplayName("Should throw RuntimeException when article not found")
+        void shouldThrowExceptionWhenArticleNotFound() {
+            // Arrange
+            when(articleRepository.findById(1L)).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThrows(RuntimeException.class, () -> articleService.getArticleDetail(1L));
+            verify(commentaireRepository, never()).findPage(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("getCommentaires Tests")
+    class GetCommentairesTests {
+
+        private final LocalDateTime now = LocalDateTime.now();
+
+        @Test
+        @DisplayName("Should return a page and the cursor of the next one when more comments remain")
+        void shouldReturnPageWithNextCursor() {
+            // Arrange
+            CommentaireItem first = new CommentaireItem(1L, "Premier", "testUser", now);
+            CommentaireItem second = new CommentaireItem(2L, "Second", "testUser", now.plusSeconds(1));
+            CommentaireItem third = new CommentaireItem(3L, "Troisième", "testUser", now.plusSeconds(2));
+            when(articleRepository.existsById(1L)).thenReturn(true);
+            when(commentaireRepository.findPage(1L, Limit.of(3))).thenReturn(List.of(first, second, third));
 
             // Act
-            List<Article> result = articleService.getAllArticles();
+            CommentairePage result = articleService.getCommentaires(1L, null, 2);
 
             // Assert
-            assertNotNull(result);
-            assertEquals(1, result.size());
-            assertEquals(testArticle.getId(), result.get(0).getId());
-            verify(themeService).getThemesByUser(testUser);
-            verify(articleRepository).findByThemeIn(userThemes);
+            assertEquals(List.of(first, second), result.commentaires());
+            assertEquals(new PageCursor(second.date(), 2L), PageCursor.decode(result.nextCursor()));
         }
 
         @Test
-        @DisplayName("Should return empty list when user has no themes")
-        void shouldReturnEmptyListWhenUserHasNoThemes() {
+        @DisplayName("Should continue after the cursor")
+        void shouldContinueAfterCursor() {
             // Arrange
-            when(jwtService.getCurrentUser()).thenReturn(testUser);
-            when(themeService.getThemesByUser(testUser)).thenReturn(List.of());
-            when(articleRepository.findByThemeIn(List.of())).thenReturn(List.of());
+            CommentaireItem third = new CommentaireItem(3L, "Troisième", "testUser", now.plusSeconds(2));
+            String cursor = new PageCursor(now.plusSeconds(1), 2L).encode();
+            when(articleRepository.existsById(1L)).thenReturn(true);
+            when(commentaireRepository.findPageAfter(1L, now.plusSeconds(1), 2L, Limit.of(3))).thenReturn(List.of(third));
 
             // Act
-            List<Article> result = articleService.getAllArticles();
+            CommentairePage result = articleService.getCommentaires(1L, cursor, 2);
 
             // Assert
-            assertNotNull(result);
-            assertTrue(result.isEmpty());
-            verify(themeService).getThemesByUser(testUser);
-            verify(articleRepository).findByThemeIn(List.of());
+            assertEquals(List.of(third), result.commentaires());
+            assertNull(result.nextCursor());
+        }
+
+        @Test
+        @DisplayName("Should throw RuntimeException when article not found")
+        void shouldThrowExceptionWhenArticleNotFound() {
+            // Arrange
+            when(articleRepository.existsById(1L)).thenReturn(false);
+
+            // Act & Assert
+            assertThrows(RuntimeException.class, () -> articleService.getCommentaires(1L, null, 20));
+            verifyNoInteractions(commentaireRepository);
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed cursor")
+        void shouldRejectMalformedCursor() {
+            assertThrows(IllegalArgumentException.class, () -> articleService.getCommentaires(1L, "not-a-cursor", 20));
+        }
+    }
+
+    @Nested
+    @DisplayName("extraitOf Tests")
+    class ExtraitOfTests {
+
+        @Test
+        @DisplayName("Should keep short content as is")
+        void shouldKeepShortContent() {
+            assertEquals("Test Content", testArticle.getExtrait());
+        }
+
+        @Test
+        @DisplayName("Should cut long content on a word boundary")
+        void shouldCutLongContentOnWordBoundary() {
+            // Arrange
+            String contenu = "mot ".repeat(100);
+
+            // Act
+            testArticle.setContenu(contenu);
+
+            // Assert
+            String extrait = testArticle.getExtrait();
+            assertTrue(extrait.length() <= Article.EXTRAIT_LENGTH + 1);
+            assertTrue(extrait.endsWith("mot…"));
+        }
+    }
+
+    @Nested
+    @DisplayName("getFeed Tests")
+    class GetFeedTests {
+
+        @Test
+        @DisplayName("Should read the current user's timeline")
+        void shouldReadCurrentUserTimeline() {
+            // Arrange
+            FeedPage page = new FeedPage(List.of(new FeedItem(1L, "Test Title", "Test Content", "Test Theme", "testUser", null, 0)), null);
+            when(jwtService.getAuthenticatedUser()).thenReturn(currentUser);
+            when(feedService.getFeed(2L, null, 20)).thenReturn(page);
+
+            // Act
+            FeedPage result = articleService.getFeed(null, 20);
+
+            // Assert
+            assertEquals(page, result);
+            verify(feedService).getFeed(2L, null, 20);
+        }
+    }
+
+    @Nested
+    @DisplayName("getArticlesByIds Tests")
+    class GetArticlesByIdsTests {
+
+        @Test
+        @DisplayName("Should return the articles in request order and report the missing ids")
+        void shouldKeepRequestOrderAndReportMissing() {
+            // Arrange
+            ArticleSummary first = new ArticleSummary(3L, "Spring", "Java", "testUser", null, "Extrait");
+            ArticleSummary second = new ArticleSummary(1L, "Java", "Java", "testUser", null, "Extrait");
+            when(articleRepository.findSummaries(Set.of(3L, 2L, 1L))).thenReturn(List.of(second, first));
+
+            // Act
+            ArticleBatch result = articleService.getArticlesByIds(List.of(3L, 2L, 1L, 3L));
+
+            // Assert
+            assertEquals(new ArticleBatch(List.of(first, second), List.of(2L)), result);
+            verify(articleRepository, times(1)).findSummaries(any());
+        }
+
+        @Test
+        @DisplayName("Should refuse batches larger than the limit")
+        void shouldRefuseLargeBatch() {
+            // Arrange
+            List<Long> ids = LongStream.rangeClosed(1, ArticleService.MAX_BATCH_SIZE + 1).boxed().toList();
+
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class, () -> articleService.getArticlesByIds(ids));
+            verify(articleRepository, never()).findSummaries(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("searchArticles Tests")
+    class SearchArticlesTests {
+
+        @Test
+        @DisplayName("Should load the matching articles in ranking order")
+        void shouldLoadMatchesInRankingOrder() {
+            // Arrange
+            FeedItem first = new FeedItem(2L, "Spring", "Extrait", "Java", "testUser", null, 0);
+            FeedItem second = new FeedItem(1L, "Java", "Spring", "Java", "testUser", null, 0);
+            when(articleSearchIndex.search("spring", List.of(3L), 0, 20))
+                    .thenReturn(new ArticleSearchIndex.Hits(List.of(2L, 1L), 2));
+            when(articleRepository.findFeedItems(List.of(2L, 1L))).thenReturn(List.of(second, first));
+
+            // Act
+            SearchPage result = articleService.searchArticles("spring", List.of(3L), 0, 20);
+
+            // Assert
+            assertEquals(new SearchPage(List.of(first, second), 2, 0, 20), result);
+        }
+
+        @Test
+        @DisplayName("Should clamp the page size and skip the database when nothing matches")
+        void shouldClampSizeAndSkipEmptyPage() {
+            // Arrange
+            when(articleSearchIndex.search("rien", List.of(), 0, ArticleService.MAX_SEARCH_PAGE_SIZE))
+                    .thenReturn(new ArticleSearchIndex.Hits(List.of(), 0));
+
+            // Act
+            SearchPage result = articleService.searchArticles("rien", List.of(), 0, 500);
+
+            // Assert
+            assertTrue(result.articles().isEmpty());
+            assertEquals(ArticleService.MAX_SEARCH_PAGE_SIZE, result.size());
+            verify(articleRepository, never()).findFeedItems(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("openLiveFeed Tests")
+    class OpenLiveFeedTests {
+
+        @Test
+        @DisplayName("Should open a live feed connection for the current user")
+        void shouldConnectCurrentUser() {
+            // Arrange
+            SseEmitter emitter = new SseEmitter();
+            when(jwtService.getAuthenticatedUser()).thenReturn(currentUser);
+            when(liveFeedService.connect(2L)).thenReturn(Optional.of(emitter));
+
+            // Act
+            Optional<SseEmitter> result = articleService.openLiveFeed();
+
+            // Assert
+            assertEquals(Optional.of(emitter), result);
+        }
+    }
+
+    @Nested
+    @DisplayName("exportArticles Tests")
+    class ExportArticlesTests {
+
+        @Test
+        @DisplayName("Should resolve the user before streaming the articles of their themes")
+        void shouldStreamArticlesOfCurrentUser() throws IOException {
+            // Arrange
+            when(jwtService.getAuthenticatedUser()).thenReturn(currentUser);
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+            // Act
+            var body = articleService.exportArticles();
+            verify(jwtService).getAuthenticatedUser();
+            verifyNoInteractions(jsonStreamWriter);
+            body.writeTo(output);
+
+            // Assert
+            verify(jsonStreamWriter).writeArray(eq(output), eq("articles"), any());
         }
     }
 
@@ -150,8 +420,10 @@ class ArticleServiceTest {
         void shouldAddNewArticle() {
             // Arrange
             ArticleRecord articleRecord = new ArticleRecord("Test Theme", "Test Title", "Test Content");
-            when(themeService.getThemeByTitre("Test Theme")).thenReturn(testTheme);
-            when(jwtService.getCurrentUser()).thenReturn(testUser);
+            when(themeService.getThemeByTitre("Test Theme")).thenReturn(new ThemeSummary(1L, "Test Theme", "Description"));
+            when(themeService.getThemeReference(1L)).thenReturn(testTheme);
+            when(jwtService.getAuthenticatedUser()).thenReturn(currentUser);
+            when(jwtService.getUserReference(2L)).thenReturn(testUser);
             when(articleRepository.save(any(Article.class))).thenReturn(testArticle);
 
             // Act
@@ -169,6 +441,14 @@ class ArticleServiceTest {
             assertEquals(articleRecord.contenu(), savedArticle.getContenu());
             assertEquals(testTheme, savedArticle.getTheme());
             assertEquals(testUser, savedArticle.getAuteur());
+            verify(feedService).publish(testArticle);
+            verify(counterService).increment(CounterKind.THEME_ARTICLES, testTheme.getId());
+            verify(trendingIndex).published(new FeedEntry(testArticle.getId(), testTheme.getId(), testArticle.getCreatedAt()));
+            verify(changeLogService).articlePublished(testArticle.getId(), testTheme.getId(), testArticle.getCreatedAt());
+            verify(articleSearchIndex).index(new SearchDocument(testArticle.getId(), testTheme.getId(),
+                    testArticle.getTitre(), testArticle.getContenu(), testArticle.getUpdatedAt()));
+            verify(eventPublisher).publishEvent(new ArticleNotification(testArticle.getId(), testTheme.getId(),
+                    testArticle.getTitre(), "Test Theme", "testUser", testArticle.getUpdatedAt()));
         }
 
         @Test
@@ -193,8 +473,9 @@ class ArticleServiceTest {
         void shouldAddCommentToArticle() {
             // Arrange
             CommentaireRecord commentRecord = new CommentaireRecord("Test Comment");
-            when(jwtService.getCurrentUser()).thenReturn(testUser);
+            when(jwtService.getAuthenticatedUser()).thenReturn(currentUser);
             when(articleRepository.findById(1L)).thenReturn(Optional.of(testArticle));
+            when(jwtService.getUserReference(2L)).thenReturn(testUser);
             when(commentaireRepository.save(any(Commentaire.class))).thenReturn(testComment);
 
             // Act
@@ -211,6 +492,10 @@ class ArticleServiceTest {
             assertEquals(commentRecord.contenu(), savedComment.getContenu());
             assertEquals(testUser, savedComment.getAuteur());
             assertEquals(testArticle, savedComment.getArticle());
+            verify(counterService).increment(CounterKind.ARTICLE_COMMENTS, 1L);
+            verify(articleJsonCache).evict(1L);
+            verify(trendingIndex).commented(any(FeedEntry.class));
+            verify(changeLogService).articleCommented(eq(1L), any(), any());
         }
 
         @Test
@@ -218,12 +503,13 @@ class ArticleServiceTest {
         void shouldThrowExceptionWhenArticleNotFoundForComment() {
             // Arrange
             CommentaireRecord commentRecord = new CommentaireRecord("Test Comment");
-            when(jwtService.getCurrentUser()).thenReturn(testUser);
+            when(jwtService.getAuthenticatedUser()).thenReturn(currentUser);
             when(articleRepository.findById(1L)).thenReturn(Optional.empty());
 
             // Act & Assert
             assertThrows(RuntimeException.class, () -> articleService.addCommentaire(commentRecord, 1L));
             verify(commentaireRepository, never()).save(any());
+            verifyNoInteractions(counterService);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,214 @@
+package com.orion.mdd_api.services;
+
+import com.orion.mdd_api.dtos.ArticleNotification;
+import com.orion.mdd_api.dtos.FeedEntry;
+import com.orion.mdd_api.dtos.SearchDocument;
+import com.orion.mdd_api.entities.ChangeKind;
+import com.orion.mdd_api.entities.ChangeLogEntry;
+import com.orion.mdd_api.repositories.ArticleRepository;
+import com.orion.mdd_api.repositories.ChangeLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeLogServiceTest {
+
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private ContentVersionService contentVersions;
+
+    @Mock
+    private ArticleJsonCache articleJsonCache;
+
+    @Mock
+    private RecentArticlesIndex recentArticles;
+
+    @Mock
+    private TrendingIndex trendingIndex;
+
+    @Mock
+    private ArticleSearchIndex articleSearchIndex;
+
+    @Mock
+    private LiveFeedService liveFeedService;
+
+    @Mock
+    private SubscriptionIndex subscriptionIndex;
+
+    @Mock
+    private UserCache userCache;
+
+    private ChangeLogService changeLogService;
+
+    private final LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        when(changeLogRepository.findLastId()).thenReturn(Optional.of(10L));
+        when(changeLogRepository.findIdsAfter(0L)).thenReturn(LongStream.rangeClosed(1, 10).boxed().toList());
+        changeLogService = newChangeLogService(new ChangeLogPosition(changeLogRepository));
+        changeLogService.start();
+    }
+
+    private ChangeLogService newChangeLogService(ChangeLogPosition position) {
+        return new ChangeLogService(changeLogRepository, position, articleRepository, contentVersions, articleJsonCache,
+                recentArticles, trendingIndex, articleSearchIndex, liveFeedService, subscriptionIndex, userCache, 100, 10_000, 24);
+    }
+
+    @Test
+    @DisplayName("Should start after the position taken before loading and look for the ids not visible then")
+    void shouldStartFromPositionWithGaps() {
+        // Arrange
+        when(changeLogRepository.findLastId()).thenReturn(Optional.of(5L));
+        when(changeLogRepository.findIdsAfter(0L)).thenReturn(List.of(1L, 2L, 4L, 5L));
+        ChangeLogPosition position = new ChangeLogPosition(changeLogRepository);
+        ChangeLogService service = newChangeLogService(position);
+        when(changeLogRepository.findAfterOrIn(5L, Set.of(3L), Limit.of(100))).thenReturn(List.of(
+                entry(3L, ChangeKind.USER_UPDATED, 7L, null, "other-node"),
+                // Written while the indexes loaded
+                entry(6L, ChangeKind.USER_UPDATED, 8L, null, "other-node")));
+
+        // Act
+        service.start();
+        service.poll();
+
+        // Assert
+        assertEquals(List.of(3L), position.missingIds());
+        verify(userCache).evict(7L);
+        verify(userCache).evict(8L);
+    }
+
+    @Test
+    @DisplayName("Should record a change with the id of the node")
+    void shouldRecordWithNodeId() {
+        // Act
+        changeLogService.articleCommented(1L, 2L, now);
+
+        // Assert
+        ArgumentCaptor<ChangeLogEntry> captor = ArgumentCaptor.forClass(ChangeLogEntry.class);
+        verify(changeLogRepository).save(captor.capture());
+        assertEquals(ChangeKind.ARTICLE_COMMENTED, captor.getValue().getKind());
+        assertEquals(1L, captor.getValue().getEntityId());
+        assertEquals(2L, captor.getValue().getThemeId());
+        assertEquals(changeLogService.nodeId(), captor.getValue().getOrigin());
+    }
+
+    @Nested
+    @DisplayName("poll Tests")
+    class PollTests {
+
+        @Test
+        @DisplayName("Should apply the changes of other nodes and skip its own")
+        void shouldApplyRemoteChangesOnly() {
+            // Arrange
+            when(changeLogRepository.findAfter(10L, Limit.of(100))).thenReturn(List.of(
+                    entry(11L, ChangeKind.ARTICLE_COMMENTED, 1L, 2L, "other-node"),
+                    entry(12L, ChangeKind.ARTICLE_COMMENTED, 3L, 2L, changeLogService.nodeId()),
+                    entry(13L, ChangeKind.USER_UPDATED, 4L, null, "other-node")));
+
+            // Act
+            changeLogService.poll();
+
+            // Assert
+            verify(contentVersions).articleChanged(1L);
+            verify(articleJsonCache).evict(1L);
+            verify(trendingIndex).commented(new FeedEntry(1L, 2L, now));
+            verify(contentVersions, never()).articleChanged(3L);
+            verify(articleJsonCache, never()).evict(3L);
+            verify(contentVersions).allArticlesChanged();
+            verify(userCache).evict(4L);
+            verifyNoInteractions(articleRepository);
+        }
+
+        @Test
+        @DisplayName("Should index and push the articles published by other nodes")
+        void shouldApplyRemotePublications() {
+            // Arrange
+            SearchDocument document = new SearchDocument(1L, 2L, "Titre", "Contenu", now);
+            ArticleNotification notification = new ArticleNotification(1L, 2L, "Titre", "Java", "auteur", now);
+            when(changeLogRepository.findAfter(10L, Limit.of(100))).thenReturn(List.of(
+                    entry(11L, ChangeKind.ARTICLE_PUBLISHED, 1L, 2L, "other-node")));
+            when(articleRepository.findSearchDocuments(List.of(1L))).thenReturn(List.of(document));
+            when(articleRepository.findNotifications(List.of(1L))).thenReturn(List.of(notification));
+
+            // Act
+            changeLogService.poll();
+
+            // Assert
+            verify(contentVersions).feedChanged();
+            verify(recentArticles).append(new FeedEntry(1L, 2L, now));
+            verify(trendingIndex).published(new FeedEntry(1L, 2L, now));
+            verify(articleSearchIndex).index(document);
+            verify(liveFeedService).onArticlePublished(notification);
+        }
+
+        @Test
+        @DisplayName("Should look again for skipped ids and apply them once committed")
+        void shouldRetrySkippedIds() {
+            // Arrange
+            when(changeLogRepository.findAfter(10L, Limit.of(100))).thenReturn(List.of(
+                    entry(12L, ChangeKind.THEME_SUBSCRIBED, 5L, 2L, "other-node")));
+            when(changeLogRepository.findAfterOrIn(12L, Set.of(11L), Limit.of(100))).thenReturn(List.of(
+                    entry(11L, ChangeKind.THEME_UNSUBSCRIBED, 5L, 3L, "other-node")));
+            changeLogService.poll();
+
+            // Act
+            changeLogService.poll();
+            changeLogService.poll();
+
+            // Assert
+            verify(subscriptionIndex).subscribed(5L, 2L);
+            verify(subscriptionIndex).unsubscribed(5L, 3L);
+            verify(liveFeedService).subscribed(5L, 2L);
+            verify(liveFeedService).unsubscribed(5L, 3L);
+            verify(changeLogRepository, times(1)).findAfterOrIn(any(), any(), any());
+            verify(changeLogRepository).findAfter(eq(12L), any());
+        }
+
+        @Test
+        @DisplayName("Should keep its position when the log cannot be read")
+        void shouldKeepPositionOnFailure() {
+            // Arrange
+            when(changeLogRepository.findAfter(10L, Limit.of(100)))
+                    .thenThrow(new DataAccessResourceFailureException("Down"))
+                    .thenReturn(List.of(entry(11L, ChangeKind.USER_UPDATED, 4L, null, "other-node")));
+
+            // Act
+            changeLogService.poll();
+            changeLogService.poll();
+
+            // Assert
+            verify(contentVersions, times(1)).allArticlesChanged();
+        }
+    }
+
+    private ChangeLogEntry entry(Long id, ChangeKind kind, Long entityId, Long themeId, String origin) {
+        ChangeLogEntry entry = new ChangeLogEntry(kind, entityId, themeId, origin, now);
+        entry.setId(id);
+        return entry;
+    }
+}
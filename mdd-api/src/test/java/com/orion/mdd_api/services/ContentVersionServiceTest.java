@@ -0,0 +1,101 @@
+package com.orion.mdd_api.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentVersionServiceTest {
+
+    private final ContentVersionService contentVersions = new ContentVersionService();
+
+    @Nested
+    @DisplayName("articleValidator Tests")
+    class ArticleValidatorTests {
+
+        @Test
+        @DisplayName("Should change only the validator of the changed article")
+        void shouldChangeOnlyChangedArticle() {
+            // Arrange
+            ContentVersionService.Validator first = contentVersions.articleValidator(1L);
+            ContentVersionService.Validator second = contentVersions.articleValidator(2L);
+
+            // Act
+            contentVersions.articleChanged(1L);
+
+            // Assert
+            assertNotEquals(first.eTag(), contentVersions.articleValidator(1L).eTag());
+            assertTrue(contentVersions.articleValidator(1L).lastModified() > first.lastModified());
+            assertEquals(second, contentVersions.articleValidator(2L));
+        }
+
+        @Test
+        @DisplayName("Should change every article and feed validator at once")
+        void shouldChangeAllArticles() {
+            // Arrange
+            contentVersions.articleChanged(1L);
+            ContentVersionService.Validator first = contentVersions.articleValidator(1L);
+            ContentVersionService.Validator second = contentVersions.articleValidator(2L);
+            ContentVersionService.Validator feed = contentVersions.feedValidator("reader", "recent", null, 20);
+
+            // Act
+            contentVersions.allArticlesChanged();
+
+            // Assert
+            assertNotEquals(first, contentVersions.articleValidator(1L));
+            assertNotEquals(second, contentVersions.articleValidator(2L));
+            assertNotEquals(feed, contentVersions.feedValidator("reader", "recent", null, 20));
+        }
+    }
+
+    @Nested
+    @DisplayName("catalogValidator Tests")
+    class CatalogValidatorTests {
+
+        @Test
+        @DisplayName("Should issue distinct validators per reader")
+        void shouldDistinguishReaders() {
+            // Act
+            String catalog = contentVersions.catalogValidator("reader").eTag();
+
+            // Assert
+            assertEquals(catalog, contentVersions.catalogValidator("reader").eTag());
+            assertNotEquals(catalog, contentVersions.catalogValidator("other").eTag());
+        }
+    }
+
+    @Nested
+    @DisplayName("feedValidator Tests")
+    class FeedValidatorTests {
+
+        @Test
+        @DisplayName("Should issue distinct validators per reader, order and page")
+        void shouldDistinguishReadersAndPages() {
+            // Act
+            String page = contentVersions.feedValidator("reader", "recent", null, 20).eTag();
+
+            // Assert
+            assertEquals(page, contentVersions.feedValidator("reader", "recent", null, 20).eTag());
+            assertNotEquals(page, contentVersions.feedValidator("other", "recent", null, 20).eTag());
+            assertNotEquals(page, contentVersions.feedValidator("reader", "recent", "cursor", 20).eTag());
+            assertNotEquals(page, contentVersions.feedValidator("reader", "recent", null, 10).eTag());
+            assertNotEquals(page, contentVersions.feedValidator("reader", "trending", null, 20).eTag());
+        }
+
+        @Test
+        @DisplayName("Should leave the catalog validator unchanged on feed changes")
+        void shouldKeepCatalogOnFeedChange() {
+            // Arrange
+            ContentVersionService.Validator catalog = contentVersions.catalogValidator("reader");
+            ContentVersionService.Validator feed = contentVersions.feedValidator("reader", "recent", null, 20);
+
+            // Act
+            contentVersions.feedChanged();
+
+            // Assert
+            assertEquals(catalog, contentVersions.catalogValidator("reader"));
+            assertNotEquals(feed, contentVersions.feedValidator("reader", "recent", null, 20));
+        }
+    }
+}
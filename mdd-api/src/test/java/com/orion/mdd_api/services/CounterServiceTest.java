@@ -0,0 +1,215 @@
+package com.orion.mdd_api.services;
+
+import com.orion.mdd_api.entities.Counter;
+import com.orion.mdd_api.entities.CounterKind;
+import com.orion.mdd_api.repositories.CounterRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CounterServiceTest {
+
+    @Mock
+    private CounterRepository counterRepository;
+
+    @InjectMocks
+    private CounterService counterService;
+
+    @Nested
+    @DisplayName("seed Tests")
+    class SeedTests {
+
+        @Test
+        @DisplayName("Should compute every counter when the table is empty")
+        void shouldSeedEmptyTable() {
+            // Arrange
+            when(counterRepository.count()).thenReturn(0L);
+
+            // Act
+            counterService.seed();
+
+            // Assert
+            verify(counterRepository).seedArticleComments();
+            verify(counterRepository).seedThemeArticles();
+            verify(counterRepository).seedThemeSubscribers();
+        }
+
+        @Test
+        @DisplayName("Should keep existing counters")
+        void shouldNotSeedTwice() {
+            // Arrange
+            when(counterRepository.count()).thenReturn(3L);
+
+            // Act
+            counterService.seed();
+
+            // Assert
+            verify(counterRepository, never()).seedArticleComments();
+        }
+    }
+
+    @Nested
+    @DisplayName("get Tests")
+    class GetTests {
+
+        @Test
+        @DisplayName("Should add unflushed changes to the stored total")
+        void shouldAddPendingToStoredTotal() {
+            // Arrange
+            when(counterRepository.findTotal(CounterKind.ARTICLE_COMMENTS, 1L)).thenReturn(Optional.of(5L));
+            counterService.increment(CounterKind.ARTICLE_COMMENTS, 1L);
+            counterService.increment(CounterKind.ARTICLE_COMMENTS, 1L);
+            counterService.decrement(CounterKind.ARTICLE_COMMENTS, 1L);
+
+            // Act
+            long result = counterService.get(CounterKind.ARTICLE_COMMENTS, 1L);
+
+            // Assert
+            assertEquals(6L, result);
+        }
+
+        @Test
+        @DisplayName("Should read several counters with one query, 0 for unknown entities")
+        void shouldGetAllCounters() {
+            // Arrange
+            when(counterRepository.findByKindAndEntityIdIn(CounterKind.THEME_SUBSCRIBERS, List.of(1L, 2L)))
+                    .thenReturn(List.of(new Counter(CounterKind.THEME_SUBSCRIBERS, 1L, 4L)));
+            counterService.increment(CounterKind.THEME_SUBSCRIBERS, 1L);
+
+            // Act
+            Map<Long, Long> result = counterService.getAll(CounterKind.THEME_SUBSCRIBERS, List.of(1L, 2L));
+
+            // Assert
+            assertEquals(Map.of(1L, 5L, 2L, 0L), result);
+        }
+    }
+
+    @Nested
+    @DisplayName("flush Tests")
+    class FlushTests {
+
+        @Test
+        @DisplayName("Should write accumulated changes in one batch and reset them")
+        void shouldFlushPendingChanges() {
+            // Arrange
+            counterService.increment(CounterKind.ARTICLE_COMMENTS, 1L);
+            counterService.add(CounterKind.THEME_ARTICLES, 2L, 3);
+
+            // Act
+            counterService.flush();
+            counterService.flush();
+
+            // Assert
+            verify(counterRepository, times(1)).addAll(Map.of(
+                    new Counter.Key(CounterKind.ARTICLE_COMMENTS, 1L), 1L,
+                    new Counter.Key(CounterKind.THEME_ARTICLES, 2L), 3L));
+        }
+
+        @Test
+        @DisplayName("Should keep changes that failed to be written for the next flush")
+        void shouldRetryFailedFlush() {
+            // Arrange
+            counterService.increment(CounterKind.ARTICLE_COMMENTS, 1L);
+            doThrow(new RuntimeException("Database unavailable")).doNothing().when(counterRepository).addAll(any());
+
+            // Act
+            counterService.flush();
+            counterService.flush();
+
+            // Assert
+            verify(counterRepository, times(2)).addAll(Map.of(new Counter.Key(CounterKind.ARTICLE_COMMENTS, 1L), 1L));
+            assertEquals(0L, counterService.get(CounterKind.ARTICLE_COMMENTS, 1L));
+        }
+
+        @Test
+        @DisplayName("Should not lose concurrent increments")
+        void shouldNotLoseConcurrentIncrements() throws InterruptedException {
+            // Arrange
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+
+            // Act
+            for (int i = 0; i < 1000; i++) {
+                executor.submit(() -> counterService.increment(CounterKind.ARTICLE_COMMENTS, 1L));
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+            // Assert
+            assertEquals(1000L, counterService.get(CounterKind.ARTICLE_COMMENTS, 1L));
+        }
+
+        @Test
+        @DisplayName("Should count a change being written once, without waiting for the batch")
+        void shouldReadWhileBatchIsWritten() throws Exception {
+            // Arrange
+            counterService.increment(CounterKind.ARTICLE_COMMENTS, 1L);
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            List<Long> reads = new ArrayList<>();
+            doAnswer(invocation -> {
+                // The batch is not committed yet, the stored total does not hold the change
+                reads.add(executor.submit(() -> counterService.get(CounterKind.ARTICLE_COMMENTS, 1L))
+                        .get(5, TimeUnit.SECONDS));
+                return null;
+            }).when(counterRepository).addAll(any());
+
+            // Act
+            counterService.flush();
+
+            // Assert
+            assertEquals(List.of(1L), reads);
+            executor.shutdown();
+        }
+
+        @Test
+        @DisplayName("Should read again when a batch commits during the read")
+        void shouldRetryReadAcrossCommit() {
+            // Arrange
+            counterService.increment(CounterKind.ARTICLE_COMMENTS, 1L);
+            when(counterRepository.findTotal(CounterKind.ARTICLE_COMMENTS, 1L))
+                    .thenAnswer(invocation -> {
+                        // The total is read before the batch commits, the change leaves memory right after
+                        counterService.flush();
+                        return Optional.empty();
+                    })
+                    .thenReturn(Optional.of(1L));
+
+            // Act
+            long result = counterService.get(CounterKind.ARTICLE_COMMENTS, 1L);
+
+            // Assert
+            assertEquals(1L, result);
+            verify(counterRepository, times(2)).findTotal(CounterKind.ARTICLE_COMMENTS, 1L);
+        }
+
+        @Test
+        @DisplayName("Should drop the counters it wrote from memory")
+        void shouldDropFlushedCounters() {
+            // Arrange
+            counterService.increment(CounterKind.ARTICLE_COMMENTS, 1L);
+
+            // Act
+            counterService.flush();
+
+            // Assert
+            assertEquals(Map.of(), ReflectionTestUtils.getField(counterService, "pending"));
+        }
+    }
+}
@@ -0,0 +1,468 @@
+package com.orion.mdd_api.services;
+
+import com.orion.mdd_api.dtos.FanOutMode;
+import com.orion.mdd_api.dtos.FeedEntry;
+import com.orion.mdd_api.dtos.FeedItem;
+import com.orion.mdd_api.dtos.FeedPage;
+import com.orion.mdd_api.dtos.PageCursor;
+import com.orion.mdd_api.dtos.TimelineHorizon;
+import com.orion.mdd_api.dtos.TrendingCursor;
+import com.orion.mdd_api.entities.Article;
+import com.orion.mdd_api.entities.Theme;
+import com.orion.mdd_api.entities.User;
+import com.orion.mdd_api.repositories.ArticleRepository;
+import com.orion.mdd_api.repositories.CommentaireRepository;
+import com.orion.mdd_api.repositories.ThemeRepository;
+import com.orion.mdd_api.repositories.TimelineRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FeedServiceTest {
+
+    @Mock
+    private TimelineRepository timelineRepository;
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private ThemeRepository themeRepository;
+
+    @Mock
+    private CommentaireRepository commentaireRepository;
+
+    @Mock
+    private SubscriptionIndex subscriptionIndex;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RecentArticlesIndex recentArticles;
+    private TrendingIndex trendingIndex;
+    private FeedService feedService;
+
+    private final LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+    private User testUser;
+    private Theme testTheme;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Pages of two or more articles do not fit the rings and are read from the database
+        recentArticles = new RecentArticlesIndex(articleRepository, themeRepository, 2);
+        trendingIndex = new TrendingIndex(articleRepository, commentaireRepository, 12, 10, 7);
+        feedService = new FeedService(timelineRepository, articleRepository, subscriptionIndex, recentArticles, trendingIndex,
+                themeRepository, meterRegistry, 100, 80, 2);
+
+        testUser = new User("testUser", "test@example.com", "password");
+        testUser.setId(1L);
+        testTheme = new Theme();
+        testTheme.setId(10L);
+        testTheme.setTitre("Test Theme");
+    }
+
+    private Article articleAt(Long id, LocalDateTime date) {
+        Article article = new Article("Title " + id, "Content", testUser, testTheme);
+        article.setId(id);
+        article.setUpdatedAt(date);
+        return article;
+    }
+
+    private FeedItem itemFor(Article article) {
+        return new FeedItem(article.getId(), article.getTitre(), article.getContenu(), article.getThemeTitle(),
+                article.getAuteurName(), article.getUpdatedAt(), 0);
+    }
+
+    private FeedEntry entryFor(Article article) {
+        return new FeedEntry(article.getId(), article.getTheme().getId(), article.getUpdatedAt());
+    }
+
+    @Nested
+    @DisplayName("write path Tests")
+    class WritePathTests {
+
+        @Test
+        @DisplayName("Should fan a new article out to the theme subscribers")
+        void shouldFanOutNewArticle() {
+            Article article = articleAt(5L, now);
+            when(themeRepository.findFanOutModes(List.of(10L))).thenReturn(List.of(new FanOutMode(10L, false, null)));
+            when(timelineRepository.fanOut(5L, 10L, now)).thenReturn(3);
+
+            feedService.publish(article);
+
+            verify(timelineRepository).fanOut(5L, 10L, now);
+            assertEquals(List.of(entryFor(article)), recentArticles.recent(10L));
+            assertEquals(3.0, meterRegistry.get("feed.fanout.writes").summary().totalAmount());
+            assertEquals(1.0, meterRegistry.get("feed.publish").tag("mode", "push").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should not fan out articles of pulled themes")
+        void shouldNotFanOutLargeTheme() {
+            Article article = articleAt(5L, now);
+            when(themeRepository.findFanOutModes(List.of(10L))).thenReturn(List.of(new FanOutMode(10L, true, null)));
+
+            feedService.publish(article);
+
+            verify(timelineRepository, never()).fanOut(any(), any(), any());
+            assertEquals(List.of(entryFor(article)), recentArticles.recent(10L));
+            assertEquals(1.0, meterRegistry.get("feed.publish").tag("mode", "pull").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should switch a theme to pull above the maximum and back to push under the minimum only")
+        void shouldSwitchFanOutWithHysteresis() {
+            when(themeRepository.findFanOutModes(List.of(10L)))
+                    .thenReturn(List.of(new FanOutMode(10L, false, null)))
+                    .thenReturn(List.of(new FanOutMode(10L, true, null)));
+            when(themeRepository.switchFanOut(eq(10L), anyBoolean(), any())).thenReturn(1);
+
+            feedService.subscribersChanged(10L, 101L);
+            feedService.subscribersChanged(10L, 90L);
+            feedService.subscribersChanged(10L, 79L);
+
+            verify(themeRepository).switchFanOut(10L, true, null);
+            ArgumentCaptor<LocalDateTime> pushedSince = ArgumentCaptor.forClass(LocalDateTime.class);
+            verify(themeRepository).switchFanOut(eq(10L), eq(false), pushedSince.capture());
+            assertTrue(pushedSince.getValue().isAfter(LocalDateTime.now()));
+            verify(themeRepository, times(2)).findFanOutModes(List.of(10L));
+        }
+
+        @Test
+        @DisplayName("Should not switch a theme already in the right mode")
+        void shouldNotSwitchSameMode() {
+            when(themeRepository.findFanOutModes(List.of(10L))).thenReturn(List.of(new FanOutMode(10L, true, null)));
+
+            feedService.subscribersChanged(10L, 150L);
+
+            verify(themeRepository, never()).switchFanOut(any(), anyBoolean(), any());
+        }
+
+        @Test
+        @DisplayName("Should decide the mode of the themes that have none from their subscribers")
+        void shouldDecideMissingFanOutModes() {
+            when(themeRepository.findIdsWithoutFanOutMode()).thenReturn(List.of(10L, 20L));
+            when(subscriptionIndex.subscriberCount(10L)).thenReturn(5L);
+            when(subscriptionIndex.subscriberCount(20L)).thenReturn(500L);
+
+            feedService.decideFanOutModes();
+
+            verify(themeRepository).switchFanOut(eq(10L), eq(false), any(LocalDateTime.class));
+            verify(themeRepository).switchFanOut(20L, true, null);
+        }
+
+        @Test
+        @DisplayName("Should backfill and prune a subscriber's timeline")
+        void shouldBackfillAndPrune() {
+            feedService.backfill(1L, List.of(10L));
+            feedService.prune(1L, List.of(10L));
+
+            verify(timelineRepository).backfill(1L, 10L, 2);
+            verify(timelineRepository).prune(1L, List.of(10L));
+        }
+
+        @Test
+        @DisplayName("Should cap the backfill of every theme to its newest articles")
+        void shouldCapBackfillPerTheme() {
+            when(timelineRepository.backfill(1L, 10L, 2)).thenReturn(2);
+            when(timelineRepository.backfill(1L, 20L, 2)).thenReturn(1);
+
+            feedService.backfill(1L, List.of(10L, 20L));
+
+            verify(timelineRepository).backfill(1L, 10L, 2);
+            verify(timelineRepository).backfill(1L, 20L, 2);
+            verifyNoMoreInteractions(timelineRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("getFeed Tests")
+    class GetFeedTests {
+
+        @Test
+        @DisplayName("Should return first page in timeline order with a cursor when more articles exist")
+        void shouldReturnFirstPageWithCursor() {
+            // Arrange
+            Article newest = articleAt(3L, now);
+            Article middle = articleAt(2L, now.minusHours(1));
+            Article oldest = articleAt(1L, now.minusHours(2));
+            when(timelineRepository.findPage(1L, Limit.of(3)))
+                    .thenReturn(List.of(entryFor(newest), entryFor(middle), entryFor(oldest)));
+            when(articleRepository.findFeedItems(List.of(3L, 2L))).thenReturn(List.of(itemFor(middle), itemFor(newest)));
+
+            // Act
+            FeedPage result = feedService.getFeed(1L, null, 2);
+
+            // Assert
+            assertEquals(List.of(itemFor(newest), itemFor(middle)), result.articles());
+            assertEquals(new PageCursor(middle.getUpdatedAt(), 2L), PageCursor.decode(result.nextCursor()));
+        }
+
+        @Test
+        @DisplayName("Should continue after the cursor and end the feed on the last page")
+        void shouldContinueAfterCursor() {
+            // Arrange
+            Article oldest = articleAt(1L, now.minusHours(2));
+            PageCursor cursor = new PageCursor(now.minusHours(1), 2L);
+            when(timelineRepository.findPageAfter(1L, cursor.date(), cursor.id(), Limit.of(3)))
+                    .thenReturn(List.of(entryFor(oldest)));
+            when(articleRepository.findFeedItems(List.of(1L))).thenReturn(List.of(itemFor(oldest)));
+
+            // Act
+            FeedPage result = feedService.getFeed(1L, cursor.encode(), 2);
+
+            // Assert
+            assertEquals(List.of(itemFor(oldest)), result.articles());
+            assertNull(result.nextCursor());
+        }
+
+        @Test
+        @DisplayName("Should build a first page that fits the rings from memory")
+        void shouldBuildFirstPageFromMemory() {
+            // Arrange
+            Theme otherTheme = new Theme();
+            otherTheme.setId(20L);
+            Article older = articleAt(1L, now.minusHours(2));
+            Article newest = articleAt(2L, now);
+            newest.setTheme(otherTheme);
+            recentArticles.append(entryFor(older));
+            recentArticles.append(entryFor(newest));
+            when(subscriptionIndex.themesOf(1L)).thenReturn(List.of(10L, 20L));
+            when(articleRepository.findFeedItems(List.of(2L))).thenReturn(List.of(itemFor(newest)));
+
+            // Act
+            FeedPage result = feedService.getFeed(1L, null, 1);
+
+            // Assert
+            assertEquals(List.of(itemFor(newest)), result.articles());
+            assertEquals(new PageCursor(now, 2L), PageCursor.decode(result.nextCursor()));
+            verifyNoInteractions(timelineRepository);
+            assertEquals(1.0, meterRegistry.get("feed.read.source").tag("source", "memory").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should merge pulled themes with the timeline by recency")
+        void shouldMergePulledThemesWithTimeline() {
+            // Arrange
+            Theme largeTheme = new Theme();
+            largeTheme.setId(20L);
+            Article pushedNew = articleAt(4L, now);
+            Article pulledMiddle = articleAt(3L, now.minusHours(1));
+            pulledMiddle.setTheme(largeTheme);
+            Article pushedOld = articleAt(2L, now.minusHours(2));
+            when(subscriptionIndex.themesOf(1L)).thenReturn(List.of(10L, 20L));
+            when(themeRepository.findFanOutModes(List.of(10L, 20L)))
+                    .thenReturn(List.of(new FanOutMode(10L, false, null), new FanOutMode(20L, true, null)));
+            when(timelineRepository.findPageExcluding(1L, List.of(20L), Limit.of(3)))
+                    .thenReturn(List.of(entryFor(pushedNew), entryFor(pushedOld)));
+            when(articleRepository.findRecentByTheme(20L, Limit.of(3))).thenReturn(List.of(entryFor(pulledMiddle)));
+            when(articleRepository.findFeedItems(List.of(4L, 3L))).thenReturn(List.of(itemFor(pushedNew), itemFor(pulledMiddle)));
+
+            // Act
+            FeedPage result = feedService.getFeed(1L, null, 2);
+
+            // Assert
+            assertEquals(List.of(itemFor(pushedNew), itemFor(pulledMiddle)), result.articles());
+            assertEquals(new PageCursor(pulledMiddle.getUpdatedAt(), 3L), PageCursor.decode(result.nextCursor()));
+            assertEquals(1L, meterRegistry.get("feed.read").timer().count());
+        }
+
+        @Test
+        @DisplayName("Should read one bounded page per pulled theme, never a query over several themes")
+        void shouldReadOnePagePerPulledTheme() {
+            // Arrange
+            Theme firstLarge = new Theme();
+            firstLarge.setId(20L);
+            Theme secondLarge = new Theme();
+            secondLarge.setId(30L);
+            Article first = articleAt(5L, now.minusHours(2));
+            first.setTheme(firstLarge);
+            Article second = articleAt(4L, now.minusHours(3));
+            second.setTheme(secondLarge);
+            Article third = articleAt(3L, now.minusHours(4));
+            third.setTheme(firstLarge);
+            PageCursor cursor = new PageCursor(now.minusHours(1), 6L);
+            when(subscriptionIndex.themesOf(1L)).thenReturn(List.of(20L, 30L));
+            when(themeRepository.findFanOutModes(List.of(20L, 30L)))
+                    .thenReturn(List.of(new FanOutMode(20L, true, null), new FanOutMode(30L, true, null)));
+            when(timelineRepository.findPageAfterExcluding(1L, List.of(20L, 30L), cursor.date(), cursor.id(), Limit.of(3)))
+                    .thenReturn(List.of());
+            when(articleRepository.findRecentByThemeAfter(20L, cursor.date(), cursor.id(), Limit.of(3)))
+                    .thenReturn(List.of(entryFor(first), entryFor(third)));
+            when(articleRepository.findRecentByThemeAfter(30L, cursor.date(), cursor.id(), Limit.of(3)))
+                    .thenReturn(List.of(entryFor(second)));
+            when(articleRepository.findFeedItems(List.of(5L, 4L))).thenReturn(List.of(itemFor(first), itemFor(second)));
+
+            // Act
+            FeedPage result = feedService.getFeed(1L, cursor.encode(), 2);
+
+            // Assert
+            assertEquals(List.of(itemFor(first), itemFor(second)), result.articles());
+            assertEquals(new PageCursor(second.getUpdatedAt(), 4L), PageCursor.decode(result.nextCursor()));
+        }
+
+        @Test
+        @DisplayName("Should pull the articles older than the oldest backfilled row of a theme")
+        void shouldPullBelowHorizon() {
+            // Arrange
+            Article newest = articleAt(4L, now);
+            Article oldestBackfilled = articleAt(3L, now.minusHours(1));
+            Article notBackfilled = articleAt(2L, now.minusHours(2));
+            Article oldest = articleAt(1L, now.minusHours(3));
+            when(subscriptionIndex.themesOf(1L)).thenReturn(List.of(10L));
+            when(themeRepository.findFanOutModes(List.of(10L))).thenReturn(List.of(new FanOutMode(10L, false, null)));
+            when(timelineRepository.findPage(1L, Limit.of(4)))
+                    .thenReturn(List.of(entryFor(newest), entryFor(oldestBackfilled)));
+            when(timelineRepository.findHorizons(1L, List.of(10L)))
+                    .thenReturn(List.of(new TimelineHorizon(10L, oldestBackfilled.getUpdatedAt())));
+            when(articleRepository.findRecentByThemeAfter(10L, oldestBackfilled.getUpdatedAt(), Long.MAX_VALUE, Limit.of(4)))
+                    .thenReturn(List.of(entryFor(oldestBackfilled), entryFor(notBackfilled), entryFor(oldest)));
+            when(articleRepository.findFeedItems(List.of(4L, 3L, 2L)))
+                    .thenReturn(List.of(itemFor(newest), itemFor(oldestBackfilled), itemFor(notBackfilled)));
+
+            // Act
+            FeedPage result = feedService.getFeed(1L, null, 3);
+
+            // Assert
+            assertEquals(List.of(itemFor(newest), itemFor(oldestBackfilled), itemFor(notBackfilled)), result.articles());
+            assertEquals(new PageCursor(notBackfilled.getUpdatedAt(), 2L), PageCursor.decode(result.nextCursor()));
+        }
+
+        @Test
+        @DisplayName("Should not pull below a horizon the page does not reach")
+        void shouldNotPullAboveHorizon() {
+            // Arrange
+            Article newest = articleAt(5L, now);
+            Article middle = articleAt(4L, now.minusHours(1));
+            Article older = articleAt(3L, now.minusHours(2));
+            when(subscriptionIndex.themesOf(1L)).thenReturn(List.of(10L));
+            when(themeRepository.findFanOutModes(List.of(10L))).thenReturn(List.of(new FanOutMode(10L, false, null)));
+            when(timelineRepository.findPage(1L, Limit.of(3)))
+                    .thenReturn(List.of(entryFor(newest), entryFor(middle), entryFor(older)));
+            when(timelineRepository.findHorizons(1L, List.of(10L)))
+                    .thenReturn(List.of(new TimelineHorizon(10L, now.minusHours(5))));
+            when(articleRepository.findFeedItems(List.of(5L, 4L))).thenReturn(List.of(itemFor(newest), itemFor(middle)));
+
+            // Act
+            FeedPage result = feedService.getFeed(1L, null, 2);
+
+            // Assert
+            assertEquals(List.of(itemFor(newest), itemFor(middle)), result.articles());
+            verify(articleRepository, never()).findRecentByThemeAfter(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should keep pulling the articles published before a theme was pushed again")
+        void shouldPullBeforeSwitchBackToPush() {
+            // Arrange
+            Article pushed = articleAt(3L, now);
+            Article publishedWhilePulled = articleAt(2L, now.minusHours(2));
+            LocalDateTime pushedSince = now.minusHours(1);
+            when(subscriptionIndex.themesOf(1L)).thenReturn(List.of(10L));
+            when(themeRepository.findFanOutModes(List.of(10L))).thenReturn(List.of(new FanOutMode(10L, false, pushedSince)));
+            when(timelineRepository.findPage(1L, Limit.of(3))).thenReturn(List.of(entryFor(pushed)));
+            when(timelineRepository.findHorizons(1L, List.of(10L)))
+                    .thenReturn(List.of(new TimelineHorizon(10L, now.minusDays(1))));
+            when(articleRepository.findRecentByThemeAfter(10L, pushedSince, Long.MAX_VALUE, Limit.of(3)))
+                    .thenReturn(List.of(entryFor(publishedWhilePulled)));
+            when(articleRepository.findFeedItems(List.of(3L, 2L)))
+                    .thenReturn(List.of(itemFor(pushed), itemFor(publishedWhilePulled)));
+
+            // Act
+            FeedPage result = feedService.getFeed(1L, null, 2);
+
+            // Assert
+            assertEquals(List.of(itemFor(pushed), itemFor(publishedWhilePulled)), result.articles());
+            assertNull(result.nextCursor());
+        }
+
+        @Test
+        @DisplayName("Should not load articles for an empty timeline")
+        void shouldReturnEmptyPageForEmptyTimeline() {
+            when(timelineRepository.findPage(1L, Limit.of(21))).thenReturn(List.of());
+
+            FeedPage result = feedService.getFeed(1L, null, 20);
+
+            assertTrue(result.articles().isEmpty());
+            assertNull(result.nextCursor());
+            verifyNoInteractions(articleRepository);
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed cursor")
+        void shouldRejectMalformedCursor() {
+            assertThrows(IllegalArgumentException.class, () -> feedService.getFeed(1L, "not-a-cursor", 20));
+            verifyNoInteractions(timelineRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("getTrendingFeed Tests")
+    class GetTrendingFeedTests {
+
+        @Test
+        @DisplayName("Should merge the rankings of the subscribed themes, liveliest first")
+        void shouldMergeThemeRankings() {
+            // Arrange
+            Theme otherTheme = new Theme();
+            otherTheme.setId(20L);
+            Article quiet = articleAt(1L, now);
+            Article lively = articleAt(2L, now.minusHours(1));
+            Article other = new Article("Title 3", "Content", testUser, otherTheme);
+            other.setId(3L);
+            other.setUpdatedAt(now.minusHours(2));
+            trendingIndex.published(entryFor(quiet));
+            trendingIndex.published(entryFor(lively));
+            trendingIndex.published(entryFor(other));
+            trendingIndex.commented(new FeedEntry(2L, 10L, now));
+            trendingIndex.commented(new FeedEntry(2L, 10L, now));
+            when(subscriptionIndex.themesOf(1L)).thenReturn(List.of(10L, 20L));
+            when(articleRepository.findFeedItems(List.of(2L, 1L))).thenReturn(List.of(itemFor(quiet), itemFor(lively)));
+
+            // Act
+            FeedPage result = feedService.getTrendingFeed(1L, null, 2);
+
+            // Assert
+            assertEquals(List.of(itemFor(lively), itemFor(quiet)), result.articles());
+            assertEquals(1L, TrendingCursor.decode(result.nextCursor()).id());
+        }
+
+        @Test
+        @DisplayName("Should continue after the cursor")
+        void shouldContinueAfterCursor() {
+            // Arrange
+            Article newer = articleAt(1L, now);
+            Article older = articleAt(2L, now.minusHours(1));
+            trendingIndex.published(entryFor(newer));
+            trendingIndex.published(entryFor(older));
+            when(subscriptionIndex.themesOf(1L)).thenReturn(List.of(10L));
+            when(articleRepository.findFeedItems(List.of(1L))).thenReturn(List.of(itemFor(newer)));
+            when(articleRepository.findFeedItems(List.of(2L))).thenReturn(List.of(itemFor(older)));
+            FeedPage first = feedService.getTrendingFeed(1L, null, 1);
+
+            // Act
+            FeedPage second = feedService.getTrendingFeed(1L, first.nextCursor(), 1);
+
+            // Assert
+            assertEquals(List.of(itemFor(newer)), first.articles());
+            assertEquals(List.of(itemFor(older)), second.articles());
+            assertNull(second.nextCursor());
+        }
+    }
+}
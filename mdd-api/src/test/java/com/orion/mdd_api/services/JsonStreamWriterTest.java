@@ -0,0 +1,78 @@
+package com.orion.mdd_api.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.orion.mdd_api.dtos.ArticleExport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JsonStreamWriterTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private JsonStreamWriter jsonStreamWriter;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        jsonStreamWriter = new JsonStreamWriter(objectMapper, transactionManager);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    @DisplayName("Should write every row inside one transaction and close the stream")
+    void shouldWriteRowsInsideTransaction() throws IOException {
+        // Arrange
+        LocalDateTime date = LocalDateTime.of(2024, 1, 1, 12, 0);
+        AtomicBoolean closed = new AtomicBoolean();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        long written = jsonStreamWriter.writeArray(output, "articles", () -> Stream.of(
+                new ArticleExport(2L, "Second", "Java", "bob", date, "Contenu 2"),
+                new ArticleExport(1L, "Premier", "Java", "bob", date, "Contenu 1")).onClose(() -> closed.set(true)));
+
+        // Assert
+        assertEquals(2, written);
+        assertTrue(closed.get());
+        assertEquals("{\"articles\":["
+                        + "{\"id\":2,\"titre\":\"Second\",\"theme\":\"Java\",\"auteur\":\"bob\",\"date\":\"2024-01-01T12:00:00\",\"contenu\":\"Contenu 2\"},"
+                        + "{\"id\":1,\"titre\":\"Premier\",\"theme\":\"Java\",\"auteur\":\"bob\",\"date\":\"2024-01-01T12:00:00\",\"contenu\":\"Contenu 1\"}]}",
+                output.toString(StandardCharsets.UTF_8));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should write an empty array when there is no row")
+    void shouldWriteEmptyArray() throws IOException {
+        // Arrange
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        long written = jsonStreamWriter.writeArray(output, "articles", Stream::empty);
+
+        // Assert
+        assertEquals(0, written);
+        assertEquals("{\"articles\":[]}", output.toString(StandardCharsets.UTF_8));
+    }
+}
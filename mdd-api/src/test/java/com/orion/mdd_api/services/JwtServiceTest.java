@@ -1,5 +1,6 @@
 package com.orion.mdd_api.services;
 
+import com.orion.mdd_api.dtos.AuthenticatedUser;
 import com.orion.mdd_api.entities.User;
 import com.orion.mdd_api.repositories.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,6 +8,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -17,14 +19,20 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.oauth2.jwt.*;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +44,9 @@ class JwtServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserCache userCache;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -53,9 +64,11 @@ class JwtServiceTest {
         // Set values for @Value annotations using reflection
         ReflectionTestUtils.setField(jwtService, "jwtIssuer", TEST_ISSUER);
         ReflectionTestUtils.setField(jwtService, "jwtExpirationHours", TEST_EXPIRATION_HOURS);
+        ReflectionTestUtils.setField(jwtService, "liveTicketTtl", Duration.ofMinutes(1));
 
-        // Reset SecurityContextHolder before each test
+        // Reset SecurityContextHolder and RequestContextHolder before each test
         SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
     }
 
     @Nested
@@ -83,6 +96,30 @@ class JwtServiceTest {
             verify(auth, times(3)).getName();
         }
 
+        @Test
+        @DisplayName("Should add the id and the name of the user as claims")
+        void shouldAddUserClaims() {
+            // Arrange
+            User user = new User(TEST_USERNAME, TEST_EMAIL, "password");
+            user.setId(5L);
+            UserInfoDetails details = new UserInfoDetails(user);
+            Authentication auth = new UsernamePasswordAuthenticationToken(details, "password");
+            when(jwtEncoder.encode(any(JwtEncoderParameters.class)))
+                    .thenReturn(new Jwt(TEST_TOKEN, Instant.now(), Instant.now().plusSeconds(3600),
+                            Map.of("alg", "RS256"), Map.of("sub", TEST_EMAIL)));
+
+            // Act
+            jwtService.generateToken(auth);
+
+            // Assert
+            ArgumentCaptor<JwtEncoderParameters> parameters = ArgumentCaptor.forClass(JwtEncoderParameters.class);
+            verify(jwtEncoder).encode(parameters.capture());
+            JwtClaimsSet claims = parameters.getValue().getClaims();
+            assertEquals(TEST_EMAIL, claims.getSubject());
+            assertEquals(5L, (Long) claims.getClaim("uid"));
+            assertEquals(TEST_USERNAME, claims.getClaim("name"));
+        }
+
         @Test
         @DisplayName("Should throw exception when encoder fails")
         void shouldThrowExceptionWhenEncoderFails() {
@@ -125,6 +162,30 @@ class JwtServiceTest {
             verify(userRepository).findByEmail(TEST_EMAIL);
         }
 
+        @Test
+        @DisplayName("Should read the current user once per request")
+        void shouldReadCurrentUserOncePerRequest() {
+            // Arrange
+            User expectedUser = new User(TEST_USERNAME, TEST_EMAIL, "password");
+            JwtAuthenticationToken jwtAuth = mock(JwtAuthenticationToken.class);
+            Jwt jwt = mock(Jwt.class);
+
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+            when(securityContext.getAuthentication()).thenReturn(jwtAuth);
+            SecurityContextHolder.setContext(securityContext);
+            when(jwtAuth.getPrincipal()).thenReturn(jwt);
+            when(jwt.getSubject()).thenReturn(TEST_EMAIL);
+            when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(expectedUser));
+
+            // Act
+            User first = jwtService.getCurrentUser();
+            User second = jwtService.getCurrentUser();
+
+            // Assert
+            assertSame(first, second);
+            verify(userRepository, times(1)).findByEmail(TEST_EMAIL);
+        }
+
         @Test
         @DisplayName("Should throw exception when no JWT authentication found")
         void shouldThrowExceptionWhenNoJwtAuthenticationFound() {
@@ -157,6 +218,132 @@ class JwtServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Authenticated User Tests")
+    class AuthenticatedUserTests {
+
+        @Test
+        @DisplayName("Should read the authenticated user from the claims without the database")
+        void shouldReadAuthenticatedUserFromClaims() {
+            // Arrange
+            JwtAuthenticationToken jwtAuth = mock(JwtAuthenticationToken.class);
+            Jwt jwt = new Jwt(TEST_TOKEN, Instant.now(), Instant.now().plusSeconds(3600), Map.of("alg", "RS256"),
+                    Map.of("sub", TEST_EMAIL, "uid", 5L, "name", TEST_USERNAME));
+            when(securityContext.getAuthentication()).thenReturn(jwtAuth);
+            SecurityContextHolder.setContext(securityContext);
+            when(jwtAuth.getPrincipal()).thenReturn(jwt);
+
+            // Act
+            AuthenticatedUser user = jwtService.getAuthenticatedUser();
+
+            // Assert
+            assertEquals(new AuthenticatedUser(5L, TEST_USERNAME, TEST_EMAIL), user);
+            verifyNoInteractions(userRepository, userCache);
+        }
+
+        @Test
+        @DisplayName("Should load the user by id when the token has no name claim")
+        void shouldLoadUserByIdClaim() {
+            // Arrange
+            User expectedUser = new User(TEST_USERNAME, TEST_EMAIL, "password");
+            expectedUser.setId(5L);
+            JwtAuthenticationToken jwtAuth = mock(JwtAuthenticationToken.class);
+            Jwt jwt = new Jwt(TEST_TOKEN, Instant.now(), Instant.now().plusSeconds(3600), Map.of("alg", "RS256"),
+                    Map.of("sub", TEST_EMAIL, "uid", 5L));
+            when(securityContext.getAuthentication()).thenReturn(jwtAuth);
+            SecurityContextHolder.setContext(securityContext);
+            when(jwtAuth.getPrincipal()).thenReturn(jwt);
+            when(userRepository.findById(5L)).thenReturn(Optional.of(expectedUser));
+            when(userCache.get(eq(5L), any())).thenAnswer(invocation ->
+                    invocation.<Function<Long, AuthenticatedUser>>getArgument(1).apply(5L));
+
+            // Act
+            AuthenticatedUser user = jwtService.getAuthenticatedUser();
+
+            // Assert
+            assertEquals(new AuthenticatedUser(5L, TEST_USERNAME, TEST_EMAIL), user);
+            verify(userRepository, never()).findByEmail(any());
+        }
+
+        @Test
+        @DisplayName("Should serve the cached user of a token without the name claim")
+        void shouldServeCachedUser() {
+            // Arrange
+            AuthenticatedUser cachedUser = new AuthenticatedUser(5L, TEST_USERNAME, TEST_EMAIL);
+            JwtAuthenticationToken jwtAuth = mock(JwtAuthenticationToken.class);
+            Jwt jwt = new Jwt(TEST_TOKEN, Instant.now(), Instant.now().plusSeconds(3600), Map.of("alg", "RS256"),
+                    Map.of("sub", TEST_EMAIL, "uid", 5L));
+            when(securityContext.getAuthentication()).thenReturn(jwtAuth);
+            SecurityContextHolder.setContext(securityContext);
+            when(jwtAuth.getPrincipal()).thenReturn(jwt);
+            when(userCache.get(eq(5L), any())).thenReturn(cachedUser);
+
+            // Act
+            AuthenticatedUser user = jwtService.getAuthenticatedUser();
+
+            // Assert
+            assertEquals(cachedUser, user);
+            verifyNoInteractions(userRepository);
+        }
+
+        @Test
+        @DisplayName("Should read the user by email when the token has no id claim")
+        void shouldFallBackToSubjectWithoutIdClaim() {
+            // Arrange
+            User expectedUser = new User(TEST_USERNAME, TEST_EMAIL, "password");
+            expectedUser.setId(5L);
+            JwtAuthenticationToken jwtAuth = mock(JwtAuthenticationToken.class);
+            Jwt jwt = new Jwt(TEST_TOKEN, Instant.now(), Instant.now().plusSeconds(3600), Map.of("alg", "RS256"),
+                    Map.of("sub", TEST_EMAIL));
+            when(securityContext.getAuthentication()).thenReturn(jwtAuth);
+            SecurityContextHolder.setContext(securityContext);
+            when(jwtAuth.getPrincipal()).thenReturn(jwt);
+            when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(expectedUser));
+
+            // Act
+            AuthenticatedUser user = jwtService.getAuthenticatedUser();
+
+            // Assert
+            assertEquals(new AuthenticatedUser(5L, TEST_USERNAME, TEST_EMAIL), user);
+            verifyNoInteractions(userCache);
+        }
+    }
+
+    @Nested
+    @DisplayName("Live Ticket Tests")
+    class LiveTicketTests {
+
+        @Test
+        @DisplayName("Should issue a short-lived ticket limited to the live feed")
+        void shouldGenerateLiveTicket() {
+            // Arrange
+            JwtAuthenticationToken jwtAuth = mock(JwtAuthenticationToken.class);
+            Jwt jwt = new Jwt(TEST_TOKEN, Instant.now(), Instant.now().plusSeconds(3600), Map.of("alg", "RS256"),
+                    Map.of("sub", TEST_EMAIL, "uid", 5L));
+            when(securityContext.getAuthentication()).thenReturn(jwtAuth);
+            SecurityContextHolder.setContext(securityContext);
+            when(jwtAuth.getPrincipal()).thenReturn(jwt);
+            when(userCache.get(eq(5L), any())).thenReturn(new AuthenticatedUser(5L, TEST_USERNAME, TEST_EMAIL));
+            when(jwtEncoder.encode(any(JwtEncoderParameters.class)))
+                    .thenReturn(new Jwt("live.jwt.ticket", Instant.now(), Instant.now().plusSeconds(60),
+                            Map.of("alg", "RS256"), Map.of("sub", TEST_EMAIL)));
+
+            // Act
+            String ticket = jwtService.generateLiveTicket();
+
+            // Assert
+            assertEquals("live.jwt.ticket", ticket);
+            ArgumentCaptor<JwtEncoderParameters> parameters = ArgumentCaptor.forClass(JwtEncoderParameters.class);
+            verify(jwtEncoder).encode(parameters.capture());
+            JwtClaimsSet claims = parameters.getValue().getClaims();
+            assertEquals(TEST_EMAIL, claims.getSubject());
+            assertEquals(5L, (Long) claims.getClaim("uid"));
+            assertEquals(TEST_USERNAME, claims.getClaim("name"));
+            assertEquals("live", claims.getClaim("scope"));
+            assertEquals(Duration.ofMinutes(1), Duration.between(claims.getIssuedAt(), claims.getExpiresAt()));
+        }
+    }
+
     @Nested
     @DisplayName("Current User From Authentication Tests")
     class CurrentUserFromAuthenticationTests {
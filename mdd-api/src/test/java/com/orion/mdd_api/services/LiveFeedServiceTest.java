@@ -0,0 +1,104 @@
+package com.orion.mdd_api.services;
+
+import com.orion.mdd_api.dtos.ArticleNotification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LiveFeedServiceTest {
+
+    @Mock
+    private SubscriptionIndex subscriptionIndex;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LiveFeedService liveFeedService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        liveFeedService = new LiveFeedService(subscriptionIndex, meterRegistry, 2, 60_000, 8, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        liveFeedService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should refuse connections beyond the maximum")
+    void shouldRefuseConnectionsBeyondMaximum() {
+        // Arrange
+        when(subscriptionIndex.themesOf(1L)).thenReturn(List.of());
+
+        // Act & Assert
+        assertTrue(liveFeedService.connect(1L).isPresent());
+        assertTrue(liveFeedService.connect(1L).isPresent());
+        assertTrue(liveFeedService.connect(1L).isEmpty());
+        assertEquals(2, liveFeedService.openConnections());
+    }
+
+    @Test
+    @DisplayName("Should push articles only to the connections following their theme")
+    void shouldPushToFollowersOfTheme() throws InterruptedException {
+        // Arrange
+        when(subscriptionIndex.themesOf(1L)).thenReturn(List.of(10L));
+        when(subscriptionIndex.themesOf(2L)).thenReturn(List.of(20L));
+        liveFeedService.connect(1L);
+        liveFeedService.connect(2L);
+
+        // Act
+        liveFeedService.onArticlePublished(notification(1L, 10L));
+
+        // Assert
+        awaitDelivered(1);
+        Thread.sleep(50);
+        assertEquals(1, delivered());
+    }
+
+    @Test
+    @DisplayName("Should follow and unfollow themes on subscription changes of a connected user")
+    void shouldFollowSubscriptionChanges() {
+        // Arrange
+        when(subscriptionIndex.themesOf(1L)).thenReturn(List.of());
+        liveFeedService.connect(1L);
+
+        // Act
+        liveFeedService.subscribed(1L, 10L);
+        liveFeedService.onArticlePublished(notification(1L, 10L));
+        awaitDelivered(1);
+        liveFeedService.unsubscribed(1L, 10L);
+        liveFeedService.onArticlePublished(notification(2L, 10L));
+
+        // Assert
+        assertEquals(1, delivered());
+        assertEquals(0, meterRegistry.get("feed.live.events").tag("outcome", "dropped").counter().count());
+    }
+
+    private ArticleNotification notification(Long articleId, Long themeId) {
+        return new ArticleNotification(articleId, themeId, "Titre", "Theme", "auteur", LocalDateTime.now());
+    }
+
+    private double delivered() {
+        return meterRegistry.get("feed.live.events").tag("outcome", "delivered").counter().count();
+    }
+
+    private void awaitDelivered(double expected) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (delivered() < expected && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(expected, delivered());
+    }
+}
@@ -0,0 +1,73 @@
+package com.orion.mdd_api.services;
+
+import com.orion.mdd_api.dtos.FeedEntry;
+import com.orion.mdd_api.repositories.ArticleRepository;
+import com.orion.mdd_api.repositories.ThemeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecentArticlesIndexTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private ThemeRepository themeRepository;
+
+    private RecentArticlesIndex recentArticles;
+
+    private final LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        recentArticles = new RecentArticlesIndex(articleRepository, themeRepository, 3);
+    }
+
+    private FeedEntry entry(long id) {
+        return new FeedEntry(id, 1L, now.plusMinutes(id));
+    }
+
+    @Test
+    void testRecentKeepsNewestEntriesNewestFirst() {
+        LongStream.rangeClosed(1, 5).forEach(id -> recentArticles.append(entry(id)));
+
+        assertEquals(List.of(entry(5), entry(4), entry(3)), recentArticles.recent(1L));
+        assertTrue(recentArticles.recent(2L).isEmpty());
+    }
+
+    @Test
+    void testWarmUpLoadsNewestArticlesOfEveryTheme() {
+        when(themeRepository.findAllIds()).thenReturn(List.of(1L));
+        when(articleRepository.findRecentByTheme(1L, Limit.of(3))).thenReturn(List.of(entry(3), entry(2), entry(1)));
+
+        recentArticles.warmUp();
+        recentArticles.append(entry(4));
+
+        assertEquals(List.of(entry(4), entry(3), entry(2)), recentArticles.recent(1L));
+    }
+
+    @Test
+    void testConcurrentAppendsKeepRingBounded() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        LongStream.rangeClosed(1, 1000).forEach(id -> executor.execute(() -> recentArticles.append(entry(id))));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(3, recentArticles.recent(1L).size());
+    }
+}
@@ -0,0 +1,86 @@
+package com.orion.mdd_api.services;
+
+import com.orion.mdd_api.dtos.Subscription;
+import com.orion.mdd_api.repositories.ThemeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SubscriptionIndexTest {
+
+    @Mock
+    private ThemeRepository themeRepository;
+
+    private SubscriptionIndex subscriptionIndex;
+
+    @BeforeEach
+    void setUp() {
+        subscriptionIndex = new SubscriptionIndex(themeRepository);
+        when(themeRepository.findAllSubscriptions()).thenReturn(List.of(
+                new Subscription(10L, 1L), new Subscription(20L, 1L),
+                new Subscription(10L, 2L), new Subscription(30L, 2L)));
+        subscriptionIndex.load();
+    }
+
+    @Test
+    @DisplayName("Should answer themes of a user and subscribers of a theme from the loaded subscriptions")
+    void shouldLoadSubscriptions() {
+        // Act & Assert
+        assertEquals(List.of(10L, 20L), subscriptionIndex.themesOf(1L));
+        assertEquals(List.of(1L, 2L), subscriptionIndex.subscribersOf(10L));
+        assertEquals(2, subscriptionIndex.subscriberCount(10L));
+        assertTrue(subscriptionIndex.isSubscribed(2L, 30L));
+        assertFalse(subscriptionIndex.isSubscribed(1L, 30L));
+        assertTrue(subscriptionIndex.themesOf(3L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should apply subscriptions and unsubscriptions on both sides")
+    void shouldApplyChanges() {
+        // Act
+        subscriptionIndex.subscribed(3L, 20L);
+        subscriptionIndex.unsubscribed(1L, 10L);
+        subscriptionIndex.unsubscribed(2L, 30L);
+
+        // Assert
+        assertEquals(List.of(20L), subscriptionIndex.themesOf(1L));
+        assertEquals(List.of(20L), subscriptionIndex.themesOf(3L));
+        assertEquals(List.of(1L, 3L), subscriptionIndex.subscribersOf(20L));
+        assertEquals(List.of(2L), subscriptionIndex.subscribersOf(10L));
+        assertEquals(0, subscriptionIndex.subscriberCount(30L));
+    }
+
+    @Test
+    @DisplayName("Should leave previously returned bitmaps untouched by later changes")
+    void shouldKeepReadersIsolated() {
+        // Arrange
+        List<Long> before = subscriptionIndex.subscribersOf(10L);
+
+        // Act
+        subscriptionIndex.subscribed(3L, 10L);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), before);
+        assertEquals(List.of(1L, 2L, 3L), subscriptionIndex.subscribersOf(10L));
+    }
+
+    @Test
+    @DisplayName("Should intersect subscribers of themes and themes of users")
+    void shouldIntersect() {
+        // Act & Assert
+        assertEquals(List.of(1L), subscriptionIndex.subscribersOfAll(List.of(10L, 20L)));
+        assertEquals(List.of(1L, 2L), subscriptionIndex.subscribersOfAll(List.of(10L)));
+        assertTrue(subscriptionIndex.subscribersOfAll(List.of(10L, 99L)).isEmpty());
+        assertTrue(subscriptionIndex.subscribersOfAll(List.of()).isEmpty());
+        assertEquals(List.of(10L), subscriptionIndex.themesInCommon(1L, 2L));
+    }
+}
@@ -0,0 +1,78 @@
+package com.orion.mdd_api.services;
+
+import com.orion.mdd_api.dtos.ThemeSummary;
+import com.orion.mdd_api.repositories.ThemeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ThemeCatalogTest {
+
+    @Mock
+    private ThemeRepository themeRepository;
+
+    @Mock
+    private ContentVersionService contentVersions;
+
+    @InjectMocks
+    private ThemeCatalog themeCatalog;
+
+    private final ThemeSummary java = new ThemeSummary(1L, "Java", "Java Programming");
+    private final ThemeSummary spring = new ThemeSummary(2L, "Spring", "Spring Framework");
+
+    @BeforeEach
+    void setUp() {
+        when(themeRepository.findSummaries()).thenReturn(List.of(java, spring));
+        themeCatalog.reload();
+    }
+
+    @Test
+    @DisplayName("Should find themes by id and by title")
+    void shouldIndexThemes() {
+        // Act & Assert
+        assertEquals(List.of(java, spring), themeCatalog.themes());
+        assertEquals(Optional.of(spring), themeCatalog.byTitre("Spring"));
+        assertEquals(Optional.of(java), themeCatalog.byId(1L));
+        assertTrue(themeCatalog.byTitre("Kotlin").isEmpty());
+        assertTrue(themeCatalog.byTitre(null).isEmpty());
+        verifyNoInteractions(contentVersions);
+    }
+
+    @Test
+    @DisplayName("Should keep the snapshot when the themes did not change")
+    void shouldKeepUnchangedSnapshot() {
+        // Act
+        themeCatalog.reload();
+
+        // Assert
+        assertEquals(1, themeCatalog.version());
+        verifyNoInteractions(contentVersions);
+    }
+
+    @Test
+    @DisplayName("Should replace the snapshot when the themes changed")
+    void shouldReplaceChangedSnapshot() {
+        // Arrange
+        ThemeSummary kotlin = new ThemeSummary(3L, "Kotlin", "Kotlin Language");
+        when(themeRepository.findSummaries()).thenReturn(List.of(java, spring, kotlin));
+
+        // Act
+        themeCatalog.reload();
+
+        // Assert
+        assertEquals(2, themeCatalog.version());
+        assertEquals(Optional.of(kotlin), themeCatalog.byTitre("Kotlin"));
+        verify(contentVersions).catalogChanged();
+    }
+}
@@ -1,7 +1,10 @@
 package com.orion.mdd_api.services;
 
-import com.orion.mdd_api.entities.Theme;
-import com.orion.mdd_api.entities.User;
+import com.orion.mdd_api.dtos.AuthenticatedUser;
+import com.orion.mdd_api.dtos.SubscriptionsUpdate;
+import com.orion.mdd_api.dtos.ThemeItem;
+import com.orion.mdd_api.dtos.ThemeSummary;
+import com.orion.mdd_api.entities.CounterKind;
 import com.orion.mdd_api.repositories.ThemeRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,9 +13,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -21,82 +27,221 @@ class ThemeServiceTest {
     @Mock
     private ThemeRepository themeRepository;
 
-    @InjectMocks
-    private ThemeService themeService;
+    @Mock
+    private ThemeCatalog themeCatalog;
 
-    @Test
-    void testGetAllThemes() {
-        List<Theme> themes = List.of(new Theme(), new Theme());
-        when(themeRepository.findAll()).thenReturn(themes);
+    @Mock
+    private SubscriptionIndex subscriptionIndex;
 
-        List<Theme> result = themeService.getAllThemes();
+    @Mock
+    private FeedService feedService;
 
-        assertEquals(2, result.size());
-        verify(themeRepository, times(1)).findAll();
-    }
+    @Mock
+    private CounterService counterService;
 
-    @Test
-    void testGetThemesByUser() {
-        User user = new User();
-        List<Theme> themes = List.of(new Theme(), new Theme());
-        when(themeRepository.findByAbonnesContains(user)).thenReturn(themes);
+    @Mock
+    private LiveFeedService liveFeedService;
 
-        List<Theme> result = themeService.getThemesByUser(user);
+    @Mock
+    private ContentVersionService contentVersions;
 
-        assertEquals(2, result.size());
-        verify(themeRepository, times(1)).findByAbonnesContains(user);
+    @Mock
+    private ChangeLogService changeLogService;
+
+    @InjectMocks
+    private ThemeService themeService;
+
+    @Test
+    void testGetAllThemes() {
+        ThemeSummary java = new ThemeSummary(1L, "Java", "Java Programming");
+        ThemeSummary spring = new ThemeSummary(2L, "Spring", "Spring Framework");
+        when(themeCatalog.themes()).thenReturn(List.of(java, spring));
+        when(counterService.getAll(CounterKind.THEME_SUBSCRIBERS, List.of(1L, 2L))).thenReturn(Map.of(1L, 2L, 2L, 0L));
+        when(subscriptionIndex.themesOf(5L)).thenReturn(List.of(1L));
+
+        List<ThemeItem> result = themeService.getAllThemes(5L);
+
+        assertEquals(List.of(
+                new ThemeItem(1L, "Java", "Java Programming", 2L, true),
+                new ThemeItem(2L, "Spring", "Spring Framework", 0L, false)), result);
+        verify(themeRepository, never()).findAll();
+        verify(themeRepository, never()).findAllSubscriptions();
     }
 
     @Test
     void testGetThemeByTitre() {
         String titre = "Test Theme";
-        Theme theme = new Theme();
-        when(themeRepository.findByTitre(titre)).thenReturn(Optional.of(theme));
+        ThemeSummary theme = new ThemeSummary(1L, titre, "Description");
+        when(themeCatalog.byTitre(titre)).thenReturn(Optional.of(theme));
 
-        Theme result = themeService.getThemeByTitre(titre);
+        ThemeSummary result = themeService.getThemeByTitre(titre);
 
-        assertNotNull(result);
-        verify(themeRepository, times(1)).findByTitre(titre);
+        assertEquals(theme, result);
+        verifyNoInteractions(themeRepository);
     }
 
     @Test
     void testGetThemeByTitreNotFound() {
         String titre = "Nonexistent Theme";
-        when(themeRepository.findByTitre(titre)).thenReturn(Optional.empty());
+        when(themeCatalog.byTitre(titre)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(RuntimeException.class, () -> {
             themeService.getThemeByTitre(titre);
         });
 
         assertEquals("Theme not found with titre: " + titre, exception.getMessage());
-        verify(themeRepository, times(1)).findByTitre(titre);
+        verify(themeCatalog, times(1)).byTitre(titre);
     }
 
     @Test
     void testSubscribe() {
         Long themeId = 1L;
-        User user = new User();
-        Theme theme = new Theme();
-        when(themeRepository.findById(themeId)).thenReturn(Optional.of(theme));
+        AuthenticatedUser user = new AuthenticatedUser(2L, "testUser", "test@example.com");
+        when(themeCatalog.byId(themeId)).thenReturn(Optional.of(new ThemeSummary(themeId, "Java", "Java Programming")));
+        when(themeRepository.insertSubscription(2L, themeId)).thenReturn(1);
+        when(subscriptionIndex.subscriberCount(themeId)).thenReturn(4L);
+
+        themeService.subscribe(themeId, user);
+
+        verify(themeRepository, never()).findById(any());
+        verify(themeRepository, never()).save(any());
+        verify(feedService, times(1)).backfill(2L, List.of(themeId));
+        verify(feedService, times(1)).subscribersChanged(themeId, 5L);
+        verify(counterService, times(1)).increment(CounterKind.THEME_SUBSCRIBERS, themeId);
+        verify(subscriptionIndex, times(1)).subscribed(2L, themeId);
+        verify(liveFeedService, times(1)).subscribed(2L, themeId);
+        verify(contentVersions, times(1)).feedChanged();
+        verify(contentVersions, times(1)).catalogChanged();
+        verify(changeLogService, times(1)).subscribed(2L, themeId);
+    }
+
+    @Test
+    void testSubscribeTwice() {
+        Long themeId = 1L;
+        AuthenticatedUser user = new AuthenticatedUser(2L, "testUser", "test@example.com");
+        when(themeCatalog.byId(themeId)).thenReturn(Optional.of(new ThemeSummary(themeId, "Java", "Java Programming")));
+        when(themeRepository.insertSubscription(2L, themeId)).thenReturn(0);
 
         themeService.subscribe(themeId, user);
 
-        verify(themeRepository, times(1)).findById(themeId);
-        verify(themeRepository, times(1)).save(theme);
+        verifyNoInteractions(feedService, counterService, subscriptionIndex, liveFeedService, contentVersions, changeLogService);
+    }
+
+    @Test
+    void testSubscribeUnknownTheme() {
+        AuthenticatedUser user = new AuthenticatedUser(2L, "testUser", "test@example.com");
+        when(themeCatalog.byId(9L)).thenReturn(Optional.empty());
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> themeService.subscribe(9L, user));
+
+        assertEquals("Theme not found with id: 9", exception.getMessage());
+        verify(themeRepository, never()).insertSubscription(any(), any());
     }
 
     @Test
     void testUnsubscribe() {
         Long themeId = 1L;
-        User user = new User();
-        Theme theme = new Theme();
-        theme.addSubscriber(user);
+        AuthenticatedUser user = new AuthenticatedUser(2L, "testUser", "test@example.com");
+        when(themeCatalog.byId(themeId)).thenReturn(Optional.of(new ThemeSummary(themeId, "Java", "Java Programming")));
+        when(themeRepository.deleteSubscription(2L, themeId)).thenReturn(1);
+        when(subscriptionIndex.subscriberCount(themeId)).thenReturn(5L);
+
+        themeService.unsubscribe(themeId, user);
 
-        when(themeRepository.findById(themeId)).thenReturn(Optional.of(theme));
+        verify(themeRepository, never()).findById(any());
+        verify(themeRepository, never()).save(any());
+        verify(feedService, times(1)).prune(2L, List.of(themeId));
+        verify(feedService, times(1)).subscribersChanged(themeId, 4L);
+        verify(counterService, times(1)).decrement(CounterKind.THEME_SUBSCRIBERS, themeId);
+        verify(subscriptionIndex, times(1)).unsubscribed(2L, themeId);
+        verify(liveFeedService, times(1)).unsubscribed(2L, themeId);
+        verify(contentVersions, times(1)).feedChanged();
+        verify(contentVersions, times(1)).catalogChanged();
+    }
+
+    @Test
+    void testUnsubscribeNotSubscribed() {
+        Long themeId = 1L;
+        AuthenticatedUser user = new AuthenticatedUser(2L, "testUser", "test@example.com");
+        when(themeCatalog.byId(themeId)).thenReturn(Optional.of(new ThemeSummary(themeId, "Java", "Java Programming")));
+        when(themeRepository.deleteSubscription(2L, themeId)).thenReturn(0);
 
         themeService.unsubscribe(themeId, user);
 
-        verify(themeRepository, times(1)).findById(themeId);
-        verify(themeRepository, times(1)).save(theme);
+        verifyNoInteractions(feedService, counterService, subscriptionIndex, liveFeedService, contentVersions, changeLogService);
+    }
+
+    @Test
+    void testUpdateSubscriptionsReplacesAll() {
+        AuthenticatedUser user = new AuthenticatedUser(2L, "testUser", "test@example.com");
+        when(themeRepository.lockSubscriptions(2L)).thenReturn(List.of(1L, 2L));
+        when(themeCatalog.byId(any())).thenAnswer(invocation -> Optional.of(new ThemeSummary(invocation.getArgument(0), "Theme", "Description")));
+
+        List<Long> result = themeService.updateSubscriptions(new SubscriptionsUpdate(Set.of(2L, 3L, 4L), null, null), user);
+
+        assertEquals(List.of(2L, 3L, 4L), result);
+        verify(themeRepository, times(1)).insertSubscriptions(2L, List.of(3L, 4L));
+        verify(themeRepository, times(1)).deleteSubscriptions(2L, List.of(1L));
+        verify(feedService, times(1)).backfill(2L, List.of(3L, 4L));
+        verify(feedService, times(1)).prune(2L, List.of(1L));
+        verify(counterService, times(1)).increment(CounterKind.THEME_SUBSCRIBERS, 3L);
+        verify(counterService, times(1)).increment(CounterKind.THEME_SUBSCRIBERS, 4L);
+        verify(counterService, times(1)).decrement(CounterKind.THEME_SUBSCRIBERS, 1L);
+        verify(subscriptionIndex, times(1)).unsubscribed(2L, 1L);
+        verify(changeLogService, times(1)).subscribed(2L, 4L);
+        verify(contentVersions, times(1)).feedChanged();
+        verify(contentVersions, times(1)).catalogChanged();
+        verify(themeRepository, never()).insertSubscription(any(), any());
+    }
+
+    @Test
+    void testUpdateSubscriptionsAppliesDelta() {
+        AuthenticatedUser user = new AuthenticatedUser(2L, "testUser", "test@example.com");
+        when(themeRepository.lockSubscriptions(2L)).thenReturn(List.of(1L, 2L));
+        when(themeCatalog.byId(any())).thenAnswer(invocation -> Optional.of(new ThemeSummary(invocation.getArgument(0), "Theme", "Description")));
+
+        List<Long> result = themeService.updateSubscriptions(new SubscriptionsUpdate(null, Set.of(2L, 5L), Set.of(1L, 7L)), user);
+
+        assertEquals(List.of(2L, 5L), result);
+        verify(themeRepository, times(1)).insertSubscriptions(2L, List.of(5L));
+        verify(themeRepository, times(1)).deleteSubscriptions(2L, List.of(1L));
+    }
+
+    @Test
+    void testUpdateSubscriptionsUnchanged() {
+        AuthenticatedUser user = new AuthenticatedUser(2L, "testUser", "test@example.com");
+        when(themeRepository.lockSubscriptions(2L)).thenReturn(List.of(1L));
+        when(themeCatalog.byId(1L)).thenReturn(Optional.of(new ThemeSummary(1L, "Java", "Java Programming")));
+
+        List<Long> result = themeService.updateSubscriptions(new SubscriptionsUpdate(Set.of(1L), null, null), user);
+
+        assertEquals(List.of(1L), result);
+        verify(themeRepository, never()).insertSubscriptions(any(), any());
+        verify(themeRepository, never()).deleteSubscriptions(any(), any());
+        verifyNoInteractions(feedService, counterService, subscriptionIndex, liveFeedService, contentVersions, changeLogService);
+    }
+
+    @Test
+    void testUpdateSubscriptionsUnknownTheme() {
+        AuthenticatedUser user = new AuthenticatedUser(2L, "testUser", "test@example.com");
+        when(themeRepository.lockSubscriptions(2L)).thenReturn(List.of());
+        when(themeCatalog.byId(9L)).thenReturn(Optional.empty());
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> themeService.updateSubscriptions(new SubscriptionsUpdate(null, Set.of(9L), null), user));
+
+        assertEquals("Theme not found with id: 9", exception.getMessage());
+        verify(themeRepository, never()).insertSubscriptions(any(), any());
+    }
+
+    @Test
+    void testUpdateSubscriptionsRejectsMixedUpdates() {
+        AuthenticatedUser user = new AuthenticatedUser(2L, "testUser", "test@example.com");
+        when(themeRepository.lockSubscriptions(2L)).thenReturn(List.of());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> themeService.updateSubscriptions(new SubscriptionsUpdate(Set.of(1L), Set.of(2L), null), user));
+        assertThrows(IllegalArgumentException.class,
+                () -> themeService.updateSubscriptions(new SubscriptionsUpdate(null, Set.of(2L), Set.of(2L)), user));
     }
-}
\ No newline at end of file
+}
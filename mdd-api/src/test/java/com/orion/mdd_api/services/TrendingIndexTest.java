@@ -0,0 +1,130 @@
+package com.orion.mdd_api.services;
+
+import com.orion.mdd_api.dtos.FeedEntry;
+import com.orion.mdd_api.dtos.TrendingCursor;
+import com.orion.mdd_api.repositories.ArticleRepository;
+import com.orion.mdd_api.repositories.CommentaireRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrendingIndexTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private CommentaireRepository commentaireRepository;
+
+    private TrendingIndex trendingIndex;
+
+    private final LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        trendingIndex = new TrendingIndex(articleRepository, commentaireRepository, 12, 3, 7);
+    }
+
+    @Test
+    @DisplayName("Should rank a commented article above a newer quiet one")
+    void shouldRankCommentedArticleFirst() {
+        // Arrange
+        trendingIndex.published(new FeedEntry(1L, 10L, now.minusHours(6)));
+        trendingIndex.published(new FeedEntry(2L, 10L, now));
+        trendingIndex.commented(new FeedEntry(1L, 10L, now));
+        trendingIndex.commented(new FeedEntry(1L, 10L, now));
+        trendingIndex.commented(new FeedEntry(1L, 10L, now));
+
+        // Act
+        List<TrendingIndex.Ranked> top = trendingIndex.top(10L, null, 10);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), top.stream().map(TrendingIndex.Ranked::articleId).toList());
+    }
+
+    @Test
+    @DisplayName("Should let old activity decay below recent activity")
+    void shouldDecayOldActivity() {
+        // Arrange
+        trendingIndex.published(new FeedEntry(1L, 10L, now.minusDays(2)));
+        for (int i = 0; i < 10; i++) {
+            trendingIndex.commented(new FeedEntry(1L, 10L, now.minusDays(2)));
+        }
+        trendingIndex.published(new FeedEntry(2L, 10L, now));
+
+        // Act
+        List<TrendingIndex.Ranked> top = trendingIndex.top(10L, null, 10);
+
+        // Assert
+        assertEquals(2L, top.get(0).articleId());
+    }
+
+    @Test
+    @DisplayName("Should keep only the best articles of a theme")
+    void shouldKeepBestArticles() {
+        // Arrange
+        for (long id = 1; id <= 5; id++) {
+            trendingIndex.published(new FeedEntry(id, 10L, now.plusHours(id)));
+        }
+        trendingIndex.published(new FeedEntry(6L, 10L, now));
+
+        // Act
+        List<TrendingIndex.Ranked> top = trendingIndex.top(10L, null, 10);
+
+        // Assert
+        assertEquals(List.of(5L, 4L, 3L), top.stream().map(TrendingIndex.Ranked::articleId).toList());
+    }
+
+    @Test
+    @DisplayName("Should page after a cursor and keep themes apart")
+    void shouldPageAfterCursor() {
+        // Arrange
+        trendingIndex.published(new FeedEntry(1L, 10L, now));
+        trendingIndex.published(new FeedEntry(2L, 10L, now.minusHours(1)));
+        trendingIndex.published(new FeedEntry(3L, 20L, now));
+        TrendingIndex.Ranked first = trendingIndex.top(10L, null, 1).get(0);
+
+        // Act
+        List<TrendingIndex.Ranked> next = trendingIndex.top(10L, new TrendingCursor(first.score(), first.articleId()), 10);
+
+        // Assert
+        assertEquals(1L, first.articleId());
+        assertEquals(List.of(2L), next.stream().map(TrendingIndex.Ranked::articleId).toList());
+        assertTrue(trendingIndex.top(30L, null, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should replay recent publications and comments at startup")
+    void shouldWarmUpFromRecentActivity() {
+        // Arrange
+        when(articleRepository.findPublishedSince(any())).thenReturn(List.of(
+                new FeedEntry(1L, 10L, now.minusHours(2)), new FeedEntry(2L, 10L, now.minusHours(1))));
+        when(commentaireRepository.findPostedSince(any())).thenReturn(List.of(
+                new FeedEntry(1L, 10L, now), new FeedEntry(1L, 10L, now)));
+
+        // Act
+        trendingIndex.warmUp();
+
+        // Assert
+        assertEquals(List.of(1L, 2L), trendingIndex.top(10L, null, 10).stream().map(TrendingIndex.Ranked::articleId).toList());
+    }
+
+    @Test
+    @DisplayName("Should add scores on the logarithmic scale")
+    void shouldAddLogScores() {
+        // Act & Assert
+        assertEquals(Math.log(5), TrendingIndex.logSum(Math.log(2), Math.log(3)), 1e-12);
+        assertEquals(1000 + Math.log(2), TrendingIndex.logSum(1000, 1000), 1e-9);
+    }
+}
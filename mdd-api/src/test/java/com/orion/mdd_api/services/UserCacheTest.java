@@ -0,0 +1,54 @@
+package com.orion.mdd_api.services;
+
+import com.orion.mdd_api.dtos.AuthenticatedUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserCacheTest {
+
+    private final UserCache userCache = new UserCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should load a user once until it is evicted")
+    void shouldLoadOnceUntilEvicted() {
+        // Act
+        AuthenticatedUser first = userCache.get(1L, loader("alice"));
+        AuthenticatedUser second = userCache.get(1L, loader("alice"));
+        userCache.evict(1L);
+        AuthenticatedUser reloaded = userCache.get(1L, loader("alice"));
+
+        // Assert
+        assertSame(first, second);
+        assertNotSame(first, reloaded);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should evict only the entries of the updated user")
+    void shouldEvictOnlyUpdatedUser() {
+        // Arrange
+        userCache.get(1L, loader("alice"));
+        userCache.get(2L, loader("bob"));
+
+        // Act
+        userCache.evict(2L);
+
+        // Assert
+        assertEquals(1, userCache.size());
+    }
+
+    private Function<Long, AuthenticatedUser> loader(String name) {
+        return id -> {
+            loads.incrementAndGet();
+            return new AuthenticatedUser(id, name, name + "@example.com");
+        };
+    }
+}
@@ -30,6 +30,15 @@ class UserInfoServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ContentVersionService contentVersions;
+
+    @Mock
+    private ChangeLogService changeLogService;
+
+    @Mock
+    private UserCache userCache;
+
     @InjectMocks
     private UserInfoService userInfoService;
 
@@ -148,6 +157,9 @@ class UserInfoServiceTest {
             assertEquals(TEST_USERNAME, testUser.getName());
             assertEquals(TEST_EMAIL, testUser.getEmail());
             verify(userRepository).save(testUser);
+            verify(contentVersions).allArticlesChanged();
+            verify(changeLogService).userUpdated(any());
+            verify(userCache).evict(1L);
         }
 
         @Test